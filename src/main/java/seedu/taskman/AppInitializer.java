@@ -0,0 +1,148 @@
+package seedu.taskman;
+
+import seedu.taskman.commons.core.Config;
+import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.exceptions.DataConversionException;
+import seedu.taskman.commons.util.ConfigUtil;
+import seedu.taskman.commons.util.StringUtil;
+import seedu.taskman.model.Model;
+import seedu.taskman.model.ModelManager;
+import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.TaskMan;
+import seedu.taskman.model.UserPrefs;
+import seedu.taskman.storage.Storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Sets up the parts of the app that do not need a ui, for both {@link MainApp} and {@link HeadlessApp}.
+ */
+final class AppInitializer {
+    private static final Logger logger = LogsCenter.getLogger(AppInitializer.class);
+    private static final String UNREADABLE_COPY_SUFFIX = ".unreadable-";
+
+    private AppInitializer() {}
+
+    /**
+     * Returns a model of the data in the storage, or of no data if it cannot be read.
+     * A data file in the wrong format is copied aside first, so that saving the empty data does not lose it.
+     */
+    static Model initModelManager(Storage storage, UserPrefs userPrefs) {
+        Optional<ReadOnlyTaskMan> taskManOptional;
+        ReadOnlyTaskMan initialData;
+        long startTime = System.nanoTime();
+        try {
+            taskManOptional = storage.readTaskMan();
+            if(!taskManOptional.isPresent()){
+                logger.info("Data file not found. Will be starting with an empty TaskMan");
+            }
+            initialData = taskManOptional.orElse(new TaskMan());
+        } catch (DataConversionException e) {
+            logger.warning("Data file not in the correct format. Will be starting with an empty TaskMan");
+            keepUnreadableDataFile(storage.getTaskManFilePath());
+            initialData = new TaskMan();
+        } catch (IOException e) {
+            logger.warning("Problem while reading from the file. . Will be starting with an empty TaskMan");
+            initialData = new TaskMan();
+        }
+
+        // data read from storage is not shared with anything else, so the model can take it over as is
+        Model model = initialData instanceof TaskMan
+                ? ModelManager.ofLoadedData((TaskMan) initialData)
+                : new ModelManager(initialData, userPrefs);
+        logger.info("Model initialized in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+        return model;
+    }
+
+    /**
+     * Copies a data file that could not be read next to it, as the empty data started with replaces it on the
+     * first save.
+     */
+    private static void keepUnreadableDataFile(String filePath) {
+        File dataFile = new File(filePath);
+        if (!dataFile.isFile()) {
+            return;
+        }
+        File copy = new File(filePath + UNREADABLE_COPY_SUFFIX + System.currentTimeMillis());
+        try {
+            Files.copy(dataFile.toPath(), copy.toPath());
+            logger.warning("Kept a copy of the data file that could not be read at " + copy);
+        } catch (IOException e) {
+            logger.severe("Failed to keep a copy of the data file that could not be read: "
+                    + StringUtil.getDetails(e));
+        }
+    }
+
+    /**
+     * Returns the config in the file, or the default config if it cannot be read, and saves it back to the file.
+     * @param configFilePath null for the default config file
+     */
+    static Config initConfig(String configFilePath) {
+        Config initializedConfig;
+        String configFilePathUsed;
+
+        configFilePathUsed = Config.DEFAULT_CONFIG_FILE;
+
+        if(configFilePath != null) {
+            logger.info("Custom Config file specified " + configFilePath);
+            configFilePathUsed = configFilePath;
+        }
+
+        logger.info("Using config file : " + configFilePathUsed);
+
+        try {
+            Optional<Config> configOptional = ConfigUtil.readConfig(configFilePathUsed);
+            initializedConfig = configOptional.orElse(new Config());
+        } catch (DataConversionException e) {
+            logger.warning("Config file at " + configFilePathUsed + " is not in the correct format. " +
+                    "Using default config properties");
+            initializedConfig = new Config();
+        }
+
+        //Update config file in case it was missing to begin with or there are new/unused fields
+        try {
+            ConfigUtil.saveConfig(initializedConfig, configFilePathUsed);
+        } catch (IOException e) {
+            logger.warning("Failed to save config file : " + StringUtil.getDetails(e));
+        }
+        return initializedConfig;
+    }
+
+    /**
+     * Returns the user prefs in the storage, or the default prefs if they cannot be read, and saves them back.
+     */
+    static UserPrefs initPrefs(Config config, Storage storage) {
+        assert config != null;
+
+        String prefsFilePath = config.getUserPrefsFilePath();
+        logger.info("Using prefs file : " + prefsFilePath);
+
+        UserPrefs initializedPrefs;
+        try {
+            Optional<UserPrefs> prefsOptional = storage.readUserPrefs();
+            initializedPrefs = prefsOptional.orElse(new UserPrefs());
+        } catch (DataConversionException e) {
+            logger.warning("UserPrefs file at " + prefsFilePath + " is not in the correct format. " +
+                    "Using default user prefs");
+            initializedPrefs = new UserPrefs();
+        } catch (IOException e) {
+            logger.warning("Problem while reading from the file. . Will be starting with an empty TaskMan");
+            initializedPrefs = new UserPrefs();
+        }
+
+        //Update prefs file in case it was missing to begin with or there are new/unused fields
+        try {
+            storage.saveUserPrefs(initializedPrefs);
+        } catch (IOException e) {
+            logger.warning("Failed to save config file : " + StringUtil.getDetails(e));
+        }
+
+        return initializedPrefs;
+    }
+
+}
@@ -0,0 +1,237 @@
+package seedu.taskman;
+
+import com.google.common.eventbus.Subscribe;
+import seedu.taskman.api.ApiServer;
+import seedu.taskman.commons.core.Config;
+import seedu.taskman.commons.core.EventsCenter;
+import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.events.ui.ExitAppRequestEvent;
+import seedu.taskman.commons.events.ui.NewResultAvailableEvent;
+import seedu.taskman.logic.Logic;
+import seedu.taskman.logic.LogicManager;
+import seedu.taskman.logic.commands.CommandResult;
+import seedu.taskman.logic.commands.ListCommand;
+import seedu.taskman.logic.commands.RunCommand;
+import seedu.taskman.logic.exporter.ActivityExporter;
+import seedu.taskman.model.Model;
+import seedu.taskman.model.UserPrefs;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.storage.Storage;
+import seedu.taskman.storage.StorageManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs TaskMan from a terminal, script or scheduled job, without starting JavaFX.
+ * Started by {@link MainApp} when given {@value #FLAG_HEADLESS}, or on its own as the main class.
+ *
+ * Each argument that is not an option is run as a command, in order. Without any, commands are read from the
+ * standard input one per line until it ends or {@code exit} is entered. The result of each command is printed
+ * to the standard output, followed by the listed activities after a {@code list}. Only warnings are logged to
+ * the console, so that the output can be read by other programs; the log file is kept as usual.
+ *
+ * {@code --run=<file>} runs the commands in the file as a single change, as the {@code run} command does.
+ * {@code --serve=<port>} serves the {@link ApiServer api} on the port, after running the given commands, until the
+ * program is stopped.
+ *
+ * Usage: {@code java -jar taskman.jar --headless [--config=<file>] [--run=<file>] [--serve=<port>] [commands...]}
+ */
+public class HeadlessApp {
+
+    public static final String FLAG_HEADLESS = "--headless";
+    private static final String OPTION_CONFIG = "--config=";
+    private static final String OPTION_RUN = "--run=";
+    private static final String OPTION_SERVE = "--serve=";
+    private static final String MESSAGE_SERVING = "Serving the api at http://localhost:%1$d/api/ until stopped";
+    private static final String PROMPT = "> ";
+    private static final Logger logger = LogsCenter.getLogger(HeadlessApp.class);
+
+    private final PrintStream out;
+    private Storage storage;
+    private Logic logic;
+    private volatile boolean isExitRequested;
+
+    public HeadlessApp(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Reads the config, prefs and data, and sets up the storage, model and logic, as {@link MainApp#init()}
+     * does but without a ui or warm up. The data file is not watched, as the app only runs for a short while.
+     *
+     * @param configFilePath null for the default config file
+     */
+    public void init(String configFilePath) {
+        LogsCenter.setConsoleLogLevel(Level.WARNING);
+        Config config = AppInitializer.initConfig(configFilePath);
+        storage = new StorageManager(config);
+        UserPrefs userPrefs = AppInitializer.initPrefs(config, storage);
+        LogsCenter.init(config);
+        Model model = AppInitializer.initModelManager(storage, userPrefs);
+        logic = new LogicManager(model, storage);
+        EventsCenter.getInstance().registerHandler(this);
+    }
+
+    /**
+     * Runs the commands in order, stopping early at {@code exit}.
+     */
+    public void run(List<String> commands) {
+        for (String command : commands) {
+            if (isExitRequested) {
+                break;
+            }
+            execute(command);
+        }
+    }
+
+    /**
+     * Runs the commands read from the input, one per line, until it ends or {@code exit} is entered.
+     *
+     * @param isInteractive if true, a prompt is shown before each command
+     */
+    public void run(InputStream in, boolean isInteractive) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        while (!isExitRequested) {
+            if (isInteractive) {
+                out.print(PROMPT);
+                out.flush();
+            }
+            String line = reader.readLine();
+            if (line == null) {
+                break;
+            }
+            if (!line.trim().isEmpty()) {
+                execute(line);
+            }
+        }
+    }
+
+    /**
+     * Serves the api on the port until the program is stopped, e.g. with Ctrl+C, and then saves as {@link #stop()}
+     * does. The api's commands are run one at a time on a thread of their own.
+     *
+     * @param port 0 for any free port
+     */
+    public void serve(int port) throws IOException, InterruptedException {
+        ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TaskMan api writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ApiServer apiServer = new ApiServer(logic, writer, port);
+        // the writer has not run anything yet, so nothing changes the model while the server starts
+        apiServer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            apiServer.stop();
+            writer.shutdown();
+            try {
+                writer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stop();
+        }, "TaskMan shutdown"));
+        out.println(String.format(MESSAGE_SERVING, apiServer.getPort()));
+        out.flush();
+        new CountDownLatch(1).await();
+    }
+
+    /**
+     * Waits for work still running in the background, e.g. exports, and saves any changes not saved yet.
+     */
+    public void stop() {
+        try {
+            ActivityExporter.awaitBackgroundExports();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        storage.stop();
+        out.flush();
+    }
+
+    private void execute(String commandText) {
+        CommandResult result = logic.execute(commandText);
+        out.println(result.feedbackToUser);
+        if (commandText.trim().split("\\s+")[0].equals(ListCommand.COMMAND_WORD)) {
+            printListedActivities();
+        }
+    }
+
+    private void printListedActivities() {
+        List<Activity> activities = new ArrayList<>(logic.getFilteredActivityList());
+        for (int i = 0; i < activities.size(); i++) {
+            out.println((i + 1) + ". " + activities.get(i).getAsText());
+        }
+    }
+
+    @Subscribe
+    public void handleExitAppRequestEvent(ExitAppRequestEvent event) {
+        logger.info(LogsCenter.getEventHandlingLogMessage(event));
+        isExitRequested = true;
+    }
+
+    @Subscribe
+    public void handleNewResultAvailableEvent(NewResultAvailableEvent event) {
+        out.println(event.message);
+    }
+
+    public static void main(String[] args) {
+        String configFilePath = null;
+        Integer servePort = null;
+        List<String> commands = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals(FLAG_HEADLESS)) {
+                continue;
+            }
+            if (arg.startsWith(OPTION_CONFIG)) {
+                configFilePath = arg.substring(OPTION_CONFIG.length());
+                continue;
+            }
+            if (arg.startsWith(OPTION_RUN)) {
+                commands.add(RunCommand.COMMAND_WORD + " " + arg.substring(OPTION_RUN.length()));
+                continue;
+            }
+            if (arg.startsWith(OPTION_SERVE)) {
+                servePort = Integer.valueOf(arg.substring(OPTION_SERVE.length()));
+                continue;
+            }
+            commands.add(arg);
+        }
+
+        HeadlessApp app = new HeadlessApp(System.out);
+        app.init(configFilePath);
+        try {
+            if (servePort != null) {
+                app.run(commands);
+                if (!app.isExitRequested) {
+                    // does not return once serving, as stopping the program saves through a hook
+                    app.serve(servePort);
+                }
+            } else if (commands.isEmpty()) {
+                app.run(System.in, System.console() != null);
+            } else {
+                app.run(commands);
+            }
+        } catch (IOException e) {
+            logger.severe((servePort != null ? "Failed to serve the api: " : "Failed to read commands: ") + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            app.stop();
+        }
+    }
+
+}
@@ -1,28 +1,33 @@
 package seedu.taskman;
 
 import com.google.common.eventbus.Subscribe;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.stage.Stage;
+import seedu.taskman.api.ApiServer;
 import seedu.taskman.commons.core.Config;
 import seedu.taskman.commons.core.EventsCenter;
 import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.core.StartupTimeline;
 import seedu.taskman.commons.core.Version;
+import seedu.taskman.commons.core.WarmUp;
+import seedu.taskman.commons.events.storage.DataFileChangedEvent;
 import seedu.taskman.commons.events.ui.ExitAppRequestEvent;
-import seedu.taskman.commons.exceptions.DataConversionException;
 import seedu.taskman.commons.util.StringUtil;
 import seedu.taskman.logic.Logic;
 import seedu.taskman.logic.LogicManager;
+import seedu.taskman.logic.parser.DateTimeParser;
 import seedu.taskman.model.*;
-import seedu.taskman.commons.util.ConfigUtil;
 import seedu.taskman.storage.Storage;
 import seedu.taskman.storage.StorageManager;
 import seedu.taskman.ui.Ui;
 import seedu.taskman.ui.UiManager;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Optional;
 import java.util.logging.Logger;
 
 /**
@@ -39,6 +44,7 @@ public class MainApp extends Application {
     protected Model model;
     protected Config config;
     protected UserPrefs userPrefs;
+    private ApiServer apiServer;
 
     public MainApp() {}
 
@@ -47,20 +53,42 @@ public class MainApp extends Application {
         logger.info("=============================[ Initializing TaskMan ]===========================");
         super.init();
 
-        config = initConfig(getApplicationParameter("config"));
-        storage = new StorageManager(config.getTaskManFilePath(), config.getUserPrefsFilePath());
+        StartupTimeline timeline = StartupTimeline.getInstance();
+        String timelineFilePath = getApplicationParameter("startupTimeline");
+        if (timelineFilePath != null) {
+            timeline.setOutputFile(new File(timelineFilePath));
+        }
+
+        config = timeline.measure("config", () -> initConfig(getApplicationParameter("config")));
+        storage = timeline.measure("storage", () -> new StorageManager(config));
+
+        userPrefs = timeline.measure("prefs", () -> initPrefs(config));
+
+        timeline.measure("logging", () -> initLogging(config));
 
-        userPrefs = initPrefs(config);
+        model = timeline.measure("model", () -> initModelManager(storage, userPrefs));
 
-        initLogging(config);
+        logic = timeline.measure("logic", () -> new LogicManager(model, storage));
 
-        model = initModelManager(storage, userPrefs);
+        ui = timeline.measure("ui", () -> new UiManager(logic, config, userPrefs));
 
-        logic = new LogicManager(model, storage);
+        timeline.measure("event handlers", this::initEventsCenter);
 
-        ui = new UiManager(logic, config, userPrefs);
+        timeline.measure("data file watching", storage::startWatchingDataFile);
 
-        initEventsCenter();
+        timeline.measure("warm up start", this::initWarmUp);
+    }
+
+    /**
+     * Loads the date parser, the data conversion used by saves and the help page in the background while the
+     * main window is shown, so that the first command that needs one of them does not stall.
+     */
+    private void initWarmUp() {
+        new WarmUp()
+                .add("date parser", DateTimeParser::warmUp)
+                .add("storage", storage::warmUp)
+                .add("ui", ui::warmUp)
+                .start();
     }
 
     private String getApplicationParameter(String parameterName){
@@ -68,24 +96,12 @@ public class MainApp extends Application {
         return applicationParameters.get(parameterName);
     }
 
-    private Model initModelManager(Storage storage, UserPrefs userPrefs) {
-        Optional<ReadOnlyTaskMan> taskManOptional;
-        ReadOnlyTaskMan initialData;
-        try {
-            taskManOptional = storage.readTaskMan();
-            if(!taskManOptional.isPresent()){
-                logger.info("Data file not found. Will be starting with an empty TaskMan");
-            }
-            initialData = taskManOptional.orElse(new TaskMan());
-        } catch (DataConversionException e) {
-            logger.warning("Data file not in the correct format. Will be starting with an empty TaskMan");
-            initialData = new TaskMan();
-        } catch (IOException e) {
-            logger.warning("Problem while reading from the file. . Will be starting with an empty TaskMan");
-            initialData = new TaskMan();
-        }
+    private boolean hasApplicationFlag(String flag) {
+        return getParameters().getUnnamed().contains(flag);
+    }
 
-        return new ModelManager(initialData, userPrefs);
+    private Model initModelManager(Storage storage, UserPrefs userPrefs) {
+        return AppInitializer.initModelManager(storage, userPrefs);
     }
 
     private void initLogging(Config config) {
@@ -93,63 +109,11 @@ public class MainApp extends Application {
     }
 
     protected Config initConfig(String configFilePath) {
-        Config initializedConfig;
-        String configFilePathUsed;
-
-        configFilePathUsed = Config.DEFAULT_CONFIG_FILE;
-
-        if(configFilePath != null) {
-            logger.info("Custom Config file specified " + configFilePath);
-            configFilePathUsed = configFilePath;
-        }
-
-        logger.info("Using config file : " + configFilePathUsed);
-
-        try {
-            Optional<Config> configOptional = ConfigUtil.readConfig(configFilePathUsed);
-            initializedConfig = configOptional.orElse(new Config());
-        } catch (DataConversionException e) {
-            logger.warning("Config file at " + configFilePathUsed + " is not in the correct format. " +
-                    "Using default config properties");
-            initializedConfig = new Config();
-        }
-
-        //Update config file in case it was missing to begin with or there are new/unused fields
-        try {
-            ConfigUtil.saveConfig(initializedConfig, configFilePathUsed);
-        } catch (IOException e) {
-            logger.warning("Failed to save config file : " + StringUtil.getDetails(e));
-        }
-        return initializedConfig;
+        return AppInitializer.initConfig(configFilePath);
     }
 
     protected UserPrefs initPrefs(Config config) {
-        assert config != null;
-
-        String prefsFilePath = config.getUserPrefsFilePath();
-        logger.info("Using prefs file : " + prefsFilePath);
-
-        UserPrefs initializedPrefs;
-        try {
-            Optional<UserPrefs> prefsOptional = storage.readUserPrefs();
-            initializedPrefs = prefsOptional.orElse(new UserPrefs());
-        } catch (DataConversionException e) {
-            logger.warning("UserPrefs file at " + prefsFilePath + " is not in the correct format. " +
-                    "Using default user prefs");
-            initializedPrefs = new UserPrefs();
-        } catch (IOException e) {
-            logger.warning("Problem while reading from the file. . Will be starting with an empty TaskMan");
-            initializedPrefs = new UserPrefs();
-        }
-
-        //Update prefs file in case it was missing to begin with or there are new/unused fields
-        try {
-            storage.saveUserPrefs(initializedPrefs);
-        } catch (IOException e) {
-            logger.warning("Failed to save config file : " + StringUtil.getDetails(e));
-        }
-
-        return initializedPrefs;
+        return AppInitializer.initPrefs(config, storage);
     }
 
     private void initEventsCenter() {
@@ -160,12 +124,60 @@ public class MainApp extends Application {
     public void start(Stage primaryStage) {
         logger.info("Starting TaskMan " + MainApp.VERSION);
         ui.start(primaryStage);
+        if (config.getApiPort() > 0) {
+            startApiServer();
+        }
+
+        boolean isExitAfterStartup = hasApplicationFlag("--exitAfterStartup");
+        runAfterFirstFrame(() -> {
+            StartupTimeline.getInstance().finish();
+            if (isExitAfterStartup) {
+                logger.info("Exiting after startup as requested");
+                EventsCenter.getInstance().post(new ExitAppRequestEvent());
+            }
+        });
+    }
+
+    /**
+     * Runs the action on the application thread once the first frame of the shown window has been rendered.
+     */
+    private void runAfterFirstFrame(Runnable action) {
+        new AnimationTimer() {
+            private int pulseCount;
+
+            @Override
+            public void handle(long now) {
+                // timers run at the start of a pulse, and the first pulse renders the first frame
+                if (++pulseCount == 2) {
+                    stop();
+                    action.run();
+                }
+            }
+        }.start();
+    }
+
+    /**
+     * Serves the api on the configured port. Its commands are run on the application thread, like the ones
+     * entered in the command box.
+     */
+    private void startApiServer() {
+        apiServer = new ApiServer(logic, Platform::runLater, config.getApiPort());
+        try {
+            apiServer.start();
+        } catch (IOException e) {
+            logger.warning("Failed to serve the api on port " + config.getApiPort() + ": " + e);
+            apiServer = null;
+        }
     }
 
     @Override
     public void stop() {
         logger.info("============================ [ Stopping TaskMan ] =============================");
+        if (apiServer != null) {
+            apiServer.stop();
+        }
         ui.stop();
+        storage.stop();
         try {
             storage.saveUserPrefs(userPrefs);
         } catch (IOException e) {
@@ -181,7 +193,18 @@ public class MainApp extends Application {
         this.stop();
     }
 
+    @Subscribe
+    public void handleDataFileChangedEvent(DataFileChangedEvent event) {
+        logger.info(LogsCenter.getEventHandlingLogMessage(event));
+        // the model backs the ui, so it is changed on the ui thread
+        Platform.runLater(() -> model.applyDataFileChanges(event.data));
+    }
+
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains(HeadlessApp.FLAG_HEADLESS)) {
+            HeadlessApp.main(args);
+            return;
+        }
         launch(args);
     }
 }
@@ -0,0 +1,405 @@
+package seedu.taskman.api;
+
+import com.google.common.eventbus.Subscribe;
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import seedu.taskman.commons.core.ComponentManager;
+import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.events.model.TaskManChangedEvent;
+import seedu.taskman.commons.util.JsonUtil;
+import seedu.taskman.logic.Logic;
+import seedu.taskman.logic.commands.CommandResult;
+import seedu.taskman.logic.commands.ExitCommand;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Schedule;
+import seedu.taskman.model.tag.Tag;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+/**
+ * Serves the task man as json over http to other programs on the same machine, e.g. scripts or editor plugins.
+ *
+ * <ul>
+ *     <li>{@code GET /api/activities[?tag=TAG]} returns all the activities, or the ones with the tag.</li>
+ *     <li>{@code POST /api/commands} runs {@code {"command": "..."}} as if it was entered in the command box.</li>
+ *     <li>{@code GET /api/metrics} returns the number of requests to each route and how long they took.</li>
+ * </ul>
+ *
+ * The server only listens on the loopback address. Requests naming a host other than this machine are refused, so
+ * that a web page cannot reach the server through a host name of its own, and commands must be sent as json,
+ * which a web page cannot do without the browser asking the server first.
+ *
+ * Reads are answered by several threads at once from a snapshot of the data, so they never wait for a command.
+ * A change only records which activities the data holds; the snapshot of them is built by the first read after
+ * the change, so changes that no one reads cost the writer next to nothing. Commands are all run by one writer, one at a time
+ * and in the order they arrive, as the model may only be changed from one thread.
+ */
+public class ApiServer extends ComponentManager {
+
+    public static final String ACTIVITIES_PATH = "/api/activities";
+    public static final String COMMANDS_PATH = "/api/commands";
+    public static final String METRICS_PATH = "/api/metrics";
+
+    public static final String MESSAGE_NOT_FOUND = "Not found: %1$s";
+    public static final String MESSAGE_METHOD_NOT_ALLOWED = "%1$s cannot be used on %2$s";
+    public static final String MESSAGE_FORBIDDEN_HOST = "Only requests to localhost are answered";
+    public static final String MESSAGE_NOT_JSON = "Commands must be sent as application/json";
+    public static final String MESSAGE_INVALID_REQUEST = "Expected {\"command\": \"...\"}";
+    public static final String MESSAGE_REQUEST_TOO_LARGE = "Requests may be at most %1$d bytes";
+    public static final String MESSAGE_NOT_THROUGH_API = "%1$s cannot be used through the api";
+    public static final String MESSAGE_COMMAND_TIMED_OUT = "The command did not finish within %1$d s and may still run";
+    public static final String MESSAGE_INTERNAL_ERROR = "Internal error: %1$s";
+
+    static final long COMMAND_TIMEOUT_SECONDS = 30;
+    static final int MAX_REQUEST_BYTES = 64 * 1024;
+    private static final int REQUEST_THREAD_COUNT = 4;
+    private static final String OTHER_ROUTE = "other";
+    private static final Set<String> LOOPBACK_HOSTS = new HashSet<>(Arrays.asList("localhost", "127.0.0.1", "[::1]"));
+    private static final Logger logger = LogsCenter.getLogger(ApiServer.class);
+
+    private final Logic logic;
+    private final Executor writer;
+    private final int port;
+    private final LatencyMetrics metrics = new LatencyMetrics();
+    private HttpServer server;
+    private ExecutorService requestExecutor;
+    private volatile DataVersion latest;
+    /** Only changed by the writer */
+    private long latestVersion;
+
+    /**
+     * @param writer runs the commands; must run them on the thread that changes the model, e.g. the ui thread
+     * @param port   0 for any free port
+     */
+    public ApiServer(Logic logic, Executor writer, int port) {
+        this.logic = logic;
+        this.writer = writer;
+        this.port = port;
+    }
+
+    /**
+     * Starts answering requests in the background. Must be called by the writer, or while nothing changes the
+     * model, so that the first snapshot is of one whole version of the data.
+     */
+    public void start() throws IOException {
+        recordChange(logic.getTaskMan().getActivityList());
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        requestExecutor = Executors.newFixedThreadPool(REQUEST_THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "TaskMan api");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(requestExecutor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Serving the api at http://localhost:" + getPort() + "/api/");
+    }
+
+    /**
+     * Returns the port the server listens on, which is chosen when it starts if it was given as 0.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops answering requests, waiting a second at most for the ones being answered, and logs the metrics.
+     * Changes to the data are no longer followed after, so the server cannot be started again.
+     */
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        eventsCenter.unregisterHandler(this);
+        server.stop(1);
+        requestExecutor.shutdown();
+        server = null;
+        logger.info("Stopped serving the api" + metrics);
+    }
+
+    @Subscribe
+    public void handleTaskManChangedEvent(TaskManChangedEvent event) {
+        // raised by the model, so on the writer
+        recordChange(event.data.getActivityList());
+    }
+
+    /**
+     * Records the activities of a new version of the data. Activities are replaced rather than changed once they
+     * are in the data, so holding on to the ones there now keeps this version as it is.
+     */
+    private void recordChange(List<Activity> activities) {
+        latest = new DataVersion(++latestVersion, new ArrayList<>(activities));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long startTime = System.nanoTime();
+        String path = exchange.getRequestURI().getPath();
+        Response response;
+        try {
+            response = respond(exchange, path);
+        } catch (RuntimeException e) {
+            logger.warning("Failed to answer " + exchange.getRequestMethod() + " " + path + ": " + e);
+            response = Response.error(500, String.format(MESSAGE_INTERNAL_ERROR, e));
+        }
+        try {
+            send(exchange, response);
+        } finally {
+            exchange.close();
+            boolean isKnownRoute = path.equals(ACTIVITIES_PATH) || path.equals(COMMANDS_PATH)
+                    || path.equals(METRICS_PATH);
+            metrics.record(isKnownRoute ? exchange.getRequestMethod() + " " + path : OTHER_ROUTE,
+                    System.nanoTime() - startTime, response.status >= 400);
+        }
+    }
+
+    private Response respond(HttpExchange exchange, String path) throws IOException {
+        if (!isLoopbackHost(exchange.getRequestHeaders().getFirst("Host"))) {
+            return Response.error(403, MESSAGE_FORBIDDEN_HOST);
+        }
+        String method = exchange.getRequestMethod();
+        switch (path) {
+            case ACTIVITIES_PATH: {
+                return method.equals("GET")
+                        ? getActivities(exchange.getRequestURI())
+                        : Response.error(405, String.format(MESSAGE_METHOD_NOT_ALLOWED, method, path));
+            }
+            case COMMANDS_PATH: {
+                return method.equals("POST")
+                        ? postCommand(exchange)
+                        : Response.error(405, String.format(MESSAGE_METHOD_NOT_ALLOWED, method, path));
+            }
+            case METRICS_PATH: {
+                return method.equals("GET")
+                        ? Response.ok(metrics.summarize())
+                        : Response.error(405, String.format(MESSAGE_METHOD_NOT_ALLOWED, method, path));
+            }
+            default:
+                return Response.error(404, String.format(MESSAGE_NOT_FOUND, path));
+        }
+    }
+
+    /**
+     * Returns true if the host, as given in a Host header, names this machine.
+     */
+    private static boolean isLoopbackHost(String host) {
+        if (host == null) {
+            return false;
+        }
+        int portStart = host.startsWith("[") ? host.indexOf(']') + 1 : host.indexOf(':');
+        String hostName = portStart > 0 ? host.substring(0, portStart) : host;
+        return LOOPBACK_HOSTS.contains(hostName.toLowerCase(Locale.ROOT));
+    }
+
+    private Response getActivities(URI uri) throws UnsupportedEncodingException {
+        Snapshot current = latest.getSnapshot();
+        Optional<String> tag = getQueryParameter(uri, "tag");
+        if (!tag.isPresent()) {
+            return Response.ok(current);
+        }
+        List<ActivityJson> tagged = new ArrayList<>();
+        for (ActivityJson activity : current.activities) {
+            if (activity.tags.contains(tag.get())) {
+                tagged.add(activity);
+            }
+        }
+        return Response.ok(new Snapshot(current.version, tagged));
+    }
+
+    private static Optional<String> getQueryParameter(URI uri, String name) throws UnsupportedEncodingException {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return Optional.empty();
+        }
+        for (String parameter : query.split("&")) {
+            int valueStart = parameter.indexOf('=');
+            if (valueStart > 0 && parameter.substring(0, valueStart).equals(name)) {
+                return Optional.of(URLDecoder.decode(parameter.substring(valueStart + 1), "UTF-8"));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Response postCommand(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("application/json")) {
+            return Response.error(415, MESSAGE_NOT_JSON);
+        }
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = ByteStreams.toByteArray(ByteStreams.limit(in, MAX_REQUEST_BYTES + 1));
+        }
+        if (body.length > MAX_REQUEST_BYTES) {
+            return Response.error(413, String.format(MESSAGE_REQUEST_TOO_LARGE, MAX_REQUEST_BYTES));
+        }
+
+        String command;
+        try {
+            command = JsonUtil.fromJsonString(new String(body, StandardCharsets.UTF_8), CommandRequest.class).command;
+        } catch (IOException e) {
+            return Response.error(400, MESSAGE_INVALID_REQUEST);
+        }
+        if (command == null || command.trim().isEmpty()) {
+            return Response.error(400, MESSAGE_INVALID_REQUEST);
+        }
+        String commandWord = command.trim().split("\\s+")[0];
+        if (commandWord.equals(ExitCommand.COMMAND_WORD)) {
+            return Response.error(400, String.format(MESSAGE_NOT_THROUGH_API, commandWord));
+        }
+
+        CompletableFuture<CommandResult> result = CompletableFuture.supplyAsync(() -> logic.execute(command), writer);
+        try {
+            return Response.ok(new CommandResponse(result.get(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)));
+        } catch (TimeoutException e) {
+            return Response.error(503, String.format(MESSAGE_COMMAND_TIMED_OUT, COMMAND_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Response.error(503, String.format(MESSAGE_COMMAND_TIMED_OUT, COMMAND_TIMEOUT_SECONDS));
+        } catch (ExecutionException e) {
+            logger.warning("Failed to run " + command + " from the api: " + e.getCause());
+            return Response.error(500, String.format(MESSAGE_INTERNAL_ERROR, e.getCause()));
+        }
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = JsonUtil.toJsonString(response.body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static class Response {
+        private final int status;
+        private final Object body;
+
+        private Response(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response ok(Object body) {
+            return new Response(200, body);
+        }
+
+        static Response error(int status, String message) {
+            return new Response(status, Collections.singletonMap("error", message));
+        }
+    }
+
+    /**
+     * The activities of one version of the data, with the snapshot of them once a read has needed it.
+     */
+    private static class DataVersion {
+        private final long version;
+        private final List<Activity> activities;
+        private Snapshot snapshot;
+
+        DataVersion(long version, List<Activity> activities) {
+            this.version = version;
+            this.activities = activities;
+        }
+
+        /**
+         * Returns the snapshot of this version, building it on the first call. Lazily created activities are
+         * created here if needed, on the thread answering the read rather than on the writer.
+         */
+        synchronized Snapshot getSnapshot() {
+            if (snapshot == null) {
+                List<ActivityJson> activitiesJson = new ArrayList<>(activities.size());
+                for (Activity activity : activities) {
+                    activitiesJson.add(new ActivityJson(activity));
+                }
+                snapshot = new Snapshot(version, Collections.unmodifiableList(activitiesJson));
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * The activities as of one version of the data. The version goes up by one with every change to the data, so
+     * clients can tell whether anything changed since they last asked.
+     */
+    private static class Snapshot {
+        private final long version;
+        private final List<ActivityJson> activities;
+
+        Snapshot(long version, List<ActivityJson> activities) {
+            this.version = version;
+            this.activities = activities;
+        }
+    }
+
+    /**
+     * An activity as it is served, with the same fields as an exported csv file.
+     */
+    private static class ActivityJson {
+        private final String type;
+        private final String title;
+        private final String deadline;
+        private final String start;
+        private final String end;
+        private final Long frequencySeconds;
+        private final String status;
+        private final List<String> tags = new ArrayList<>();
+
+        ActivityJson(Activity activity) {
+            Optional<Schedule> schedule = activity.getSchedule();
+            type = activity.getType() == Activity.ActivityType.EVENT ? "event" : "task";
+            title = activity.getTitle().title;
+            deadline = activity.getDeadline().map(value -> toIsoString(value.epochSecond)).orElse(null);
+            start = schedule.map(value -> toIsoString(value.startEpochSecond)).orElse(null);
+            end = schedule.map(value -> toIsoString(value.endEpochSecond)).orElse(null);
+            frequencySeconds = activity.getFrequency().map(value -> value.seconds).orElse(null);
+            status = activity.getStatus().map(value -> value.completed ? "complete" : "incomplete").orElse(null);
+            for (Tag tag : activity.getTags()) {
+                tags.add(tag.tagName);
+            }
+        }
+
+        private static String toIsoString(long epochSecond) {
+            return Instant.ofEpochSecond(epochSecond).toString();
+        }
+    }
+
+    private static class CommandRequest {
+        private String command;
+    }
+
+    private static class CommandResponse {
+        private final boolean successful;
+        private final String feedback;
+
+        CommandResponse(CommandResult result) {
+            this.successful = result.isSuccessful;
+            this.feedback = result.feedbackToUser;
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package seedu.taskman.api;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the requests to each route of the api and how long they took to answer.
+ * Percentiles are taken over the most recent requests only, so that they follow changes in load and the memory
+ * used stays the same however long the server runs.
+ */
+class LatencyMetrics {
+
+    static final int SAMPLE_COUNT = 1024;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Records a request to the route that took the given time to answer.
+     * @param isError true if the request was answered with an error status
+     */
+    void record(String route, long nanos, boolean isError) {
+        routes.computeIfAbsent(route, name -> new Route()).record(nanos, isError);
+    }
+
+    /**
+     * Returns the metrics of each route so far, by route.
+     */
+    Map<String, Summary> summarize() {
+        Map<String, Summary> summaries = new TreeMap<>();
+        routes.forEach((name, route) -> summaries.put(name, route.summarize()));
+        return summaries;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder();
+        summarize().forEach((name, summary) -> table.append('\n').append(String.format("%-24s %s", name, summary)));
+        return table.toString();
+    }
+
+    private static class Route {
+        private final long[] samples = new long[SAMPLE_COUNT];
+        private long count;
+        private long errorCount;
+        private long maxNanos;
+
+        synchronized void record(long nanos, boolean isError) {
+            samples[(int) (count % SAMPLE_COUNT)] = nanos;
+            count++;
+            if (isError) {
+                errorCount++;
+            }
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        synchronized Summary summarize() {
+            long[] recent = Arrays.copyOf(samples, (int) Math.min(count, SAMPLE_COUNT));
+            Arrays.sort(recent);
+            return new Summary(count, errorCount, percentile(recent, 0.5), percentile(recent, 0.95),
+                    percentile(recent, 0.99), maxNanos);
+        }
+
+        /**
+         * Returns the smallest sample that is not less than the given fraction of the samples, or 0 if there are
+         * none.
+         */
+        private static long percentile(long[] sortedSamples, double fraction) {
+            if (sortedSamples.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(fraction * sortedSamples.length);
+            return sortedSamples[Math.max(rank, 1) - 1];
+        }
+    }
+
+    /**
+     * The metrics of a route, as they are served by the api.
+     */
+    static class Summary {
+        private final long count;
+        private final long errorCount;
+        private final double p50Millis;
+        private final double p95Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        Summary(long count, long errorCount, long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+            this.count = count;
+            this.errorCount = errorCount;
+            this.p50Millis = toMillis(p50Nanos);
+            this.p95Millis = toMillis(p95Nanos);
+            this.p99Millis = toMillis(p99Nanos);
+            this.maxMillis = toMillis(maxNanos);
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getErrorCount() {
+            return errorCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, %d errors, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    count, errorCount, p50Millis, p95Millis, p99Millis, maxMillis);
+        }
+    }
+
+}
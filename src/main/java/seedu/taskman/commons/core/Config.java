@@ -10,12 +10,48 @@ public class Config {
 
     public static final String DEFAULT_CONFIG_FILE = "config.json";
 
+    /**
+     * Layouts in which the taskMan data can be stored
+     */
+    public enum StorageFormat {
+        /** A single xml file */
+        XML,
+        /** One xml file per month of deadline or schedule, see {@code ShardedXmlTaskManStorage} */
+        SHARDED_XML,
+        /** A single json file */
+        JSON
+    }
+
+    /**
+     * How soon changes to the data reach the disk
+     */
+    public enum Durability {
+        /** Changes are kept in memory and written every {@code flushIntervalSeconds}, and on exit */
+        IN_MEMORY,
+        /** Every change is written to a temporary file that then replaces the data file */
+        ATOMIC,
+        /** As ATOMIC, but also forced to the disk; changes within {@code groupCommitMillis} are written together */
+        FSYNC
+    }
+
     // Config values customizable through config file
     private String appTitle = "TaskMan";
     private Level logLevel = Level.INFO;
     private String userPrefsFilePath = "preferences.json";
     private String taskManFilePath = "data/taskMan.xml";
     private String taskManName = "MyTaskMan";
+    private StorageFormat taskManStorageFormat = StorageFormat.XML;
+    private int shardedHistoryMonths = -1;
+    private Durability durability = Durability.ATOMIC;
+    private int flushIntervalSeconds = 30;
+    private int groupCommitMillis = 20;
+    private boolean modelCacheEnabled = false;
+    private boolean dataFileWatched = false;
+    private int backupCount = 0;
+    private int backupIntervalMinutes = 60;
+    private int backupMaxAgeDays = 30;
+    private int backupMaxTotalMegabytes = 50;
+    private int apiPort = 0;
 
 
     public Config() {
@@ -61,6 +97,104 @@ public class Config {
         this.taskManName = taskManName;
     }
 
+    public StorageFormat getTaskManStorageFormat() {
+        return taskManStorageFormat;
+    }
+
+    public void setTaskManStorageFormat(StorageFormat taskManStorageFormat) {
+        this.taskManStorageFormat = taskManStorageFormat;
+    }
+
+    /**
+     * Returns how many months of past shards are loaded when the data is sharded; negative to load them all.
+     */
+    public int getShardedHistoryMonths() {
+        return shardedHistoryMonths;
+    }
+
+    public void setShardedHistoryMonths(int shardedHistoryMonths) {
+        this.shardedHistoryMonths = shardedHistoryMonths;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+
+    public int getFlushIntervalSeconds() {
+        return flushIntervalSeconds;
+    }
+
+    public void setFlushIntervalSeconds(int flushIntervalSeconds) {
+        this.flushIntervalSeconds = flushIntervalSeconds;
+    }
+
+    public int getGroupCommitMillis() {
+        return groupCommitMillis;
+    }
+
+    public void setGroupCommitMillis(int groupCommitMillis) {
+        this.groupCommitMillis = groupCommitMillis;
+    }
+
+    public boolean isModelCacheEnabled() {
+        return modelCacheEnabled;
+    }
+
+    public void setModelCacheEnabled(boolean modelCacheEnabled) {
+        this.modelCacheEnabled = modelCacheEnabled;
+    }
+
+    public boolean isDataFileWatched() {
+        return dataFileWatched;
+    }
+
+    public void setDataFileWatched(boolean dataFileWatched) {
+        this.dataFileWatched = dataFileWatched;
+    }
+
+    public int getBackupCount() {
+        return backupCount;
+    }
+
+    public void setBackupCount(int backupCount) {
+        this.backupCount = backupCount;
+    }
+
+    public int getBackupIntervalMinutes() {
+        return backupIntervalMinutes;
+    }
+
+    public void setBackupIntervalMinutes(int backupIntervalMinutes) {
+        this.backupIntervalMinutes = backupIntervalMinutes;
+    }
+
+    public int getBackupMaxAgeDays() {
+        return backupMaxAgeDays;
+    }
+
+    public void setBackupMaxAgeDays(int backupMaxAgeDays) {
+        this.backupMaxAgeDays = backupMaxAgeDays;
+    }
+
+    public int getBackupMaxTotalMegabytes() {
+        return backupMaxTotalMegabytes;
+    }
+
+    public void setBackupMaxTotalMegabytes(int backupMaxTotalMegabytes) {
+        this.backupMaxTotalMegabytes = backupMaxTotalMegabytes;
+    }
+
+    public int getApiPort() {
+        return apiPort;
+    }
+
+    public void setApiPort(int apiPort) {
+        this.apiPort = apiPort;
+    }
 
     @Override
     public boolean equals(Object other) {
@@ -77,12 +211,27 @@ public class Config {
                 && Objects.equals(logLevel, o.logLevel)
                 && Objects.equals(userPrefsFilePath, o.userPrefsFilePath)
                 && Objects.equals(taskManFilePath, o.taskManFilePath)
-                && Objects.equals(taskManName, o.taskManName);
+                && Objects.equals(taskManName, o.taskManName)
+                && Objects.equals(taskManStorageFormat, o.taskManStorageFormat)
+                && shardedHistoryMonths == o.shardedHistoryMonths
+                && Objects.equals(durability, o.durability)
+                && flushIntervalSeconds == o.flushIntervalSeconds
+                && groupCommitMillis == o.groupCommitMillis
+                && modelCacheEnabled == o.modelCacheEnabled
+                && dataFileWatched == o.dataFileWatched
+                && backupCount == o.backupCount
+                && backupIntervalMinutes == o.backupIntervalMinutes
+                && backupMaxAgeDays == o.backupMaxAgeDays
+                && backupMaxTotalMegabytes == o.backupMaxTotalMegabytes
+                && apiPort == o.apiPort;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(appTitle, logLevel, userPrefsFilePath, taskManFilePath, taskManName);
+        return Objects.hash(appTitle, logLevel, userPrefsFilePath, taskManFilePath, taskManName, taskManStorageFormat,
+                shardedHistoryMonths, durability, flushIntervalSeconds, groupCommitMillis,
+                modelCacheEnabled, dataFileWatched, backupCount, backupIntervalMinutes, backupMaxAgeDays,
+                backupMaxTotalMegabytes, apiPort);
     }
 
     @Override
@@ -93,6 +242,8 @@ public class Config {
         sb.append("\nPreference file Location : " + userPrefsFilePath);
         sb.append("\nLocal data file location : " + taskManFilePath);
         sb.append("\nTaskMan name : " + taskManName);
+        sb.append("\nStorage format : " + taskManStorageFormat);
+        sb.append("\nDurability : " + durability);
         return sb.toString();
     }
 
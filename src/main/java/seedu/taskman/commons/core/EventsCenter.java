@@ -33,6 +33,14 @@ public class EventsCenter {
         return this;
     }
 
+    /**
+     * Stops posting events to a handler that was registered.
+     */
+    public EventsCenter unregisterHandler(Object handler) {
+        eventBus.unregister(handler);
+        return this;
+    }
+
     /**
      * Posts an event to the event bus.
      */
@@ -32,6 +32,15 @@ public class LogsCenter {
         logger.info("currentLogLevel: " + currentLogLevel);
     }
 
+    /**
+     * Only writes messages of at least the given level to the console, e.g. to keep it for a program's own output.
+     * The log file still gets messages of the current log level.
+     */
+    public static void setConsoleLogLevel(Level level) {
+        if (consoleHandler == null) consoleHandler = createConsoleHandler();
+        consoleHandler.setLevel(level);
+    }
+
     /**
      * Creates a logger with the given name the given name.
      */
@@ -11,5 +11,6 @@ public class Messages {
     public static final String MESSAGE_INVALID_COMMAND_FOR_EVENT = "Invalid command for event";
     public static final String MESSAGE_INVALID_PARAMETERS = "Invalid paramters!";
     public static final String MESSAGE_EVENTS_LISTED_OVERVIEW = "%1$d tasks listed!";
+    public static final String MESSAGE_NO_MATCHING_EVENTS = "No tasks or events match";
 
 }
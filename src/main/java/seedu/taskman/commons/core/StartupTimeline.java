@@ -0,0 +1,212 @@
+package seedu.taskman.commons.core;
+
+import seedu.taskman.commons.util.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Records how long each phase of starting the app takes, e.g. reading the config or loading the main window.
+ *
+ * For every phase the wall time, the cpu time and the bytes allocated by the thread that ran it are recorded,
+ * together with when it started counted from the start of the JVM. The time before the app's own code ran,
+ * i.e. starting the JVM and the JavaFX toolkit, is recorded as the first phase.
+ * Once startup is {@link #finish() finished} the timeline is logged and, if a file was given, written to it as
+ * json so that it can be compared from scripts. Phases measured after that are not recorded.
+ */
+public class StartupTimeline {
+
+    private static final Logger logger = LogsCenter.getLogger(StartupTimeline.class);
+    private static final String LAUNCH_PHASE = "jvm and javafx launch";
+    private static StartupTimeline instance;
+
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final List<Phase> phases = Collections.synchronizedList(new ArrayList<>());
+    private File outputFile;
+    private volatile boolean isFinished;
+
+    public static synchronized StartupTimeline getInstance() {
+        if (instance == null) {
+            instance = new StartupTimeline();
+        }
+        return instance;
+    }
+
+    StartupTimeline() {
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        phases.add(new Phase(LAUNCH_PHASE, "", 0, TimeUnit.MILLISECONDS.toNanos(uptimeMillis), -1, -1));
+    }
+
+    /**
+     * Sets the file the timeline is written to when startup is finished.
+     * @param outputFile null if the timeline is only logged
+     */
+    public void setOutputFile(File outputFile) {
+        this.outputFile = outputFile;
+    }
+
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    /**
+     * Runs the work on the calling thread and records it as a phase of startup.
+     */
+    public void measure(String phase, Runnable work) {
+        measure(phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work on the calling thread, records it as a phase of startup and returns what it returned.
+     */
+    public <T> T measure(String phase, Supplier<T> work) {
+        if (isFinished) {
+            return work.get();
+        }
+        long startUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        long startCpuNanos = getCurrentThreadCpuTime();
+        long startAllocatedBytes = getCurrentThreadAllocatedBytes();
+        long startNanos = System.nanoTime();
+
+        T result = work.get();
+
+        long wallNanos = System.nanoTime() - startNanos;
+        long cpuNanos = startCpuNanos < 0 ? -1 : getCurrentThreadCpuTime() - startCpuNanos;
+        long allocatedBytes = startAllocatedBytes < 0 ? -1 : getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+        phases.add(new Phase(phase, Thread.currentThread().getName(), startUptimeMillis, wallNanos, cpuNanos,
+                allocatedBytes));
+        return result;
+    }
+
+    /**
+     * Returns the phases recorded so far, in the order they ended.
+     */
+    public List<Phase> getPhases() {
+        synchronized (phases) {
+            return new ArrayList<>(phases);
+        }
+    }
+
+    /**
+     * Ends the timeline, e.g. once the first frame of the main window is shown, logs it and writes it to the
+     * output file if there is one. Does nothing if it was finished already.
+     */
+    public void finish() {
+        if (isFinished) {
+            return;
+        }
+        isFinished = true;
+        Report report = new Report(ManagementFactory.getRuntimeMXBean().getUptime(), getPhases());
+        logger.info(report.toString());
+        if (outputFile == null) {
+            return;
+        }
+        try {
+            FileUtil.createParentDirsOfFile(outputFile);
+            FileUtil.serializeObjectToJsonFile(outputFile, report);
+        } catch (IOException e) {
+            logger.warning("Failed to write the startup timeline to " + outputFile + ": " + e);
+        }
+    }
+
+    private long getCurrentThreadCpuTime() {
+        return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread so far, or -1 if the JVM cannot tell.
+     */
+    private long getCurrentThreadAllocatedBytes() {
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        return allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()
+                ? allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId())
+                : -1;
+    }
+
+    /**
+     * A phase of startup. Cpu time and allocated bytes are -1 if they are not known.
+     */
+    public static class Phase {
+        private final String name;
+        private final String thread;
+        private final long startMillis;
+        private final double wallMillis;
+        private final double cpuMillis;
+        private final long allocatedBytes;
+
+        Phase(String name, String thread, long startMillis, long wallNanos, long cpuNanos, long allocatedBytes) {
+            this.name = name;
+            this.thread = thread;
+            this.startMillis = startMillis;
+            this.wallMillis = toMillis(wallNanos);
+            this.cpuMillis = cpuNanos < 0 ? -1 : toMillis(cpuNanos);
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1e6;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getWallMillis() {
+            return wallMillis;
+        }
+
+        public double getCpuMillis() {
+            return cpuMillis;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-28s %-24s %8d %10.1f %10s %12s", name, thread, startMillis, wallMillis,
+                    cpuMillis < 0 ? "-" : String.format("%.1f", cpuMillis),
+                    allocatedBytes < 0 ? "-" : Long.toString(allocatedBytes / 1024));
+        }
+    }
+
+    /**
+     * The finished timeline, as it is written to the output file.
+     */
+    private static class Report {
+        private final long totalMillis;
+        private final List<Phase> phases;
+
+        Report(long totalMillis, List<Phase> phases) {
+            this.totalMillis = totalMillis;
+            this.phases = phases;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder table = new StringBuilder("Started in " + totalMillis + " ms\n");
+            table.append(String.format("%-28s %-24s %8s %10s %10s %12s%n",
+                    "phase", "thread", "start ms", "wall ms", "cpu ms", "alloc KiB"));
+            for (Phase phase : phases) {
+                table.append(phase).append(System.lineSeparator());
+            }
+            return table.toString();
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package seedu.taskman.commons.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Runs tasks that load slow-to-initialise parts of the app in parallel in the background, e.g. while the main
+ * window is shown, so that the first command that needs a part is as fast as the ones after it.
+ *
+ * The tasks run on low priority daemon threads and the time each takes is logged. A task that fails is logged
+ * and does not stop the others; the part it was loading is then loaded when it is first used, as before.
+ */
+public class WarmUp {
+
+    private static final Logger logger = LogsCenter.getLogger(WarmUp.class);
+
+    private final Map<String, Runnable> tasks = new LinkedHashMap<>();
+
+    /**
+     * Adds a task to run when the warm up is started.
+     * @param name names the task in the log, e.g. {@code "date parser"}
+     */
+    public WarmUp add(String name, Runnable task) {
+        assert name != null && task != null;
+        tasks.put(name, task);
+        return this;
+    }
+
+    /**
+     * Starts running the tasks, on up to as many threads as there are processors. Returns at once.
+     * @return completes when all the tasks have finished, whether they failed or not
+     */
+    public CompletableFuture<Void> start() {
+        int threadCount = Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "TaskMan warm up");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        long startTime = System.nanoTime();
+        AtomicLong totalTaskNanos = new AtomicLong();
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        tasks.forEach((name, task) -> running.add(CompletableFuture.runAsync(
+                () -> totalTaskNanos.addAndGet(run(name, task)), executor)));
+        executor.shutdown();
+
+        return CompletableFuture.allOf(running.toArray(new CompletableFuture<?>[0]))
+                .thenRun(() -> logger.info(String.format("Warmed up %d parts in %d ms (%d ms of work on %d threads)",
+                        tasks.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+                        TimeUnit.NANOSECONDS.toMillis(totalTaskNanos.get()), threadCount)));
+    }
+
+    /**
+     * Runs the task and returns the time it took in nanoseconds.
+     */
+    private static long run(String name, Runnable task) {
+        long startTime = System.nanoTime();
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.warning("Failed to warm up " + name + ": " + e);
+        }
+        long nanos = System.nanoTime() - startTime;
+        logger.info("Warmed up " + name + " in " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
+        return nanos;
+    }
+
+}
@@ -7,9 +7,16 @@ import seedu.taskman.model.ReadOnlyTaskMan;
 public class TaskManChangedEvent extends BaseEvent {
 
     public final ReadOnlyTaskMan data;
+    /** True if the change was read from the data file, so the data file already has it */
+    public final boolean isFromDataFile;
 
     public TaskManChangedEvent(ReadOnlyTaskMan data){
+        this(data, false);
+    }
+
+    public TaskManChangedEvent(ReadOnlyTaskMan data, boolean isFromDataFile){
         this.data = data;
+        this.isFromDataFile = isFromDataFile;
     }
 
     @Override
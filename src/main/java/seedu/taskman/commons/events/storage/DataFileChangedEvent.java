@@ -0,0 +1,22 @@
+package seedu.taskman.commons.events.storage;
+
+import seedu.taskman.commons.events.BaseEvent;
+import seedu.taskman.model.ReadOnlyTaskMan;
+
+/**
+ * Indicates that the data file was changed by another program, with the data now in it.
+ */
+public class DataFileChangedEvent extends BaseEvent {
+
+    public final ReadOnlyTaskMan data;
+
+    public DataFileChangedEvent(ReadOnlyTaskMan data) {
+        this.data = data;
+    }
+
+    @Override
+    public String toString() {
+        return "number of tasks " + data.getActivityList().size() + ", number of tags " + data.getTagList().size();
+    }
+
+}
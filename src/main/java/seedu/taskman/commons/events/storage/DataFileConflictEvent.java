@@ -0,0 +1,24 @@
+package seedu.taskman.commons.events.storage;
+
+import seedu.taskman.commons.events.BaseEvent;
+
+import java.io.File;
+
+/**
+ * Indicates that the data file was changed by another program while there were local changes not saved yet.
+ * The data file's version was loaded, and the local version was kept in another file.
+ */
+public class DataFileConflictEvent extends BaseEvent {
+
+    public final File localVersionFile;
+
+    public DataFileConflictEvent(File localVersionFile) {
+        this.localVersionFile = localVersionFile;
+    }
+
+    @Override
+    public String toString() {
+        return "local version kept in " + localVersionFile;
+    }
+
+}
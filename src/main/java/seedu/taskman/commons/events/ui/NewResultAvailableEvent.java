@@ -0,0 +1,21 @@
+package seedu.taskman.commons.events.ui;
+
+import seedu.taskman.commons.events.BaseEvent;
+
+/**
+ * Indicates a result to show the user that became available after its command finished, e.g. from a background task.
+ */
+public class NewResultAvailableEvent extends BaseEvent {
+
+    public final String message;
+
+    public NewResultAvailableEvent(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return message;
+    }
+
+}
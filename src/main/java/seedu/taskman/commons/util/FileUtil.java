@@ -1,14 +1,121 @@
 package seedu.taskman.commons.util;
 
+import com.google.common.io.ByteStreams;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Writes and reads file
  */
 public class FileUtil {
     private static final String CHARSET = "UTF-8";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    public static final String GZIP_EXTENSION = ".gz";
+    private static final int GZIP_MAGIC_FIRST_BYTE = 0x1f;
+    private static final int GZIP_MAGIC_SECOND_BYTE = 0x8b;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes content to an output stream.
+     */
+    @FunctionalInterface
+    public interface StreamWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * The sizes of some content and of the file it was written to, and the time spent compressing it, not counting
+     * the time spent writing the compressed content to the file.
+     */
+    public static class WriteStatistics {
+        private final long contentBytes;
+        private final long fileBytes;
+        private final long compressionNanos;
+        private final boolean compressed;
+
+        WriteStatistics(long contentBytes, long fileBytes, long compressionNanos, boolean compressed) {
+            this.contentBytes = contentBytes;
+            this.fileBytes = fileBytes;
+            this.compressionNanos = compressionNanos;
+            this.compressed = compressed;
+        }
+
+        public long getContentBytes() {
+            return contentBytes;
+        }
+
+        public long getFileBytes() {
+            return fileBytes;
+        }
+
+        public boolean isCompressed() {
+            return compressed;
+        }
+
+        public long getCompressionMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(compressionNanos);
+        }
+
+        /**
+         * Returns how many times smaller the file is than its content, or 1 if the file is empty.
+         */
+        public double getCompressionRatio() {
+            return fileBytes == 0 ? 1 : (double) contentBytes / fileBytes;
+        }
+
+        @Override
+        public String toString() {
+            if (!compressed) {
+                return fileBytes + " bytes";
+            }
+            return String.format("%d bytes compressed to %d bytes (ratio %.1f) in %d ms",
+                    contentBytes, fileBytes, getCompressionRatio(), getCompressionMillis());
+        }
+    }
+
+    /**
+     * Counts the bytes written through it and the time spent writing them.
+     */
+    private static class MeasuringOutputStream extends FilterOutputStream {
+        private long bytes;
+        private long nanos;
+
+        MeasuringOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            long startTime = System.nanoTime();
+            out.write(b);
+            nanos += System.nanoTime() - startTime;
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long startTime = System.nanoTime();
+            out.write(b, off, len);
+            nanos += System.nanoTime() - startTime;
+            bytes += len;
+        }
+    }
 
     public static boolean isFileExists(File file) {
         return file.exists() && file.isFile();
@@ -59,18 +166,136 @@ public class FileUtil {
     }
 
     /**
+     * Returns true if the file name has the gzip extension, i.e. content written to it should be compressed.
+     */
+    public static boolean isGzipPath(File file) {
+        return file.getName().endsWith(GZIP_EXTENSION);
+    }
+
+    /**
+     * Returns true if the file exists and starts with the gzip magic bytes.
+     */
+    public static boolean isGzipFile(File file) throws IOException {
+        if (!isFileExists(file)) {
+            return false;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            return in.read() == GZIP_MAGIC_FIRST_BYTE && in.read() == GZIP_MAGIC_SECOND_BYTE;
+        }
+    }
+
+    /**
+     * Opens the file for reading. A gzip-compressed file, whatever its name, is decompressed while it is read.
      * Assumes file exists
      */
+    public static InputStream openForReading(File file) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(new FileInputStream(file), GZIP_BUFFER_SIZE);
+        try {
+            in.mark(2);
+            boolean isGzip = in.read() == GZIP_MAGIC_FIRST_BYTE && in.read() == GZIP_MAGIC_SECOND_BYTE;
+            in.reset();
+            return isGzip ? new GZIPInputStream(in, GZIP_BUFFER_SIZE) : in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Assumes file exists. A gzip-compressed file is decompressed.
+     */
     public static String readFromFile(File file) throws IOException {
-        return new String(Files.readAllBytes(file.toPath()), CHARSET);
+        if (!isGzipFile(file)) {
+            return new String(Files.readAllBytes(file.toPath()), CHARSET);
+        }
+        try (InputStream in = openForReading(file)) {
+            return new String(ByteStreams.toByteArray(in), CHARSET);
+        }
     }
 
     /**
      * Writes given string to a file.
      * Will create the file if it does not exist yet.
+     * The string is compressed if the file has the gzip extension or is already compressed.
      */
     public static void writeToFile(File file, String content) throws IOException {
-        Files.write(file.toPath(), content.getBytes(CHARSET));
+        if (!isGzipPath(file) && !isGzipFile(file)) {
+            Files.write(file.toPath(), content.getBytes(CHARSET));
+            return;
+        }
+        try (GZIPOutputStream out = new GZIPOutputStream(new FileOutputStream(file), GZIP_BUFFER_SIZE)) {
+            out.write(content.getBytes(CHARSET));
+        }
+    }
+
+    /**
+     * Replaces the content of the file with what the writer writes, creating the file and its parent directories
+     * if they are missing.
+     * The content is written to a temporary file next to the file, which is then moved over the file, so the
+     * file is never left half-written.
+     *
+     * The content is compressed while it is written if the file has the gzip extension or is already compressed.
+     *
+     * @param sync if true, the content is forced to the storage device before the move, and the move is forced
+     *             to the storage device after it
+     */
+    public static WriteStatistics writeAtomically(File file, StreamWriter writer, boolean sync)
+            throws IOException {
+        createParentDirsOfFile(file);
+        boolean compress = isGzipPath(file) || isGzipFile(file);
+        File tempFile = new File(file.getPath() + TEMP_FILE_SUFFIX);
+        MeasuringOutputStream content;
+        long compressionNanos = 0;
+        try (FileOutputStream fileOut = new FileOutputStream(tempFile)) {
+            OutputStream out = new BufferedOutputStream(fileOut);
+            if (compress) {
+                // the time spent writing the compressed bytes is measured too, so it can be left out
+                MeasuringOutputStream compressed = new MeasuringOutputStream(out);
+                GZIPOutputStream gzipOut = new GZIPOutputStream(compressed, GZIP_BUFFER_SIZE);
+                content = new MeasuringOutputStream(gzipOut);
+                writer.writeTo(content);
+                long startTime = System.nanoTime();
+                gzipOut.finish();
+                content.nanos += System.nanoTime() - startTime;
+                compressionNanos = Math.max(0, content.nanos - compressed.nanos);
+            } else {
+                content = new MeasuringOutputStream(out);
+                writer.writeTo(content);
+            }
+            out.flush();
+            if (sync) {
+                fileOut.getChannel().force(true);
+            }
+        } catch (IOException | RuntimeException e) {
+            tempFile.delete();
+            throw e;
+        }
+        try {
+            Files.move(tempFile.toPath(), file.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (sync) {
+            syncDirectory(file.getAbsoluteFile().getParentFile());
+        }
+        return new WriteStatistics(content.bytes, file.length(), compressionNanos, compress);
+    }
+
+    /**
+     * Forces the entries of the directory, e.g. a file just moved into it, to the storage device.
+     * Does nothing on platforms where directories cannot be opened, such as Windows.
+     */
+    private static void syncDirectory(File directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (FileChannel directoryChannel = channel) {
+            directoryChannel.force(true);
+        }
     }
 
     /**
@@ -6,17 +6,24 @@ import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Helps with reading from and writing to XML files.
  */
 public class XmlUtil {
 
+    private static final ConcurrentMap<Class<?>, JAXBContext> contexts = new ConcurrentHashMap<>();
+
     /**
      * Returns the xml data in the file as an object of the specified type.
      *
      * @param file           Points to a valid xml file containing data that match the {@code classToConvert}.
-     *                       Cannot be null.
+     *                       The file may be gzip-compressed. Cannot be null.
      * @param classToConvert The class corresponding to the xml data.
      *                       Cannot be null.
      * @throws FileNotFoundException Thrown if the file is missing.
@@ -33,10 +40,29 @@ public class XmlUtil {
             throw new FileNotFoundException("File not found : " + file.getAbsolutePath());
         }
 
-        JAXBContext context = JAXBContext.newInstance(classToConvert);
-        Unmarshaller um = context.createUnmarshaller();
+        Unmarshaller um = getContext(classToConvert).createUnmarshaller();
 
-        return ((T) um.unmarshal(file));
+        try (InputStream in = FileUtil.openForReading(file)) {
+            return ((T) um.unmarshal(in));
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new JAXBException("Error reading " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Returns the xml data read from the stream as an object of the specified type. The stream is not closed.
+     *
+     * @throws JAXBException Thrown if the data read does not match the {@code classToConvert}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getDataFromStream(InputStream in, Class<T> classToConvert) throws JAXBException {
+
+        assert in != null;
+        assert classToConvert != null;
+
+        return (T) getContext(classToConvert).createUnmarshaller().unmarshal(in);
     }
 
     /**
@@ -57,11 +83,43 @@ public class XmlUtil {
             throw new FileNotFoundException("File not found : " + file.getAbsolutePath());
         }
 
-        JAXBContext context = JAXBContext.newInstance(data.getClass());
-        Marshaller m = context.createMarshaller();
+        createFormattedMarshaller(data.getClass()).marshal(data, file);
+    }
+
+    /**
+     * Writes the data to the stream in xml format. The stream is not closed.
+     * The bytes written are the same as those {@link #saveDataToFile(File, Object)} would write to a file.
+     *
+     * @throws JAXBException Thrown if there is an error during converting the data into xml.
+     */
+    public static <T> void saveDataToStream(OutputStream out, T data) throws JAXBException {
+
+        assert out != null;
+        assert data != null;
+
+        createFormattedMarshaller(data.getClass()).marshal(data, out);
+    }
+
+    private static Marshaller createFormattedMarshaller(Class<?> classToConvert) throws JAXBException {
+        Marshaller m = getContext(classToConvert).createMarshaller();
         m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        return m;
+    }
 
-        m.marshal(data, file);
+    /**
+     * Returns the JAXB context for the given class, creating it on first use.
+     * Contexts are expensive to create but thread-safe, so one is kept for each class.
+     */
+    public static JAXBContext getContext(Class<?> classToConvert) throws JAXBException {
+        JAXBContext context = contexts.get(classToConvert);
+        if (context == null) {
+            context = JAXBContext.newInstance(classToConvert);
+            JAXBContext existing = contexts.putIfAbsent(classToConvert, context);
+            if (existing != null) {
+                context = existing;
+            }
+        }
+        return context;
     }
 
 }
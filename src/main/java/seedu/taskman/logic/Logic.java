@@ -2,6 +2,7 @@ package seedu.taskman.logic;
 
 import javafx.collections.ObservableList;
 import seedu.taskman.logic.commands.CommandResult;
+import seedu.taskman.model.ReadOnlyTaskMan;
 import seedu.taskman.model.event.Activity;
 
 /**
@@ -15,6 +16,9 @@ public interface Logic {
      */
     CommandResult execute(String commandText);
 
+    /** Returns all the data, whatever is listed */
+    ReadOnlyTaskMan getTaskMan();
+
     /** Returns the filtered list of tasks */
     ObservableList<Activity> getFilteredActivityList();
 
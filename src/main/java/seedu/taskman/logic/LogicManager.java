@@ -7,6 +7,7 @@ import seedu.taskman.logic.commands.Command;
 import seedu.taskman.logic.commands.CommandResult;
 import seedu.taskman.logic.parser.CommandParser;
 import seedu.taskman.model.Model;
+import seedu.taskman.model.ReadOnlyTaskMan;
 import seedu.taskman.model.event.Activity;
 import seedu.taskman.storage.Storage;
 
@@ -34,6 +35,11 @@ public class LogicManager extends ComponentManager implements Logic {
         return command.execute();
     }
 
+    @Override
+    public ReadOnlyTaskMan getTaskMan() {
+        return model.getTaskMan();
+    }
+
     @Override
     public ObservableList<Activity> getFilteredActivityList() {
         return model.getFilteredActivityList();
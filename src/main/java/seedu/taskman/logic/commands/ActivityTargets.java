@@ -0,0 +1,103 @@
+package seedu.taskman.logic.commands;
+
+import seedu.taskman.commons.core.Messages;
+import seedu.taskman.commons.exceptions.IllegalValueException;
+import seedu.taskman.model.Model;
+import seedu.taskman.model.event.Activity;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The activities a command acts on. Either positions in the last shown list, given as index numbers and ranges
+ * such as {@code 3-40,52}, or every activity matching a filter such as {@code all/ t/sprint12}, whether it is
+ * shown or not.
+ */
+public class ActivityTargets {
+
+    /** First and last index of each range, null if the targets are given by a filter */
+    private final List<int[]> indexRanges;
+    private final Model.FilterMode filterMode;
+    private final Set<String> keywords;
+    private final Set<String> tagNames;
+
+    private ActivityTargets(List<int[]> indexRanges, Model.FilterMode filterMode, Set<String> keywords,
+                            Set<String> tagNames) {
+        this.indexRanges = indexRanges;
+        this.filterMode = filterMode;
+        this.keywords = keywords;
+        this.tagNames = tagNames;
+    }
+
+    /**
+     * Returns the activity at the given position of the last shown list.
+     */
+    public static ActivityTargets ofIndex(int index) {
+        return ofIndexRanges(Collections.singletonList(new int[] {index, index}));
+    }
+
+    /**
+     * Returns the activities at the given ranges of positions of the last shown list.
+     *
+     * @param indexRanges the first and last index of each range, with {@code 0 < first <= last}
+     */
+    public static ActivityTargets ofIndexRanges(List<int[]> indexRanges) {
+        assert !indexRanges.isEmpty();
+        for (int[] range : indexRanges) {
+            assert range.length == 2 && 0 < range[0] && range[0] <= range[1];
+        }
+        return new ActivityTargets(indexRanges, null, null, null);
+    }
+
+    /**
+     * Returns the activities that {@code list} would show for the same filter mode, keywords and tags.
+     */
+    public static ActivityTargets ofFilter(Model.FilterMode filterMode, Set<String> keywords, Set<String> tagNames) {
+        return new ActivityTargets(null, filterMode, keywords, tagNames);
+    }
+
+    /**
+     * Returns true if the targets are given by index numbers rather than by a filter.
+     */
+    public boolean isByIndex() {
+        return indexRanges != null;
+    }
+
+    /**
+     * Returns true if the targets are given by index numbers that name one activity only.
+     */
+    public boolean isSingleIndex() {
+        return isByIndex() && indexRanges.stream().allMatch(range -> range[0] == indexRanges.get(0)[0]
+                && range[1] == indexRanges.get(0)[0]);
+    }
+
+    /**
+     * Returns the target activities of the model, once each and in the order of the list they are taken from.
+     *
+     * @throws IllegalValueException if an index is beyond the last shown list
+     */
+    public List<Activity> resolve(Model model) throws IllegalValueException {
+        if (!isByIndex()) {
+            return model.findActivities(filterMode, keywords, tagNames);
+        }
+        List<Activity> lastShownList = model.getFilteredActivityList();
+        for (int[] range : indexRanges) {
+            if (range[1] > lastShownList.size()) {
+                throw new IllegalValueException(Messages.MESSAGE_INVALID_EVENT_DISPLAYED_INDEX);
+            }
+        }
+        BitSet indexes = new BitSet(lastShownList.size() + 1);
+        for (int[] range : indexRanges) {
+            indexes.set(range[0], range[1] + 1);
+        }
+        List<Activity> targets = new ArrayList<>(indexes.cardinality());
+        for (int index = indexes.nextSetBit(0); index >= 0; index = indexes.nextSetBit(index + 1)) {
+            targets.add(lastShownList.get(index - 1));
+        }
+        return targets;
+    }
+
+}
@@ -0,0 +1,88 @@
+package seedu.taskman.logic.commands;
+
+import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.TaskMan;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs several commands, separated by {@value #SEPARATOR}, as one change to the task man: either the changes of
+ * all of them are kept, or, as soon as one fails, none are. The data is saved once, after the last command.
+ */
+public class ChainCommand extends Command {
+
+    public static final String SEPARATOR = ";";
+
+    public static final String MESSAGE_USAGE = "COMMAND " + SEPARATOR + " COMMAND...: Runs the commands in order "
+            + "as one change. If one of them fails, the changes made by the ones before it are undone.\n"
+            + "Example: complete 1 " + SEPARATOR + " do Write report d/next fri 1700";
+
+    public static final String MESSAGE_SUCCESS = "Ran %1$d commands";
+    public static final String MESSAGE_FAILED = "Command %1$d of %2$d failed, so no changes were kept: %3$s";
+    public static final String MESSAGE_NOT_IN_CHAIN = "%1$s cannot be chained";
+
+    private final List<Command> commands;
+
+    /**
+     * @param commands the commands to run, in order; incorrect ones fail the chain before any command runs
+     */
+    public ChainCommand(List<Command> commands) {
+        this.commands = commands;
+    }
+
+    @Override
+    public CommandResult execute() {
+        assert model != null;
+        for (int i = 0; i < commands.size(); i++) {
+            if (commands.get(i) instanceof IncorrectCommand) {
+                return getFailure(i, commands.get(i).execute());
+            }
+        }
+
+        // taken before the first command that can change the data, so chains that only read copy nothing
+        TaskMan original = null;
+        StringBuilder feedback = new StringBuilder(String.format(MESSAGE_SUCCESS, commands.size()));
+        boolean isCompleted = false;
+        model.beginChanges();
+        try {
+            for (int i = 0; i < commands.size(); i++) {
+                Command command = commands.get(i);
+                if (original == null && !command.isReadOnly()) {
+                    original = copyOf(model.getTaskMan());
+                }
+                command.setData(model);
+                CommandResult result = command.execute();
+                if (!result.isSuccessful) {
+                    return getFailure(i, result);
+                }
+                feedback.append('\n').append(result.feedbackToUser);
+            }
+            isCompleted = true;
+        } finally {
+            if (!isCompleted && original != null) {
+                model.rollbackChanges(original);
+            } else {
+                model.commitChanges();
+            }
+        }
+        return new CommandResult(feedback.toString());
+    }
+
+    /**
+     * Returns a copy of the data to undo the changes of the chain with. Activities are replaced rather than
+     * changed once they are in the data, so the copy shares them instead of copying each one, and undoing puts
+     * the same objects back.
+     */
+    private static TaskMan copyOf(ReadOnlyTaskMan data) {
+        TaskMan copy = new TaskMan();
+        copy.setActivities(new ArrayList<>(data.getActivityList()));
+        copy.setTags(data.getTagList());
+        return copy;
+    }
+
+    private CommandResult getFailure(int index, CommandResult result) {
+        return new CommandResult(String.format(MESSAGE_FAILED, index + 1, commands.size(), result.feedbackToUser),
+                false);
+    }
+}
@@ -28,6 +28,13 @@ public abstract class Command {
      */
     public abstract CommandResult execute();
 
+    /**
+     * Returns true if executing the command cannot change the data of the model, only what is shown of it.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
     /**
      * Provides any needed dependencies to the command.
      * Commands making use of any of these should override this method to gain
@@ -7,9 +7,17 @@ public class CommandResult {
 
     public final String feedbackToUser;
 
+    /** False if the command could not be carried out, e.g. because of an invalid index */
+    public final boolean isSuccessful;
+
     public CommandResult(String feedbackToUser) {
+        this(feedbackToUser, true);
+    }
+
+    public CommandResult(String feedbackToUser, boolean isSuccessful) {
         assert feedbackToUser != null;
         this.feedbackToUser = feedbackToUser;
+        this.isSuccessful = isSuccessful;
     }
 
 }
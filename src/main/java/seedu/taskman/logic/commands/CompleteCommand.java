@@ -1,101 +1,100 @@
 package seedu.taskman.logic.commands;
 
 import seedu.taskman.commons.core.Messages;
-import seedu.taskman.commons.core.UnmodifiableObservableList;
 import seedu.taskman.commons.exceptions.IllegalValueException;
 import seedu.taskman.model.event.Activity;
 import seedu.taskman.model.event.Status;
 import seedu.taskman.model.event.Task;
 import seedu.taskman.model.event.UniqueActivityList;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Completes an existing task
- * 
- * Note: Deeply resembles DeleteCommand (in order to get the Activity reference from the index)
- *       and EditCommand (make a new Activity with the correct status and then deleting the old one)
+ * Completes existing tasks
+ *
+ * Note: Deeply resembles DeleteCommand (in order to get the Activity references from the targets)
+ *       and EditCommand (make new Activities with the correct status and then replace the old ones)
  */
 public class CompleteCommand extends Command {
 
     public static final String COMMAND_WORD = "complete";
     private static final String STATUS_COMPLETE = "complete";
 
-    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Marks an existing task as complete./n"
-            + "Parameters: INDEX\n"
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Marks existing tasks as complete, identified by "
+            + "the index numbers used in the last activity listing, or the ones matching a filter as in list.\n"
+            + "Parameters: INDEX[-INDEX][,INDEX[-INDEX]]... or {all/,s/,d/,f/} [KEYWORDS]... [t/TAG]...\n"
             + "Example: " + COMMAND_WORD
             + " 1";
 
     public static final String MESSAGE_SUCCESS = "Task completed: %1$s";
+    public static final String MESSAGE_SUCCESS_MANY = "%1$d tasks completed";
     public static final String MESSAGE_DUPLICATE_TASK = "A task with the same name already exists in TaskMan";
 
-    private Activity.ActivityType activityType;
-    private Activity activityToComplete;
-    private Activity afterComplete;
-    private int targetIndex;
+    private final ActivityTargets targets;
 
     public CompleteCommand(int targetIndex) {
-        this.targetIndex = targetIndex;
+        this(ActivityTargets.ofIndex(targetIndex));
+    }
+
+    /**
+     * Events among targets given by a filter are skipped, while events among targets given by index fail the
+     * command.
+     */
+    public CompleteCommand(ActivityTargets targets) {
+        this.targets = targets;
     }
 
     @Override
     public CommandResult execute() {
         assert model != null;
 
+        List<Activity> activitiesToComplete;
         try {
-            initMembers();
+            activitiesToComplete = targets.resolve(model);
         } catch (IllegalValueException e) {
-            return new CommandResult(e.getMessage());
+            indicateAttemptToExecuteIncorrectCommand();
+            return new CommandResult(e.getMessage(), false);
         }
 
-        try {
-            model.deleteActivity(activityToComplete);
-            model.addActivity(afterComplete);
-            return new CommandResult(String.format(MESSAGE_SUCCESS, afterComplete.getTitle().title));
-        } catch (UniqueActivityList.ActivityNotFoundException notFound) {
-            indicateAttemptToExecuteIncorrectCommand();
-            return new CommandResult(Messages.MESSAGE_INVALID_EVENT_DISPLAYED_INDEX);
-        } catch (UniqueActivityList.DuplicateActivityException e) {
-            try {
-                model.addActivity(afterComplete);
-            } catch (UniqueActivityList.DuplicateActivityException e1) {
-                assert false: "Deleted activity should be able to be added back.";
+        List<Activity> tasksToComplete = new ArrayList<>(activitiesToComplete.size());
+        List<Activity> completedTasks = new ArrayList<>(activitiesToComplete.size());
+        for (Activity activity : activitiesToComplete) {
+            if (activity.getType() == Activity.ActivityType.EVENT) {
+                if (targets.isByIndex()) {
+                    return new CommandResult(Messages.MESSAGE_INVALID_COMMAND_FOR_EVENT, false);
+                }
+                continue;
             }
-            throw new AssertionError("Activities with duplicate titles exists in data!", null);
+            tasksToComplete.add(activity);
+            completedTasks.add(complete(activity));
         }
-    }
-
-    private void initMembers() throws IllegalValueException {
-        UnmodifiableObservableList<Activity> lastShownList = model.getFilteredActivityList();
-
-        if (lastShownList.size() < targetIndex) {
-            indicateAttemptToExecuteIncorrectCommand();
-            throw new IllegalValueException(Messages.MESSAGE_INVALID_EVENT_DISPLAYED_INDEX);
+        if (tasksToComplete.isEmpty()) {
+            return new CommandResult(Messages.MESSAGE_NO_MATCHING_EVENTS, false);
         }
 
-        activityToComplete = lastShownList.get(targetIndex - 1);
-        activityType = activityToComplete.getType();
-
-        switch (activityType){
-        case EVENT: {
-            throw new IllegalValueException(Messages.MESSAGE_INVALID_COMMAND_FOR_EVENT);
-        }
-        case TASK: {
-            Task task = new Task(
-                    activityToComplete.getTitle(),
-                    activityToComplete.getTags(),
-                    activityToComplete.getDeadline().orElse(null),
-                    activityToComplete.getSchedule().orElse(null),
-                    activityToComplete.getFrequency().orElse(null));
-            try {
-                task.setStatus(new Status(STATUS_COMPLETE));
-            } catch (IllegalValueException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
-            afterComplete = new Activity(task);
-        }
-        default: {
-            assert false : "Activity is neither an event nor a task.";
+        try {
+            model.replaceActivities(tasksToComplete, completedTasks);
+        } catch (UniqueActivityList.DuplicateActivityException e) {
+            throw new AssertionError("Completing a task does not change its title", e);
         }
+        return new CommandResult(targets.isSingleIndex()
+                ? String.format(MESSAGE_SUCCESS, completedTasks.get(0).getTitle().title)
+                : String.format(MESSAGE_SUCCESS_MANY, completedTasks.size()));
+    }
+
+    private static Activity complete(Activity activityToComplete) {
+        Task task = new Task(
+                activityToComplete.getTitle(),
+                activityToComplete.getTags(),
+                activityToComplete.getDeadline().orElse(null),
+                activityToComplete.getSchedule().orElse(null),
+                activityToComplete.getFrequency().orElse(null));
+        try {
+            task.setStatus(new Status(STATUS_COMPLETE));
+        } catch (IllegalValueException e) {
+            throw new AssertionError("The complete status is valid", e);
         }
+        return new Activity(task);
     }
 }
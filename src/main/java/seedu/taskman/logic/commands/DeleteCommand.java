@@ -1,50 +1,60 @@
 package seedu.taskman.logic.commands;
 
 import seedu.taskman.commons.core.Messages;
-import seedu.taskman.commons.core.UnmodifiableObservableList;
+import seedu.taskman.commons.exceptions.IllegalValueException;
 import seedu.taskman.model.event.Activity;
-import seedu.taskman.model.event.UniqueActivityList.ActivityNotFoundException;
+
+import java.util.List;
 
 /**
- * Deletes a task identified using it's last displayed index from the task man.
+ * Deletes the tasks and events identified using their last displayed indexes, or matching a filter, from the
+ * task man.
  */
 public class DeleteCommand extends Command {
 
     public static final String COMMAND_WORD = "delete";
 
     public static final String MESSAGE_USAGE = COMMAND_WORD
-            + ": Deletes the task or event identified by the index number used in the last activity listing.\n"
-            + "Parameters: INDEX (must be a positive integer)\n"
-            + "Example: " + COMMAND_WORD + " 1";
+            + ": Deletes the tasks or events identified by the index numbers used in the last activity listing, "
+            + "or the ones matching a filter as in list.\n"
+            + "Parameters: INDEX[-INDEX][,INDEX[-INDEX]]... (must be positive integers) "
+            + "or {all/,s/,d/,f/} [KEYWORDS]... [t/TAG]...\n"
+            + "Example: " + COMMAND_WORD + " 3-40,52";
 
     public static final String MESSAGE_DELETE_EVENT_SUCCESS = "Deleted Task: %1$s";
+    public static final String MESSAGE_DELETE_EVENTS_SUCCESS = "Deleted %1$d tasks and events";
 
-    public final int targetIndex;
+    private final ActivityTargets targets;
 
     public DeleteCommand(int targetIndex) {
-        this.targetIndex = targetIndex;
+        this(ActivityTargets.ofIndex(targetIndex));
     }
 
+    public DeleteCommand(ActivityTargets targets) {
+        this.targets = targets;
+    }
 
     @Override
     public CommandResult execute() {
+        assert model != null;
 
-        UnmodifiableObservableList<Activity> lastShownList = model.getFilteredActivityList();
-
-        if (lastShownList.size() < targetIndex) {
+        List<Activity> activitiesToDelete;
+        try {
+            activitiesToDelete = targets.resolve(model);
+        } catch (IllegalValueException e) {
             indicateAttemptToExecuteIncorrectCommand();
-            return new CommandResult(Messages.MESSAGE_INVALID_EVENT_DISPLAYED_INDEX);
+            return new CommandResult(e.getMessage(), false);
         }
-
-        Activity activityToDelete = lastShownList.get(targetIndex - 1);
-
-        try {
-            model.deleteActivity(activityToDelete);
-        } catch (ActivityNotFoundException pnfe) {
-            assert false : "The target task cannot be missing";
+        if (activitiesToDelete.isEmpty()) {
+            return new CommandResult(Messages.MESSAGE_NO_MATCHING_EVENTS, false);
         }
 
-        return new CommandResult(String.format(MESSAGE_DELETE_EVENT_SUCCESS, activityToDelete));
+        int deletedCount = model.deleteActivities(activitiesToDelete);
+        assert deletedCount == activitiesToDelete.size() : "The target tasks cannot be missing";
+
+        return new CommandResult(targets.isSingleIndex()
+                ? String.format(MESSAGE_DELETE_EVENT_SUCCESS, activitiesToDelete.get(0))
+                : String.format(MESSAGE_DELETE_EVENTS_SUCCESS, deletedCount));
     }
 
 }
@@ -59,7 +59,7 @@ public class DoCommand extends Command {
             model.addEvent(toAdd);
             return new CommandResult(String.format(MESSAGE_SUCCESS, toAdd));
         } catch (UniqueActivityList.DuplicateActivityException e) {
-            return new CommandResult(MESSAGE_DUPLICATE_EVENT);
+            return new CommandResult(MESSAGE_DUPLICATE_EVENT, false);
         }
 
     }
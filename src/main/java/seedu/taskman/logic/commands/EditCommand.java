@@ -1,165 +1,141 @@
 package seedu.taskman.logic.commands;
 
 import seedu.taskman.commons.core.Messages;
-import seedu.taskman.commons.core.UnmodifiableObservableList;
 import seedu.taskman.commons.exceptions.IllegalValueException;
 import seedu.taskman.model.event.*;
 import seedu.taskman.model.tag.Tag;
 import seedu.taskman.model.tag.UniqueTagList;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
- * Edits an existing activity
+ * Edits existing activities
  */
 public class EditCommand extends Command {
 
     public static final String COMMAND_WORD = "edit";
 
-    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Edits an existing activity.\n"
-            + "Parameters: INDEX [TITLE] [d/DEADLINE] [c/STATUS] [s/SCHEDULE] [f/FREQUENCY] [t/TAG]...\n"
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Edits existing activities.\n"
+            + "Parameters: INDEX[-INDEX][,INDEX[-INDEX]]... [TITLE] [d/DEADLINE] [c/STATUS] [s/SCHEDULE] "
+            + "[f/FREQUENCY] [t/TAG]...\n"
             + "Example: " + COMMAND_WORD
             + " 1 CS2103T Tutorial d/fri 11.59pm c/complete s/mon 2200 to tue 0200 f/1 week t/friends t/owesMoney";
 
     public static final String MESSAGE_EDIT_EVENT_SUCCESS = "Event updated: %1$s";
     public static final String MESSAGE_EDIT_TASK_SUCCESS = "Task updated: %1$s";
+    public static final String MESSAGE_EDIT_MANY_SUCCESS = "%1$d tasks and events updated";
     public static final String MESSAGE_DUPLICATE_ACTIVITY = "An event or a task with the same name already exists";
+    public static final String MESSAGE_TITLE_FOR_ONE = "A title can only be given when editing one activity";
 
+    private final ActivityTargets targets;
     private final ArgumentContainer argsContainer;
-    private Activity beforeEdit;
-    private Activity afterEdit;
-    private Activity.ActivityType activityType;
 
     /**
      * Convenience constructor using raw values.
      * Fields which are null are assumed not to be replaced
-     *
-     * @throws IllegalValueException if any of the raw values are invalid
      */
     public EditCommand(int targetIndex,
                        @Nullable String title, @Nullable String deadline, @Nullable String status,
                        @Nullable String schedule, @Nullable String frequency, @Nullable Set<String> tags) {
-        argsContainer = new ArgumentContainer(targetIndex, title, deadline, status, schedule, frequency, tags);
+        this(ActivityTargets.ofIndex(targetIndex), title, deadline, status, schedule, frequency, tags);
+    }
+
+    /**
+     * Convenience constructor using raw values, editing every target the same way.
+     * Fields which are null are assumed not to be replaced
+     */
+    public EditCommand(ActivityTargets targets,
+                       @Nullable String title, @Nullable String deadline, @Nullable String status,
+                       @Nullable String schedule, @Nullable String frequency, @Nullable Set<String> tags) {
+        this.targets = targets;
+        argsContainer = new ArgumentContainer(title, deadline, status, schedule, frequency, tags);
     }
 
     @Override
     public CommandResult execute() {
         assert model != null;
 
+        List<Activity> beforeEdits;
         try {
-            initMembers(argsContainer);
+            beforeEdits = targets.resolve(model);
         } catch (IllegalValueException e) {
-            return new CommandResult(e.getMessage());
+            indicateAttemptToExecuteIncorrectCommand();
+            return new CommandResult(e.getMessage(), false);
+        }
+        if (beforeEdits.size() > 1 && argsContainer.title != null) {
+            return new CommandResult(MESSAGE_TITLE_FOR_ONE, false);
         }
 
+        List<Activity> afterEdits = new ArrayList<>(beforeEdits.size());
         try {
-            model.deleteActivity(beforeEdit);
-            model.addActivity(afterEdit);
-            switch(activityType) {
-                case EVENT: {
-                    return new CommandResult(String.format(MESSAGE_EDIT_EVENT_SUCCESS, afterEdit));
-                }
-                case TASK: {
-                    return new CommandResult(String.format(MESSAGE_EDIT_TASK_SUCCESS, afterEdit));
-                }
-                default: {
-                    throw new AssertionError("Activity is neither an event nor a task.", null); 
-                }
-            }
-        } catch (UniqueActivityList.ActivityNotFoundException pnfe) {
-            indicateAttemptToExecuteIncorrectCommand();
-            return new CommandResult(Messages.MESSAGE_INVALID_EVENT_DISPLAYED_INDEX);
-        } catch (UniqueActivityList.DuplicateActivityException e) {
-            try {
-                model.addActivity(beforeEdit);
-            } catch (UniqueActivityList.DuplicateActivityException e1) {
-                assert false : "Deleted activity should be able to be added back.";
+            // parsed once, as dates in particular are slow to parse
+            EditedValues values = new EditedValues(argsContainer);
+            for (Activity beforeEdit : beforeEdits) {
+                afterEdits.add(edit(beforeEdit, values));
             }
-            return new CommandResult(MESSAGE_DUPLICATE_ACTIVITY);
+        } catch (IllegalValueException e) {
+            return new CommandResult(e.getMessage(), false);
         }
 
-    }
-
-    private void initMembers(ArgumentContainer argsContainer) throws IllegalValueException {
-        UnmodifiableObservableList<Activity> lastShownList = model.getFilteredActivityList();
-
-        if (lastShownList.size() < argsContainer.targetIndex) {
-            indicateAttemptToExecuteIncorrectCommand();
-            throw new IllegalValueException(Messages.MESSAGE_INVALID_EVENT_DISPLAYED_INDEX);
+        try {
+            model.replaceActivities(beforeEdits, afterEdits);
+        } catch (UniqueActivityList.DuplicateActivityException e) {
+            return new CommandResult(MESSAGE_DUPLICATE_ACTIVITY, false);
         }
 
-        beforeEdit = lastShownList.get(argsContainer.targetIndex - 1);
-        activityType = beforeEdit.getType();
-        if (activityType.equals(Activity.ActivityType.EVENT)) {
-            if (argsContainer.deadline != null && argsContainer.status != null) {
-                throw new IllegalValueException(Messages.MESSAGE_INVALID_PARAMETERS); //TODO Make error messages more specific
-            } else if (argsContainer.deadline != null) {
-                throw new IllegalValueException(Messages.MESSAGE_INVALID_PARAMETERS); //TODO Make error messages more specific
-            } else if (argsContainer.status != null){
-                throw new IllegalValueException(Messages.MESSAGE_INVALID_PARAMETERS); //TODO Make error messages more specific
-            }
+        if (!targets.isSingleIndex()) {
+            return new CommandResult(String.format(MESSAGE_EDIT_MANY_SUCCESS, afterEdits.size()));
         }
-
-        Set<Tag> tagSet = new HashSet<>();
-        if(argsContainer.tags != null){
-            for (String tagName : argsContainer.tags) {
-                tagSet.add(new Tag(tagName));
+        Activity afterEdit = afterEdits.get(0);
+        switch (afterEdit.getType()) {
+            case EVENT: {
+                return new CommandResult(String.format(MESSAGE_EDIT_EVENT_SUCCESS, afterEdit));
+            }
+            case TASK: {
+                return new CommandResult(String.format(MESSAGE_EDIT_TASK_SUCCESS, afterEdit));
+            }
+            default: {
+                throw new AssertionError("Activity is neither an event nor a task.", null);
             }
         }
+    }
 
-        switch (activityType){
+    private Activity edit(Activity beforeEdit, EditedValues values) throws IllegalValueException {
+        switch (beforeEdit.getType()) {
             case EVENT: {
+                if (values.deadline != null || values.status != null) {
+                    throw new IllegalValueException(Messages.MESSAGE_INVALID_PARAMETERS); //TODO Make error messages more specific
+                }
                 Event event = new Event(
-                        argsContainer.title == null
-                        ? beforeEdit.getTitle()
-                        : new Title(argsContainer.title),
-                argsContainer.tags == null
-                        ? beforeEdit.getTags()
-                        : new UniqueTagList(tagSet),
-                argsContainer.schedule == null
-                        ? beforeEdit.getSchedule().orElse(null)
-                        : new Schedule (argsContainer.schedule),
-                argsContainer.frequency == null
-                        ? beforeEdit.getFrequency().orElse(null)
-                        : new Frequency(argsContainer.frequency)
+                        values.title == null ? beforeEdit.getTitle() : values.title,
+                        values.tags == null ? beforeEdit.getTags() : values.tags,
+                        values.schedule == null ? beforeEdit.getSchedule().orElse(null) : values.schedule,
+                        values.frequency == null ? beforeEdit.getFrequency().orElse(null) : values.frequency
                 );
-                afterEdit = new Activity(event);
+                return new Activity(event);
             }
             case TASK: {
                 Task task = new Task(
-                        argsContainer.title == null
-                        ? beforeEdit.getTitle()
-                        : new Title(argsContainer.title),
-                argsContainer.tags == null
-                        ? beforeEdit.getTags()
-                        : new UniqueTagList(tagSet),
-                argsContainer.deadline == null
-                        ? beforeEdit.getDeadline().orElse(null)
-                        : new Deadline(argsContainer.deadline),
-                argsContainer.schedule == null
-                        ? beforeEdit.getSchedule().orElse(null)
-                        : new Schedule (argsContainer.schedule),
-                argsContainer.frequency == null
-                        ? beforeEdit.getFrequency().orElse(null)
-                        : new Frequency(argsContainer.frequency)
+                        values.title == null ? beforeEdit.getTitle() : values.title,
+                        values.tags == null ? beforeEdit.getTags() : values.tags,
+                        values.deadline == null ? beforeEdit.getDeadline().orElse(null) : values.deadline,
+                        values.schedule == null ? beforeEdit.getSchedule().orElse(null) : values.schedule,
+                        values.frequency == null ? beforeEdit.getFrequency().orElse(null) : values.frequency
                 );
-                
-                task.setStatus(argsContainer.status == null
-                               ? beforeEdit.getStatus().orElse(null)
-                               : new Status(argsContainer.status));
-                        
-                afterEdit = new Activity(task);
+                task.setStatus(values.status == null ? beforeEdit.getStatus().orElse(null) : values.status);
+                return new Activity(task);
             }
             default: {
-                assert false : "Activity is neither an event nor a task.";
+                throw new AssertionError("Activity is neither an event nor a task.", null);
             }
         }
     }
 
     private static class ArgumentContainer {
-        public final int targetIndex;
         public String title;
         public String deadline;
         public String status;
@@ -167,8 +143,7 @@ public class EditCommand extends Command {
         public String frequency;
         public Set<String> tags;
 
-        public ArgumentContainer(int targetIndex, String title, String deadline, String status, String schedule, String frequency, Set<String> tags) {
-            this.targetIndex = targetIndex;
+        public ArgumentContainer(String title, String deadline, String status, String schedule, String frequency, Set<String> tags) {
             this.title = title;
             this.deadline = deadline;
             this.status = status;
@@ -177,4 +152,33 @@ public class EditCommand extends Command {
             this.tags = tags;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The values to replace, parsed from the raw values. Null if not replaced.
+     */
+    private static class EditedValues {
+        public final Title title;
+        public final Deadline deadline;
+        public final Status status;
+        public final Schedule schedule;
+        public final Frequency frequency;
+        public final UniqueTagList tags;
+
+        public EditedValues(ArgumentContainer argsContainer) throws IllegalValueException {
+            title = argsContainer.title == null ? null : new Title(argsContainer.title);
+            deadline = argsContainer.deadline == null ? null : new Deadline(argsContainer.deadline);
+            status = argsContainer.status == null ? null : new Status(argsContainer.status);
+            schedule = argsContainer.schedule == null ? null : new Schedule(argsContainer.schedule);
+            frequency = argsContainer.frequency == null ? null : new Frequency(argsContainer.frequency);
+            if (argsContainer.tags == null) {
+                tags = null;
+            } else {
+                Set<Tag> tagSet = new HashSet<>();
+                for (String tagName : argsContainer.tags) {
+                    tagSet.add(new Tag(tagName));
+                }
+                tags = new UniqueTagList(tagSet);
+            }
+        }
+    }
+}
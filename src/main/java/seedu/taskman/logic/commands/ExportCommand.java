@@ -0,0 +1,52 @@
+package seedu.taskman.logic.commands;
+
+import seedu.taskman.commons.core.EventsCenter;
+import seedu.taskman.commons.events.ui.NewResultAvailableEvent;
+import seedu.taskman.logic.exporter.ActivityExporter;
+import seedu.taskman.model.event.Activity;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the listed activities to a CSV or iCalendar file in the background.
+ */
+public class ExportCommand extends Command {
+
+    public static final String COMMAND_WORD = "export";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Writes the listed tasks and events to a file, "
+            + "as csv or ics (iCalendar).\n"
+            + "Parameters: FORMAT FILE\n"
+            + "Example: " + COMMAND_WORD + " ics data/calendar.ics";
+
+    public static final String MESSAGE_STARTED = "Exporting %1$d activities to %2$s";
+    public static final String MESSAGE_SUCCESS = "Exported %1$d activities to %2$s";
+    public static final String MESSAGE_FAILED = "Failed to export to %1$s: %2$s";
+
+    private final ActivityExporter.Format format;
+    private final File file;
+
+    public ExportCommand(ActivityExporter.Format format, String filePath) {
+        this.format = format;
+        this.file = new File(filePath);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public CommandResult execute() {
+        assert model != null;
+        // activities are replaced rather than changed, so a copy of the list is a consistent snapshot
+        List<Activity> snapshot = new ArrayList<>(model.getFilteredActivityList());
+        new ActivityExporter().exportInBackground(snapshot, format, file).whenComplete((count, error) ->
+                EventsCenter.getInstance().post(new NewResultAvailableEvent(error == null
+                        ? String.format(MESSAGE_SUCCESS, count, file)
+                        : String.format(MESSAGE_FAILED, file, error.getCause()))));
+        return new CommandResult(String.format(MESSAGE_STARTED, snapshot.size(), file));
+    }
+}
@@ -18,6 +18,11 @@ public class HelpCommand extends Command {
 
     public HelpCommand() {}
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public CommandResult execute() {
         EventsCenter.getInstance().post(new ShowHelpRequestEvent());
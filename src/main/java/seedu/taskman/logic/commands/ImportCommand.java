@@ -0,0 +1,51 @@
+package seedu.taskman.logic.commands;
+
+import seedu.taskman.commons.exceptions.IllegalValueException;
+import seedu.taskman.logic.importer.ActivityImporter;
+import seedu.taskman.logic.importer.ImportResult;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Adds the activities in a CSV or iCalendar file to the task man.
+ */
+public class ImportCommand extends Command {
+
+    public static final String COMMAND_WORD = "import";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Adds the tasks and events in a .csv or .ics file "
+            + "to TaskMan.\n"
+            + "Parameters: FILE\n"
+            + "Example: " + COMMAND_WORD + " data/calendar.ics";
+
+    public static final String MESSAGE_SUCCESS = "Imported %1$d activities from %2$s (%3$d invalid, %4$d duplicates)"
+            + " in %5$d ms, %6$d records/s";
+    public static final String MESSAGE_FILE_NOT_FOUND = "File not found: %1$s";
+    public static final String MESSAGE_READ_FAILED = "Failed to read %1$s: %2$s";
+
+    private final File file;
+
+    public ImportCommand(String filePath) {
+        this.file = new File(filePath);
+    }
+
+    @Override
+    public CommandResult execute() {
+        assert model != null;
+        if (!file.isFile()) {
+            return new CommandResult(String.format(MESSAGE_FILE_NOT_FOUND, file), false);
+        }
+        try {
+            ImportResult result = new ActivityImporter().importFile(file);
+            int duplicates = model.addActivities(result.getActivities());
+            return new CommandResult(String.format(MESSAGE_SUCCESS,
+                    result.getActivities().size() - duplicates, file, result.getInvalidCount(), duplicates,
+                    result.getMillis(), result.getRecordsPerSecond()));
+        } catch (IllegalValueException e) {
+            return new CommandResult(String.format(MESSAGE_READ_FAILED, file, e.getMessage()), false);
+        } catch (IOException e) {
+            return new CommandResult(String.format(MESSAGE_READ_FAILED, file, e), false);
+        }
+    }
+}
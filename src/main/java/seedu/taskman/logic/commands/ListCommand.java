@@ -34,6 +34,11 @@ public class ListCommand extends Command {
         this.tagNames = tags;
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public CommandResult execute() {
         model.updateFilteredActivityList(filterMode, keywords, tagNames);
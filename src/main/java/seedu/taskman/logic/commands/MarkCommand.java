@@ -56,7 +56,7 @@ public class MarkCommand extends Command {
             model.addEvent(toAdd);
             return new CommandResult(String.format(MESSAGE_SUCCESS, toAdd));
         } catch (UniqueActivityList.DuplicateActivityException e) {
-            return new CommandResult(MESSAGE_DUPLICATE_EVENT);
+            return new CommandResult(MESSAGE_DUPLICATE_EVENT, false);
         }
 
     }
@@ -0,0 +1,97 @@
+package seedu.taskman.logic.commands;
+
+import seedu.taskman.logic.parser.CommandParser;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the commands in a file, one per line, as a single change to the task man.
+ * The data is saved once, after the last command, however many commands change it.
+ */
+public class RunCommand extends Command {
+
+    public static final String COMMAND_WORD = "run";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Runs the commands in a file, one per line. "
+            + "Empty lines and lines starting with # are skipped.\n"
+            + "Parameters: FILE\n"
+            + "Example: " + COMMAND_WORD + " scripts/weekly-chores.txt";
+
+    public static final String MESSAGE_SUCCESS = "Ran %1$d commands from %2$s in %3$d ms, %4$d commands/s"
+            + " (%5$d failed)";
+    public static final String MESSAGE_LINE_FAILED = "Line %1$d: %2$s";
+    public static final String MESSAGE_MORE_LINES_FAILED = "... and %1$d more failed lines";
+    public static final String MESSAGE_NOT_IN_SCRIPT = "%1$s cannot be used in a file of commands";
+    public static final String MESSAGE_FILE_NOT_FOUND = "File not found: %1$s";
+    public static final String MESSAGE_READ_FAILED = "Failed to read %1$s after line %2$d: %3$s";
+
+    static final String COMMENT_PREFIX = "#";
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    private final File file;
+    private final CommandParser commandParser = new CommandParser();
+
+    public RunCommand(String filePath) {
+        this.file = new File(filePath);
+    }
+
+    @Override
+    public CommandResult execute() {
+        assert model != null;
+        if (!file.isFile()) {
+            return new CommandResult(String.format(MESSAGE_FILE_NOT_FOUND, file), false);
+        }
+
+        StringBuilder failures = new StringBuilder();
+        int commandCount = 0;
+        int failureCount = 0;
+        int lineNumber = 0;
+        long startTime = System.nanoTime();
+        model.beginChanges();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                String commandText = line.trim();
+                if (commandText.isEmpty() || commandText.startsWith(COMMENT_PREFIX)) {
+                    continue;
+                }
+                commandCount++;
+                CommandResult result = executeLine(commandText);
+                if (!result.isSuccessful) {
+                    failureCount++;
+                    if (failureCount <= MAX_REPORTED_FAILURES) {
+                        failures.append('\n').append(String.format(MESSAGE_LINE_FAILED, lineNumber,
+                                result.feedbackToUser));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return new CommandResult(String.format(MESSAGE_READ_FAILED, file, lineNumber, e), false);
+        } finally {
+            model.commitChanges();
+        }
+        long nanos = Math.max(1, System.nanoTime() - startTime);
+
+        if (failureCount > MAX_REPORTED_FAILURES) {
+            failures.append('\n').append(String.format(MESSAGE_MORE_LINES_FAILED,
+                    failureCount - MAX_REPORTED_FAILURES));
+        }
+        return new CommandResult(String.format(MESSAGE_SUCCESS, commandCount, file,
+                TimeUnit.NANOSECONDS.toMillis(nanos), commandCount * TimeUnit.SECONDS.toNanos(1) / nanos,
+                failureCount) + failures, failureCount == 0);
+    }
+
+    private CommandResult executeLine(String commandText) {
+        Command command = commandParser.parseCommand(commandText);
+        if (command instanceof RunCommand || command instanceof ExitCommand) {
+            return new CommandResult(String.format(MESSAGE_NOT_IN_SCRIPT, commandText.split("\\s+")[0]), false);
+        }
+        command.setData(model);
+        return command.execute();
+    }
+}
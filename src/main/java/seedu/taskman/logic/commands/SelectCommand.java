@@ -26,6 +26,11 @@ public class SelectCommand extends Command {
         this.targetIndex = targetIndex;
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public CommandResult execute() {
 
@@ -33,7 +38,7 @@ public class SelectCommand extends Command {
 
         if (lastShownList.size() < targetIndex) {
             indicateAttemptToExecuteIncorrectCommand();
-            return new CommandResult(Messages.MESSAGE_INVALID_EVENT_DISPLAYED_INDEX);
+            return new CommandResult(Messages.MESSAGE_INVALID_EVENT_DISPLAYED_INDEX, false);
         }
 
         EventsCenter.getInstance().post(new JumpToListRequestEvent(targetIndex - 1));
@@ -0,0 +1,268 @@
+package seedu.taskman.logic.exporter;
+
+import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.util.FileUtil;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Frequency;
+import seedu.taskman.model.event.Schedule;
+import seedu.taskman.model.tag.Tag;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes activities to CSV or iCalendar files, in the formats {@code import} reads.
+ *
+ * Activities are written one at a time through a buffered writer, so exporting needs no memory beyond the list
+ * of activities given. Exports run one after another on a background thread.
+ */
+public class ActivityExporter {
+
+    private static final Logger logger = LogsCenter.getLogger(ActivityExporter.class);
+
+    public enum Format {
+        CSV,
+        ICS;
+
+        /**
+         * Returns the format with the given name, e.g. {@code csv}, or empty if there is none.
+         */
+        public static Optional<Format> of(String name) {
+            switch (name.toLowerCase(Locale.ROOT)) {
+                case "csv":
+                    return Optional.of(CSV);
+                case "ics":
+                case "ical":
+                case "icalendar":
+                    return Optional.of(ICS);
+                default:
+                    return Optional.empty();
+            }
+        }
+    }
+
+    static final String CSV_HEADER = "type,title,deadline,start,end,frequency,status,tags";
+    private static final DateTimeFormatter ICS_DATE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final int ICS_MAX_LINE_LENGTH = 75;
+    private static final long[] ICS_FREQUENCY_SECONDS = {7 * 24 * 60 * 60, 24 * 60 * 60, 60 * 60, 60, 1};
+    private static final String[] ICS_FREQUENCY_NAMES = {"WEEKLY", "DAILY", "HOURLY", "MINUTELY", "SECONDLY"};
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TaskMan export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Waits until the exports started so far have been written and their completion handlers have run.
+     */
+    public static void awaitBackgroundExports() throws InterruptedException {
+        try {
+            executor.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            assert false : "Unexpected exception " + e.getMessage();
+        }
+    }
+
+    /**
+     * Writes the activities to the file on the background thread. The file is only replaced once all activities
+     * are written, and is gzip-compressed if its name ends in .gz.
+     * The activities must not change while they are written, e.g. be a copy of the list shown.
+     *
+     * @return completes with the number of activities written, or exceptionally with the IOException
+     */
+    public CompletableFuture<Integer> exportInBackground(List<Activity> activities, Format format, File file) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                long startTime = System.nanoTime();
+                exportFile(activities, format, file);
+                logger.info("Exported " + activities.size() + " activities to " + file + " in "
+                        + (System.nanoTime() - startTime) / 1000000 + " ms");
+                return activities.size();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Writes the activities to the file through a temporary file next to it.
+     */
+    public void exportFile(List<Activity> activities, Format format, File file) throws IOException {
+        File absoluteFile = file.getAbsoluteFile();
+        FileUtil.createParentDirsOfFile(absoluteFile);
+        File tempFile = new File(absoluteFile.getPath() + ".tmp");
+        try (OutputStream out = FileUtil.isGzipPath(absoluteFile)
+                ? new GZIPOutputStream(new FileOutputStream(tempFile))
+                : new FileOutputStream(tempFile);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            write(activities, format, writer);
+        } catch (IOException e) {
+            tempFile.delete();
+            throw e;
+        }
+        Files.move(tempFile.toPath(), absoluteFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Writes the activities in the format. Does not close the writer.
+     */
+    public void write(List<Activity> activities, Format format, Writer writer) throws IOException {
+        switch (format) {
+            case CSV: {
+                writeCsv(activities, writer);
+                break;
+            }
+            case ICS: {
+                writeIcs(activities, writer);
+                break;
+            }
+            default:
+                assert false : "Unknown export format " + format;
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(List<Activity> activities, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        for (Activity activity : activities) {
+            Optional<Schedule> schedule = activity.getSchedule();
+            List<String> values = new ArrayList<>();
+            values.add(activity.getType() == Activity.ActivityType.EVENT ? "event" : "task");
+            values.add(activity.getTitle().title);
+            values.add(activity.getDeadline().map(deadline -> toIsoString(deadline.epochSecond)).orElse(""));
+            values.add(schedule.map(s -> toIsoString(s.startEpochSecond)).orElse(""));
+            values.add(schedule.map(s -> toIsoString(s.endEpochSecond)).orElse(""));
+            values.add(activity.getFrequency().map(frequency -> frequency.seconds.toString()).orElse(""));
+            values.add(activity.getStatus().map(status -> status.completed ? "complete" : "incomplete").orElse(""));
+            values.add(getTagNames(activity, " "));
+
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(quoteCsv(values.get(i)));
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    private static String quoteCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static void writeIcs(List<Activity> activities, Writer writer) throws IOException {
+        String timestamp = ICS_DATE_TIME.format(Instant.now());
+        writeIcsLine(writer, "BEGIN:VCALENDAR");
+        writeIcsLine(writer, "VERSION:2.0");
+        writeIcsLine(writer, "PRODID:-//TaskMan//TaskMan//EN");
+        for (Activity activity : activities) {
+            boolean isEvent = activity.getType() == Activity.ActivityType.EVENT;
+            String component = isEvent ? "VEVENT" : "VTODO";
+            writeIcsLine(writer, "BEGIN:" + component);
+            writeIcsLine(writer, "UID:" + UUID.nameUUIDFromBytes(
+                    activity.getTitle().title.getBytes(StandardCharsets.UTF_8)) + "@taskman");
+            writeIcsLine(writer, "DTSTAMP:" + timestamp);
+            writeIcsLine(writer, "SUMMARY:" + escapeIcs(activity.getTitle().title));
+            Optional<Schedule> schedule = activity.getSchedule();
+            if (schedule.isPresent()) {
+                writeIcsLine(writer, "DTSTART:" + ICS_DATE_TIME.format(
+                        Instant.ofEpochSecond(schedule.get().startEpochSecond)));
+                writeIcsLine(writer, "DTEND:" + ICS_DATE_TIME.format(
+                        Instant.ofEpochSecond(schedule.get().endEpochSecond)));
+            }
+            if (activity.getDeadline().isPresent()) {
+                writeIcsLine(writer, "DUE:" + ICS_DATE_TIME.format(
+                        Instant.ofEpochSecond(activity.getDeadline().get().epochSecond)));
+            }
+            if (!isEvent) {
+                boolean isCompleted = activity.getStatus().map(status -> status.completed).orElse(false);
+                writeIcsLine(writer, "STATUS:" + (isCompleted ? "COMPLETED" : "NEEDS-ACTION"));
+            }
+            Optional<Frequency> frequency = activity.getFrequency();
+            if (frequency.isPresent() && frequency.get().seconds > 0) {
+                writeIcsLine(writer, "RRULE:" + toRecurrenceRule(frequency.get().seconds));
+            }
+            if (!activity.getTags().getInternalList().isEmpty()) {
+                writeIcsLine(writer, "CATEGORIES:" + getTagNames(activity, ","));
+            }
+            writeIcsLine(writer, "END:" + component);
+        }
+        writeIcsLine(writer, "END:VCALENDAR");
+    }
+
+    /**
+     * Writes the line, folded into lines of at most 75 characters as iCalendar requires.
+     */
+    private static void writeIcsLine(Writer writer, String line) throws IOException {
+        int start = 0;
+        int length = ICS_MAX_LINE_LENGTH;
+        while (line.length() - start > length) {
+            writer.write(line, start, length);
+            writer.write("\r\n ");
+            start += length;
+            length = ICS_MAX_LINE_LENGTH - 1;
+        }
+        writer.write(line, start, line.length() - start);
+        writer.write("\r\n");
+    }
+
+    private static String escapeIcs(String value) {
+        return value.replace("\\", "\\\\").replace(",", "\\,").replace(";", "\\;");
+    }
+
+    /**
+     * Returns the rule for repeating every given number of seconds, in the largest unit that divides it.
+     */
+    private static String toRecurrenceRule(long seconds) {
+        int unit = 0;
+        while (seconds % ICS_FREQUENCY_SECONDS[unit] != 0) {
+            unit++;
+        }
+        return "FREQ=" + ICS_FREQUENCY_NAMES[unit] + ";INTERVAL=" + seconds / ICS_FREQUENCY_SECONDS[unit];
+    }
+
+    private static String toIsoString(long epochSecond) {
+        return Instant.ofEpochSecond(epochSecond).toString();
+    }
+
+    private static String getTagNames(Activity activity, String separator) {
+        StringBuilder names = new StringBuilder();
+        for (Tag tag : activity.getTags()) {
+            if (names.length() > 0) {
+                names.append(separator);
+            }
+            names.append(tag.tagName);
+        }
+        return names.toString();
+    }
+
+}
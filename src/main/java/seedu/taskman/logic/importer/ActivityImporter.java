@@ -0,0 +1,110 @@
+package seedu.taskman.logic.importer;
+
+import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.exceptions.IllegalValueException;
+import seedu.taskman.commons.util.FileUtil;
+import seedu.taskman.model.event.Activity;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Reads activities from CSV ({@code .csv}) and iCalendar ({@code .ics}) files, optionally gzip-compressed.
+ *
+ * The file is read in batches of records, and the records of a batch are converted in parallel, as converting
+ * their dates takes most of the time. Records that cannot be converted are counted and skipped.
+ */
+public class ActivityImporter {
+
+    private static final Logger logger = LogsCenter.getLogger(ActivityImporter.class);
+    public static final String MESSAGE_UNSUPPORTED_FORMAT = "Only .csv and .ics files can be imported";
+    private static final int BATCH_SIZE = 4096;
+
+    /**
+     * Returns true if files with the name can be imported.
+     */
+    public static boolean isSupported(File file) {
+        return getExtension(file) != null;
+    }
+
+    /**
+     * Reads all activities from the file.
+     *
+     * @throws IllegalValueException if the file is not a supported format or is missing required columns
+     */
+    public ImportResult importFile(File file) throws IOException, IllegalValueException {
+        String extension = getExtension(file);
+        if (extension == null) {
+            throw new IllegalValueException(MESSAGE_UNSUPPORTED_FORMAT);
+        }
+
+        long startTime = System.nanoTime();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(FileUtil.openForReading(file), StandardCharsets.UTF_8))) {
+            RecordReader records = extension.equals("csv")
+                    ? new CsvRecordReader(reader)
+                    : new IcsRecordReader(reader);
+            List<Activity> activities = new ArrayList<>();
+            int recordCount = 0;
+            List<ImportRecord> batch = new ArrayList<>(BATCH_SIZE);
+            for (ImportRecord record = records.next(); record != null; record = records.next()) {
+                batch.add(record);
+                if (batch.size() == BATCH_SIZE) {
+                    recordCount += convert(batch, activities);
+                }
+            }
+            recordCount += convert(batch, activities);
+
+            ImportResult result = new ImportResult(activities, recordCount, System.nanoTime() - startTime);
+            logger.info("Read " + result.getActivities().size() + " of " + recordCount + " records from "
+                    + file + " in " + result.getMillis() + " ms");
+            return result;
+        }
+    }
+
+    /**
+     * Converts the batch in parallel, keeping its order, adds the activities converted and clears the batch.
+     *
+     * @return the number of records in the batch
+     */
+    private static int convert(List<ImportRecord> batch, List<Activity> activities) {
+        int size = batch.size();
+        batch.parallelStream()
+                .map(ActivityImporter::toActivity)
+                .collect(Collectors.toList())
+                .forEach(activity -> activity.ifPresent(activities::add));
+        batch.clear();
+        return size;
+    }
+
+    private static Optional<Activity> toActivity(ImportRecord record) {
+        try {
+            return Optional.of(record.toActivity());
+        } catch (IllegalValueException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the extension of the file without any .gz, in lower case, or null if the file is not supported.
+     */
+    private static String getExtension(File file) {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        if (name.endsWith(FileUtil.GZIP_EXTENSION)) {
+            name = name.substring(0, name.length() - FileUtil.GZIP_EXTENSION.length());
+        }
+        return name.endsWith(".csv") ? "csv"
+                : name.endsWith(".ics") ? "ics"
+                : null;
+    }
+
+}
@@ -0,0 +1,125 @@
+package seedu.taskman.logic.importer;
+
+import seedu.taskman.commons.exceptions.IllegalValueException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads records from comma-separated values, one row at a time.
+ *
+ * The first row names the columns: {@code title} (required), {@code type} ({@code task} by default, or
+ * {@code event}), {@code deadline}, {@code start}, {@code end}, {@code frequency}, {@code status} and
+ * {@code tags} (separated by spaces or semicolons), in any order and case. Other columns are ignored.
+ * Values may be quoted, with {@code ""} standing for a quote inside a quoted value.
+ */
+class CsvRecordReader implements RecordReader {
+
+    static final String MESSAGE_NO_TITLE_COLUMN = "The CSV file has no title column";
+
+    private final Reader reader;
+    private int next;
+    /** Column indexes by lower case name, null until the header is read */
+    private Map<String, Integer> columns;
+
+    CsvRecordReader(Reader reader) throws IOException {
+        this.reader = reader;
+        this.next = reader.read();
+    }
+
+    /**
+     * Returns the next record, or null at the end of the input.
+     *
+     * @throws IllegalValueException if the file has no title column
+     */
+    @Override
+    public ImportRecord next() throws IOException, IllegalValueException {
+        if (columns == null) {
+            readHeader();
+        }
+        List<String> row = readRow();
+        while (row != null && row.size() == 1 && row.get(0).trim().isEmpty()) {
+            row = readRow();
+        }
+        if (row == null) {
+            return null;
+        }
+
+        ImportRecord record = new ImportRecord();
+        record.title = get(row, "title");
+        record.isEvent = "event".equalsIgnoreCase(String.valueOf(get(row, "type")).trim());
+        record.deadline = get(row, "deadline");
+        record.scheduleStart = get(row, "start");
+        record.scheduleEnd = get(row, "end");
+        record.frequency = get(row, "frequency");
+        record.status = get(row, "status");
+        String tags = get(row, "tags");
+        if (tags != null && !tags.trim().isEmpty()) {
+            record.tags.addAll(Arrays.asList(tags.trim().split("[\\s;]+")));
+        }
+        return record;
+    }
+
+    private void readHeader() throws IOException, IllegalValueException {
+        columns = new HashMap<>();
+        List<String> header = readRow();
+        if (header == null) {
+            return;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IllegalValueException(MESSAGE_NO_TITLE_COLUMN);
+        }
+    }
+
+    private String get(List<String> row, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= row.size() ? null : row.get(index);
+    }
+
+    /**
+     * Returns the values of the next row, or null at the end of the input.
+     */
+    private List<String> readRow() throws IOException {
+        if (next == -1) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean isQuoted = false;
+        while (next != -1) {
+            char c = (char) next;
+            next = reader.read();
+            if (isQuoted) {
+                if (c == '"' && next == '"') {
+                    value.append('"');
+                    next = reader.read();
+                } else if (c == '"') {
+                    isQuoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                isQuoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+}
@@ -0,0 +1,162 @@
+package seedu.taskman.logic.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * Reads records from iCalendar (RFC 5545) data, one {@code VEVENT} or {@code VTODO} at a time.
+ *
+ * Events become events and to-dos become tasks. {@code SUMMARY} is the title, {@code CATEGORIES} the tags,
+ * {@code DTSTART}/{@code DTEND} the schedule and {@code DUE} the deadline. A simple {@code RRULE}
+ * is read as a frequency. Other components and properties are ignored.
+ */
+class IcsRecordReader implements RecordReader {
+
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final BufferedReader reader;
+    /** The line read ahead while unfolding, null at the end of the input */
+    private String nextLine;
+
+    IcsRecordReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        this.nextLine = reader.readLine();
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        ImportRecord record = null;
+        for (String line = readUnfoldedLine(); line != null; line = readUnfoldedLine()) {
+            if (line.equalsIgnoreCase("BEGIN:VEVENT") || line.equalsIgnoreCase("BEGIN:VTODO")) {
+                record = new ImportRecord();
+                record.isEvent = line.equalsIgnoreCase("BEGIN:VEVENT");
+            } else if (line.equalsIgnoreCase("END:VEVENT") || line.equalsIgnoreCase("END:VTODO")) {
+                if (record != null) {
+                    return record;
+                }
+            } else if (record != null) {
+                readProperty(record, line);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the next content line with continuation lines joined to it, or null at the end of the input.
+     */
+    private String readUnfoldedLine() throws IOException {
+        if (nextLine == null) {
+            return null;
+        }
+        StringBuilder line = new StringBuilder(nextLine);
+        nextLine = reader.readLine();
+        while (nextLine != null && !nextLine.isEmpty()
+                && (nextLine.charAt(0) == ' ' || nextLine.charAt(0) == '\t')) {
+            line.append(nextLine, 1, nextLine.length());
+            nextLine = reader.readLine();
+        }
+        return line.toString();
+    }
+
+    private static void readProperty(ImportRecord record, String line) {
+        int colon = line.indexOf(':');
+        if (colon < 0) {
+            return;
+        }
+        String[] nameAndParameters = line.substring(0, colon).split(";");
+        String name = nameAndParameters[0].toUpperCase(Locale.ROOT);
+        String value = line.substring(colon + 1);
+
+        switch (name) {
+            case "SUMMARY": {
+                record.title = unescape(value);
+                break;
+            }
+            case "CATEGORIES": {
+                for (String category : value.split("(?<!\\\\),")) {
+                    record.tags.add(unescape(category));
+                }
+                break;
+            }
+            case "DTSTART": {
+                readZone(record, nameAndParameters);
+                record.scheduleStart = value;
+                break;
+            }
+            case "DTEND": {
+                readZone(record, nameAndParameters);
+                record.scheduleEnd = value;
+                break;
+            }
+            case "DUE": {
+                readZone(record, nameAndParameters);
+                record.deadline = value;
+                break;
+            }
+            case "STATUS": {
+                record.status = value.equalsIgnoreCase("COMPLETED") ? "complete" : "incomplete";
+                break;
+            }
+            case "RRULE": {
+                long seconds = toFrequencySeconds(value);
+                if (seconds > 0) {
+                    record.frequency = Long.toString(seconds);
+                }
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private static void readZone(ImportRecord record, String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            if (parameters[i].toUpperCase(Locale.ROOT).startsWith("TZID=")) {
+                try {
+                    record.zone = ZoneId.of(parameters[i].substring("TZID=".length()).replace("\"", ""));
+                } catch (DateTimeException e) {
+                    // unknown zone names are left as UTC
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the period of a recurrence rule in seconds, or 0 if it has none.
+     * Months are taken as 30 days and years as 365 days.
+     */
+    static long toFrequencySeconds(String rule) {
+        long unit = 0;
+        long interval = 1;
+        for (String part : rule.split(";")) {
+            String[] keyAndValue = part.split("=", 2);
+            if (keyAndValue.length != 2) {
+                continue;
+            }
+            String key = keyAndValue[0].toUpperCase(Locale.ROOT);
+            String value = keyAndValue[1].toUpperCase(Locale.ROOT);
+            if (key.equals("FREQ")) {
+                unit = value.equals("SECONDLY") ? 1
+                        : value.equals("MINUTELY") ? 60
+                        : value.equals("HOURLY") ? 60 * 60
+                        : value.equals("DAILY") ? SECONDS_PER_DAY
+                        : value.equals("WEEKLY") ? 7 * SECONDS_PER_DAY
+                        : value.equals("MONTHLY") ? 30 * SECONDS_PER_DAY
+                        : value.equals("YEARLY") ? 365 * SECONDS_PER_DAY
+                        : 0;
+            } else if (key.equals("INTERVAL") && value.matches("[1-9][0-9]{0,8}")) {
+                interval = Long.parseLong(value);
+            }
+        }
+        return unit * interval;
+    }
+
+    private static String unescape(String value) {
+        return value.replace("\\n", " ").replace("\\N", " ")
+                .replace("\\,", ",").replace("\\;", ";").replace("\\\\", "\\");
+    }
+
+}
@@ -0,0 +1,136 @@
+package seedu.taskman.logic.importer;
+
+import seedu.taskman.commons.exceptions.IllegalValueException;
+import seedu.taskman.logic.parser.DateTimeParser;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Deadline;
+import seedu.taskman.model.event.Event;
+import seedu.taskman.model.event.Frequency;
+import seedu.taskman.model.event.Schedule;
+import seedu.taskman.model.event.Status;
+import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.Title;
+import seedu.taskman.model.tag.Tag;
+import seedu.taskman.model.tag.UniqueTagList;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The raw values of one activity read from an imported file, not checked or converted yet.
+ * Converting records is independent of other records, so records can be converted in parallel.
+ */
+class ImportRecord {
+
+    private static final Pattern INVALID_TITLE_CHARACTERS = Pattern.compile("[^\\p{Alnum} ]+");
+    private static final Pattern INVALID_TAG_CHARACTERS = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final DateTimeFormatter BASIC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter SPACED_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]");
+
+    boolean isEvent;
+    String title;
+    String deadline;
+    String scheduleStart;
+    String scheduleEnd;
+    /** A number of seconds or a duration in natural language */
+    String frequency;
+    String status;
+    final List<String> tags = new ArrayList<>();
+    /** The zone of date times without one, e.g. from an iCalendar TZID */
+    ZoneId zone = ZoneOffset.UTC;
+
+    /**
+     * Converts the record into an activity. Characters not allowed in titles and tags are dropped.
+     *
+     * @throws IllegalValueException if the record violates any data constraints
+     */
+    Activity toActivity() throws IllegalValueException {
+        if (title == null) {
+            throw new IllegalValueException(Title.MESSAGE_TITLE_CONSTRAINTS);
+        }
+        final Title title = new Title(WHITESPACE.matcher(INVALID_TITLE_CHARACTERS.matcher(this.title).replaceAll(" "))
+                .replaceAll(" "));
+        final Set<Tag> tagSet = new HashSet<>();
+        for (String tag : tags) {
+            String cleaned = INVALID_TAG_CHARACTERS.matcher(tag).replaceAll("");
+            if (!cleaned.isEmpty()) {
+                tagSet.add(new Tag(cleaned));
+            }
+        }
+        final UniqueTagList tags = new UniqueTagList(tagSet);
+        final Schedule schedule = isBlank(scheduleStart)
+                ? null
+                : new Schedule(toEpochSecond(scheduleStart),
+                        isBlank(scheduleEnd) ? toEpochSecond(scheduleStart) : toEpochSecond(scheduleEnd));
+        final Frequency frequency = isBlank(this.frequency) ? null : toFrequency(this.frequency.trim());
+
+        if (isEvent) {
+            return new Activity(new Event(title, tags, schedule, frequency));
+        }
+        final Deadline deadline = isBlank(this.deadline) ? null : new Deadline(toEpochSecond(this.deadline));
+        Task task = new Task(title, tags, deadline, schedule, frequency);
+        if (!isBlank(status)) {
+            // also accept statuses as TaskMan displays them
+            task.setStatus(new Status(status.trim().equalsIgnoreCase("completed") ? "complete" : status));
+        }
+        return new Activity(task);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Converts a date time to unix time (seconds). ISO-8601 and iCalendar date times are converted directly;
+     * anything else is read as natural language, like dates typed into commands.
+     */
+    long toEpochSecond(String value) throws IllegalValueException {
+        String trimmed = value.trim();
+        try {
+            if (trimmed.endsWith("Z") && trimmed.length() == 16) {
+                return LocalDateTime.parse(trimmed.substring(0, 15), BASIC_DATE_TIME).toEpochSecond(ZoneOffset.UTC);
+            }
+            if (trimmed.length() == 15 && trimmed.charAt(8) == 'T') {
+                return LocalDateTime.parse(trimmed, BASIC_DATE_TIME).atZone(zone).toEpochSecond();
+            }
+            if (trimmed.length() == 8) {
+                return LocalDate.parse(trimmed, BASIC_DATE).atStartOfDay(zone).toEpochSecond();
+            }
+            if (trimmed.length() == 10 && trimmed.charAt(4) == '-') {
+                return LocalDate.parse(trimmed).atStartOfDay(zone).toEpochSecond();
+            }
+            if (trimmed.length() >= 16 && trimmed.charAt(4) == '-' && trimmed.charAt(10) == ' ') {
+                return LocalDateTime.parse(trimmed, SPACED_DATE_TIME).atZone(zone).toEpochSecond();
+            }
+            if (trimmed.length() >= 16 && trimmed.charAt(4) == '-' && trimmed.charAt(10) == 'T') {
+                char last = trimmed.charAt(trimmed.length() - 1);
+                return last == 'Z' || trimmed.lastIndexOf('+') > 10 || trimmed.lastIndexOf('-') > 10
+                        ? OffsetDateTime.parse(trimmed).toEpochSecond()
+                        : LocalDateTime.parse(trimmed).atZone(zone).toEpochSecond();
+            }
+        } catch (DateTimeParseException e) {
+            throw new IllegalValueException("Invalid date time: " + trimmed);
+        }
+        return DateTimeParser.getUnixTime(trimmed);
+    }
+
+    private static Frequency toFrequency(String value) throws IllegalValueException {
+        if (value.matches("[0-9]{1,18}")) {
+            return new Frequency(Long.parseLong(value));
+        }
+        return new Frequency(value);
+    }
+
+}
@@ -0,0 +1,46 @@
+package seedu.taskman.logic.importer;
+
+import seedu.taskman.model.event.Activity;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The activities read from an imported file, and how many records were read and how fast.
+ */
+public class ImportResult {
+
+    private final List<Activity> activities;
+    private final int recordCount;
+    private final long nanos;
+
+    ImportResult(List<Activity> activities, int recordCount, long nanos) {
+        this.activities = Collections.unmodifiableList(activities);
+        this.recordCount = recordCount;
+        this.nanos = nanos;
+    }
+
+    /** The activities converted, in the order of the file */
+    public List<Activity> getActivities() {
+        return activities;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /** The number of records that could not be converted into activities */
+    public int getInvalidCount() {
+        return recordCount - activities.size();
+    }
+
+    public long getMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public long getRecordsPerSecond() {
+        return nanos == 0 ? 0 : recordCount * TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+}
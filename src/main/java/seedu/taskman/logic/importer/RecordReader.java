@@ -0,0 +1,19 @@
+package seedu.taskman.logic.importer;
+
+import seedu.taskman.commons.exceptions.IllegalValueException;
+
+import java.io.IOException;
+
+/**
+ * Reads the records of an imported file one at a time, so that the whole file is never held in memory.
+ */
+interface RecordReader {
+
+    /**
+     * Returns the next record, or null at the end of the input.
+     *
+     * @throws IllegalValueException if the file is not in the expected format
+     */
+    ImportRecord next() throws IOException, IllegalValueException;
+
+}
@@ -0,0 +1,181 @@
+package seedu.taskman.logic.parser;
+
+import seedu.taskman.commons.exceptions.IllegalValueException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Splits command arguments into the preamble and the values of prefixed arguments, e.g.
+ * {@code pay bills d/tmr 2359 t/bills t/home} into the preamble {@code pay bills}, {@code d/} with
+ * {@code tmr 2359} and {@code t/} with {@code bills} and {@code home}.
+ *
+ * The arguments are read once from left to right, so tokenizing takes time linear in their length whatever they
+ * contain. A prefix is only recognized at the start of a word. Words that look like prefixes, i.e. letters followed
+ * by {@code /}, are reserved for prefixes, so one that is not expected by the command is an error. Values may
+ * contain {@code /} elsewhere, e.g. in {@code 07/05/16}.
+ */
+class ArgumentTokenizer {
+
+    public static final String MESSAGE_UNEXPECTED_PREFIX = "Unexpected argument %1$s";
+    public static final String MESSAGE_REPEATED_PREFIX = "%1$s can only be given once";
+    public static final String MESSAGE_EMPTY_VALUE = "%1$s needs a value";
+
+    /**
+     * The prefixes of command arguments.
+     */
+    enum Prefix {
+        DEADLINE("d/", false),
+        SCHEDULE("s/", false),
+        FREQUENCY("f/", false),
+        STATUS("c/", false),
+        TAG("t/", true);
+
+        public final String prefix;
+        /** True if the argument may be given more than once */
+        public final boolean isRepeatable;
+
+        Prefix(String prefix, boolean isRepeatable) {
+            this.prefix = prefix;
+            this.isRepeatable = isRepeatable;
+        }
+
+        @Override
+        public String toString() {
+            return prefix;
+        }
+    }
+
+    /**
+     * The preamble and the values of each prefix, trimmed, in the order given.
+     */
+    static class Arguments {
+        private final String preamble;
+        private final Map<Prefix, List<String>> values;
+
+        private Arguments(String preamble, Map<Prefix, List<String>> values) {
+            this.preamble = preamble;
+            this.values = values;
+        }
+
+        /** The text before the first prefix, empty if there is none */
+        public String getPreamble() {
+            return preamble;
+        }
+
+        public Optional<String> getValue(Prefix prefix) {
+            List<String> prefixValues = values.get(prefix);
+            return prefixValues == null ? Optional.empty() : Optional.of(prefixValues.get(0));
+        }
+
+        /** Returns the value of the prefix, or null if it is not given */
+        public String getValueOrNull(Prefix prefix) {
+            return getValue(prefix).orElse(null);
+        }
+
+        public List<String> getAllValues(Prefix prefix) {
+            List<String> prefixValues = values.get(prefix);
+            return prefixValues == null ? Collections.emptyList() : Collections.unmodifiableList(prefixValues);
+        }
+
+        public boolean isPresent(Prefix prefix) {
+            return values.containsKey(prefix);
+        }
+    }
+
+    private ArgumentTokenizer() {}
+
+    /**
+     * Tokenizes the arguments, expecting only the given prefixes.
+     *
+     * @throws IllegalValueException if another prefix is given, a prefix that cannot be repeated is repeated,
+     *                               or a prefix has no value
+     */
+    static Arguments tokenize(String args, Set<Prefix> expected) throws IllegalValueException {
+        Map<Prefix, List<String>> values = new EnumMap<>(Prefix.class);
+        String preamble = null;
+        Prefix current = null;
+        int valueStart = 0;
+        int length = args.length();
+        int i = 0;
+        while (i < length) {
+            boolean isWordStart = i == 0 || Character.isWhitespace(args.charAt(i - 1));
+            if (!isWordStart) {
+                i++;
+                continue;
+            }
+            int prefixEnd = getPrefixEnd(args, i);
+            if (prefixEnd < 0) {
+                i++;
+                continue;
+            }
+            Prefix found = findPrefix(args, i, prefixEnd, expected);
+            if (found == null) {
+                throw new IllegalValueException(String.format(MESSAGE_UNEXPECTED_PREFIX, args.substring(i, prefixEnd)));
+            }
+
+            String value = args.substring(valueStart, i).trim();
+            if (current == null) {
+                preamble = value;
+            } else {
+                addValue(values, current, value);
+            }
+            current = found;
+            valueStart = prefixEnd;
+            i = prefixEnd;
+        }
+
+        String value = args.substring(valueStart).trim();
+        if (current == null) {
+            preamble = value;
+        } else {
+            addValue(values, current, value);
+        }
+        return new Arguments(preamble, values);
+    }
+
+    /**
+     * Returns the index after the "/" if a prefix-like word (letters then "/") starts at the index, or -1.
+     */
+    private static int getPrefixEnd(String args, int start) {
+        int i = start;
+        while (i < args.length() && isAsciiLetter(args.charAt(i))) {
+            i++;
+        }
+        return i > start && i < args.length() && args.charAt(i) == '/' ? i + 1 : -1;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static Prefix findPrefix(String args, int start, int end, Set<Prefix> expected) {
+        for (Prefix prefix : expected) {
+            if (end - start == prefix.prefix.length() && args.startsWith(prefix.prefix, start)) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+    private static void addValue(Map<Prefix, List<String>> values, Prefix prefix, String value)
+            throws IllegalValueException {
+        if (value.isEmpty()) {
+            throw new IllegalValueException(String.format(MESSAGE_EMPTY_VALUE, prefix));
+        }
+        List<String> prefixValues = values.get(prefix);
+        if (prefixValues == null) {
+            prefixValues = new ArrayList<>(1);
+            values.put(prefix, prefixValues);
+        } else if (!prefix.isRepeatable) {
+            throw new IllegalValueException(String.format(MESSAGE_REPEATED_PREFIX, prefix));
+        }
+        prefixValues.add(value);
+    }
+
+}
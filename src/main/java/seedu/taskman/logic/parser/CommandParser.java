@@ -3,6 +3,9 @@ package seedu.taskman.logic.parser;
 import seedu.taskman.commons.exceptions.IllegalValueException;
 import seedu.taskman.commons.util.StringUtil;
 import seedu.taskman.logic.commands.*;
+import seedu.taskman.logic.exporter.ActivityExporter;
+import seedu.taskman.logic.parser.ArgumentTokenizer.Arguments;
+import seedu.taskman.logic.parser.ArgumentTokenizer.Prefix;
 import seedu.taskman.model.Model;
 import seedu.taskman.model.Model.FilterMode;
 
@@ -23,7 +26,10 @@ public class CommandParser {
      */
     private static final Pattern BASIC_COMMAND_FORMAT = Pattern.compile("(?<commandWord>\\S+)(?<arguments>.*)");
 
-    private static final Pattern TASK_INDEX_ARGS_FORMAT = Pattern.compile(Argument.TARGET_INDEX.pattern);
+    private static final Pattern TASK_INDEX_ARGS_FORMAT = Pattern.compile("(?<targetIndex>[0-9]+)");
+
+    /** Index numbers and ranges of them, e.g. 3-40,52 */
+    private static final Pattern TASK_INDEXES_ARGS_FORMAT = Pattern.compile("[0-9]+(-[0-9]+)?(,[0-9]+(-[0-9]+)?)*");
 
     private enum ListFlag{
         LIST_SCHEDULE("s/", FilterMode.SCHEDULE_ONLY),
@@ -38,71 +44,22 @@ public class CommandParser {
             this.flag = flag;
             this.filterMode = filterMode;
         }
-        
-        public static String get_Pattern(){
-            ListFlag[] values = ListFlag.values();
-            if(values.length == 0){
-                return "";
-            }
-            StringBuilder builder = new StringBuilder();
-            for(int i = 0; i< values.length; i++){
-                if(i != 0){
-                    builder.append('|');
-                }
-                builder.append("(?:");
-                builder.append(values[i].flag);
-                builder.append(")");
-            }
-            return builder.toString();
-        }
-    }
-    
-    private static final Pattern LIST_ARGS_FORMAT = Pattern.compile("(?<filter>" + ListFlag.get_Pattern() + ")?" +
-                    "(?<keywords>(?:\\s*[^/]+)*?)??(?<tagArguments>(?:\\s*t/[^/]+)*)?"); // one or more keywords separated by whitespace
-
-    private enum Argument{
-        TARGET_INDEX("(?<targetIndex>[0-9]+)"),
-        TITLE("(?<title>[^/]+)"),
-        DEADLINE("(?:\\s+d/(?<deadline>[^/]+))?"),
-        SCHEDULE("(?:\\s+s/(?<schedule>[^/]+))?"),
-        STATUS("(?:\\s+c/(?<status>[^/]+))?"),
-        FREQUENCY("(?:\\s+f/(?<frequency>[^/]+))?"),
-        TAG("(?<tagArguments>(?:\\s*t/[^/]+)*)?");
-        
-        private final String pattern;
-        
-        Argument(String pattern){
-            this.pattern = pattern;
-        }
-        
-        @Override
-        public String toString(){
-            return pattern;
-        }
     }
-    
-    private static final Pattern TASK_DO_ARGS_FORMAT = // '/' forward slashes are reserved for delimiter prefixes
-            Pattern.compile("" + Argument.TITLE
-                    + Argument.DEADLINE
-                    + Argument.SCHEDULE
-                    + Argument.FREQUENCY
-                    + Argument.TAG); // variable number of tags
-    
-    private static final Pattern EVENT_MARK_ARGS_FORMAT = // '/' forward slashes are reserved for delimiter prefixes
-            Pattern.compile("" + Argument.TITLE
-                    + Argument.SCHEDULE
-                    + Argument.FREQUENCY
-                    + Argument.TAG); // variable number of tags
-
-    // TODO: All fields currently compulsory
-    private static final Pattern TASK_EDIT_ARGS_FORMAT = // '/' forward slashes are reserved for delimiter prefixes
-            Pattern.compile("" + Argument.TARGET_INDEX
-                    + Argument.TITLE + "?"
-                    + Argument.DEADLINE
-                    + Argument.STATUS
-                    + Argument.SCHEDULE
-                    + Argument.FREQUENCY
-                    + Argument.TAG); // variable number of tags
+
+    private static final Set<Prefix> DO_PREFIXES =
+            EnumSet.of(Prefix.DEADLINE, Prefix.SCHEDULE, Prefix.FREQUENCY, Prefix.TAG);
+    private static final Set<Prefix> MARK_PREFIXES = EnumSet.of(Prefix.SCHEDULE, Prefix.FREQUENCY, Prefix.TAG);
+    private static final Set<Prefix> EDIT_PREFIXES =
+            EnumSet.of(Prefix.DEADLINE, Prefix.STATUS, Prefix.SCHEDULE, Prefix.FREQUENCY, Prefix.TAG);
+    private static final Set<Prefix> LIST_PREFIXES = EnumSet.of(Prefix.TAG);
+
+    private static final Set<String> COMMAND_WORDS = new HashSet<>(Arrays.asList(
+            DoCommand.COMMAND_WORD, MarkCommand.COMMAND_WORD, EditCommand.COMMAND_WORD, CompleteCommand.COMMAND_WORD,
+            SelectCommand.COMMAND_WORD, DeleteCommand.COMMAND_WORD, ClearCommand.COMMAND_WORD,
+            ImportCommand.COMMAND_WORD, RunCommand.COMMAND_WORD, ExportCommand.COMMAND_WORD,
+            ListCommand.COMMAND_WORD, ExitCommand.COMMAND_WORD, HelpCommand.COMMAND_WORD));
+
+    private static final Pattern EXPORT_ARGS_FORMAT = Pattern.compile("(?<format>\\S+)\\s+(?<file>.+)");
 
     public CommandParser() {}
 
@@ -113,6 +70,10 @@ public class CommandParser {
      * @return the command based on the user input
      */
     public Command parseCommand(String userInput) {
+        Optional<String[]> chain = splitChain(userInput);
+        if (chain.isPresent()) {
+            return prepareChain(chain.get());
+        }
         final Matcher matcher = BASIC_COMMAND_FORMAT.matcher(userInput.trim());
         if (!matcher.matches()) {
             return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, HelpCommand.MESSAGE_USAGE));
@@ -143,6 +104,15 @@ public class CommandParser {
             case ClearCommand.COMMAND_WORD:
                 return new ClearCommand();
 
+            case ImportCommand.COMMAND_WORD:
+                return prepareImport(arguments);
+
+            case RunCommand.COMMAND_WORD:
+                return prepareRun(arguments);
+
+            case ExportCommand.COMMAND_WORD:
+                return prepareExport(arguments);
+
             case ListCommand.COMMAND_WORD:
                 return prepareList(arguments);
 
@@ -164,18 +134,22 @@ public class CommandParser {
      * @return the prepared command
      */
     private Command prepareDo(String args){
-        final Matcher matcher = TASK_DO_ARGS_FORMAT.matcher(args.trim());
-        // Validate arg string format
-        if (!matcher.matches()) {
+        final Arguments arguments;
+        try {
+            arguments = ArgumentTokenizer.tokenize(args, DO_PREFIXES);
+        } catch (IllegalValueException ive) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, DoCommand.MESSAGE_USAGE));
+        }
+        if (arguments.getPreamble().isEmpty()) {
             return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, DoCommand.MESSAGE_USAGE));
         }
         try {
             return new DoCommand(
-                    matcher.group("title"),
-                    matcher.group("deadline"),
-                    matcher.group("schedule"),
-                    matcher.group("frequency"),
-                    getTagsFromArgs(matcher.group("tagArguments"))
+                    arguments.getPreamble(),
+                    arguments.getValueOrNull(Prefix.DEADLINE),
+                    arguments.getValueOrNull(Prefix.SCHEDULE),
+                    arguments.getValueOrNull(Prefix.FREQUENCY),
+                    getTags(arguments)
             );
         } catch (IllegalValueException ive) {
             return new IncorrectCommand(ive.getMessage());
@@ -189,17 +163,21 @@ public class CommandParser {
      * @return the prepared command
      */
     private Command prepareMark(String args){
-        final Matcher matcher = EVENT_MARK_ARGS_FORMAT.matcher(args.trim());
-        // Validate arg string format
-        if (!matcher.matches()) {
+        final Arguments arguments;
+        try {
+            arguments = ArgumentTokenizer.tokenize(args, MARK_PREFIXES);
+        } catch (IllegalValueException ive) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, MarkCommand.MESSAGE_USAGE));
+        }
+        if (arguments.getPreamble().isEmpty()) {
             return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, MarkCommand.MESSAGE_USAGE));
         }
         try {
             return new MarkCommand(
-                    matcher.group("title"),
-                    matcher.group("schedule"),
-                    matcher.group("frequency"),
-                    getTagsFromArgs(matcher.group("tagArguments"))
+                    arguments.getPreamble(),
+                    arguments.getValueOrNull(Prefix.SCHEDULE),
+                    arguments.getValueOrNull(Prefix.FREQUENCY),
+                    getTags(arguments)
             );
         } catch (IllegalValueException ive) {
             return new IncorrectCommand(ive.getMessage());
@@ -207,53 +185,54 @@ public class CommandParser {
     }
 
     /**
-     * Extracts the new task's tags from the add command's tag arguments string.
-     * Merges duplicate tag strings.
+     * Returns the tags given in the arguments. Merges duplicate tag strings.
      */
-    private static Set<String> getTagsFromArgs(String tagArguments) throws IllegalValueException {
-        // no tags
-        if (tagArguments.isEmpty()) {
-            return Collections.emptySet();
-        }
-        // replace first delimiter prefix, then split
-        final Collection<String> tagStrings = Arrays.asList(tagArguments.replaceFirst("t/", "").split(" t/"));
-        return new HashSet<>(tagStrings);
+    private static Set<String> getTags(Arguments arguments) {
+        return new HashSet<>(arguments.getAllValues(Prefix.TAG));
     }
 
     private Command prepareEdit(String args) {
-        final Matcher matcher = TASK_EDIT_ARGS_FORMAT.matcher(args.trim());
-
-        if (!matcher.matches()) {
+        final Arguments arguments;
+        try {
+            arguments = ArgumentTokenizer.tokenize(args, EDIT_PREFIXES);
+        } catch (IllegalValueException ive) {
             return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, EditCommand.MESSAGE_USAGE));
         }
 
-        String indexString = matcher.group("targetIndex").trim();
-        int index = Integer.parseInt(indexString);
-
-        try {
-            String tags = matcher.group("tagArguments");
-            return new EditCommand(
-                    index,
-                    matcher.group("title"),
-                    matcher.group("deadline"),
-                    matcher.group("status"),
-                    matcher.group("schedule"),
-                    matcher.group("frequency"),
-                    tags.isEmpty() ? null : getTagsFromArgs(tags));
-        } catch (IllegalValueException ive) {
-            return new IncorrectCommand(ive.getMessage());
+        // the preamble is the index, optionally followed by the new title
+        String preamble = arguments.getPreamble();
+        int indexEnd = 0;
+        while (indexEnd < preamble.length() && !Character.isWhitespace(preamble.charAt(indexEnd))) {
+            indexEnd++;
         }
+        Optional<ActivityTargets> targets = parseIndexTargets(preamble.substring(0, indexEnd));
+        if (!targets.isPresent()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, EditCommand.MESSAGE_USAGE));
+        }
+        String title = preamble.substring(indexEnd).trim();
+        if (!title.isEmpty() && !targets.get().isSingleIndex()) {
+            return new IncorrectCommand(EditCommand.MESSAGE_TITLE_FOR_ONE);
+        }
+
+        return new EditCommand(
+                targets.get(),
+                title.isEmpty() ? null : title,
+                arguments.getValueOrNull(Prefix.DEADLINE),
+                arguments.getValueOrNull(Prefix.STATUS),
+                arguments.getValueOrNull(Prefix.SCHEDULE),
+                arguments.getValueOrNull(Prefix.FREQUENCY),
+                arguments.isPresent(Prefix.TAG) ? getTags(arguments) : null);
     }
     
     private Command prepareComplete(String args) {
 
-        Optional<Integer> index = parseIndex(args);
-        if(!index.isPresent()){
+        Optional<ActivityTargets> targets = parseTargets(args);
+        if(!targets.isPresent()){
             return new IncorrectCommand(
                     String.format(MESSAGE_INVALID_COMMAND_FORMAT, CompleteCommand.MESSAGE_USAGE));
         }
 
-        return new CompleteCommand(index.get());
+        return new CompleteCommand(targets.get());
     }
 
     /**
@@ -264,13 +243,13 @@ public class CommandParser {
      */
     private Command prepareDelete(String args) {
 
-        Optional<Integer> index = parseIndex(args);
-        if(!index.isPresent()){
+        Optional<ActivityTargets> targets = parseTargets(args);
+        if(!targets.isPresent()){
             return new IncorrectCommand(
                     String.format(MESSAGE_INVALID_COMMAND_FORMAT, DeleteCommand.MESSAGE_USAGE));
         }
 
-        return new DeleteCommand(index.get());
+        return new DeleteCommand(targets.get());
     }
 
     /**
@@ -289,6 +268,88 @@ public class CommandParser {
         return new SelectCommand(index.get());
     }
 
+    /**
+     * Parses arguments in the context of the import command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareImport(String args) {
+        if (args.trim().isEmpty()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ImportCommand.MESSAGE_USAGE));
+        }
+        return new ImportCommand(args.trim());
+    }
+
+    /**
+     * Returns the commands in the input if it is made of several commands separated by
+     * {@value ChainCommand#SEPARATOR}, i.e. if every part of it starts with a command word. Otherwise the
+     * separator is part of a single command, e.g. in a file name or a title.
+     */
+    private static Optional<String[]> splitChain(String userInput) {
+        if (!userInput.contains(ChainCommand.SEPARATOR)) {
+            return Optional.empty();
+        }
+        String[] commandTexts = userInput.split(ChainCommand.SEPARATOR, -1);
+        for (String commandText : commandTexts) {
+            String commandWord = commandText.trim().split("\\s+")[0];
+            if (!COMMAND_WORDS.contains(commandWord)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(commandTexts);
+    }
+
+    /**
+     * Parses input made of several commands separated by {@value ChainCommand#SEPARATOR}.
+     *
+     * @param commandTexts the input of each command
+     * @return the prepared command
+     */
+    private Command prepareChain(String[] commandTexts) {
+        List<Command> commands = new ArrayList<>();
+        for (String commandText : commandTexts) {
+            Command command = parseCommand(commandText);
+            if (command instanceof RunCommand || command instanceof ExitCommand) {
+                command = new IncorrectCommand(String.format(ChainCommand.MESSAGE_NOT_IN_CHAIN,
+                        commandText.trim().split("\\s+")[0]));
+            }
+            commands.add(command);
+        }
+        return new ChainCommand(commands);
+    }
+
+    /**
+     * Parses arguments in the context of the run command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareRun(String args) {
+        if (args.trim().isEmpty()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, RunCommand.MESSAGE_USAGE));
+        }
+        return new RunCommand(args.trim());
+    }
+
+    /**
+     * Parses arguments in the context of the export command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareExport(String args) {
+        final Matcher matcher = EXPORT_ARGS_FORMAT.matcher(args.trim());
+        if (!matcher.matches()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportCommand.MESSAGE_USAGE));
+        }
+        Optional<ActivityExporter.Format> format = ActivityExporter.Format.of(matcher.group("format"));
+        if (!format.isPresent()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportCommand.MESSAGE_USAGE));
+        }
+        return new ExportCommand(format.get(), matcher.group("file"));
+    }
+
     /**
      * Returns the specified index in the {@code command} IF a positive unsigned integer is given as the index.
      *   Returns an {@code Optional.empty()} otherwise.
@@ -303,10 +364,78 @@ public class CommandParser {
         if(!StringUtil.isUnsignedInteger(index)){
             return Optional.empty();
         }
-        return Optional.of(Integer.parseInt(index));
+        try {
+            return Optional.of(Integer.parseInt(index));
+        } catch (NumberFormatException e) {
+            // too large to be an index
+            return Optional.empty();
+        }
 
     }
 
+    /**
+     * Returns the activities given in the {@code args}: index numbers and ranges of them in the last shown list,
+     * e.g. {@code 3-40,52}, or a filter as taken by the list command that starts with its flag, e.g.
+     * {@code all/ t/sprint12}. Returns an {@code Optional.empty()} if the args give neither.
+     */
+    private Optional<ActivityTargets> parseTargets(String args) {
+        String trimmedArgs = args.trim();
+        for (ListFlag listFlag : ListFlag.values()) {
+            if (trimmedArgs.startsWith(listFlag.flag)) {
+                final Arguments arguments;
+                try {
+                    arguments = ArgumentTokenizer.tokenize(trimmedArgs.substring(listFlag.flag.length()),
+                            LIST_PREFIXES);
+                } catch (IllegalValueException ive) {
+                    return Optional.empty();
+                }
+                return parseKeywords(arguments).map(keywords ->
+                        ActivityTargets.ofFilter(listFlag.filterMode, keywords, getTags(arguments)));
+            }
+        }
+        return parseIndexTargets(trimmedArgs);
+    }
+
+    /**
+     * Returns the index numbers and ranges of them given in the {@code args}, e.g. {@code 3-40,52}, IF every
+     * index is a positive unsigned integer and every range is in order. Returns an {@code Optional.empty()}
+     * otherwise.
+     */
+    private Optional<ActivityTargets> parseIndexTargets(String args) {
+        String trimmedArgs = args.trim();
+        if (!TASK_INDEXES_ARGS_FORMAT.matcher(trimmedArgs).matches()) {
+            return Optional.empty();
+        }
+        List<int[]> indexRanges = new ArrayList<>();
+        for (String range : trimmedArgs.split(",")) {
+            int separator = range.indexOf('-');
+            Optional<Integer> first = parseIndex(separator < 0 ? range : range.substring(0, separator));
+            Optional<Integer> last = separator < 0 ? first : parseIndex(range.substring(separator + 1));
+            if (!first.isPresent() || !last.isPresent() || first.get() > last.get()) {
+                return Optional.empty();
+            }
+            indexRanges.add(new int[] {first.get(), last.get()});
+        }
+        return Optional.of(ActivityTargets.ofIndexRanges(indexRanges));
+    }
+
+    /**
+     * Returns the keywords of the list filter in the preamble of the {@code arguments}, delimited by whitespace.
+     * Returns an {@code Optional.empty()} if a keyword looks like a prefix.
+     */
+    private static Optional<Set<String>> parseKeywords(Arguments arguments) {
+        Set<String> keywordSet = new HashSet<>();
+        for (String keyword : arguments.getPreamble().split("\\s+")) {
+            if (keyword.indexOf('/') >= 0) {
+                return Optional.empty();
+            }
+            if (!keyword.isEmpty()) {
+                keywordSet.add(keyword);
+            }
+        }
+        return Optional.of(keywordSet);
+    }
+
     /**
      * Parses arguments in the context of the list task command.
      *
@@ -314,42 +443,35 @@ public class CommandParser {
      * @return the prepared command
      */
     private Command prepareList(String args) {
-        final String trimmedArgs = args.trim();
-        final Matcher matcher = LIST_ARGS_FORMAT.matcher(trimmedArgs);
-        
+        String trimmedArgs = args.trim();
         if (trimmedArgs.isEmpty()) {
             final Set<String> keywordSet = new HashSet<>();
             return new ListCommand(keywordSet);
-        } else if (!matcher.matches()) {
-            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
-                    ListCommand.MESSAGE_USAGE));
-        } else {
-            //filter
-            final String filter = matcher.group("filter");
-            Model.FilterMode filterMode = Model.FilterMode.DEADLINE_ONLY;
-            for(ListFlag listFlag: ListFlag.values()){
-                if(listFlag.flag.equals(filter)){
-                    filterMode = listFlag.filterMode;
-                }
-            }
+        }
 
-            // keywords delimited by whitespace
-            Set<String> keywordSet = Collections.EMPTY_SET;
-            if(matcher.group("keywords") != null){
-                String[] keywords = matcher.group("keywords").split("\\s+");
-                keywordSet = new HashSet<>(Arrays.asList(keywords));
+        // filter
+        Model.FilterMode filterMode = Model.FilterMode.DEADLINE_ONLY;
+        for (ListFlag listFlag : ListFlag.values()) {
+            if (trimmedArgs.startsWith(listFlag.flag)) {
+                filterMode = listFlag.filterMode;
+                trimmedArgs = trimmedArgs.substring(listFlag.flag.length());
+                break;
             }
+        }
 
-            Set<String> tagSet = Collections.EMPTY_SET;
-            try {
-                if(matcher.group("tagArguments") != null){
-                    tagSet = getTagsFromArgs(matcher.group("tagArguments"));
-                }
-                return new ListCommand(filterMode, keywordSet, tagSet);
-            } catch (IllegalValueException ive) {
-                return new IncorrectCommand(ive.getMessage());
-            }
+        final Arguments arguments;
+        try {
+            arguments = ArgumentTokenizer.tokenize(trimmedArgs, LIST_PREFIXES);
+        } catch (IllegalValueException ive) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ListCommand.MESSAGE_USAGE));
         }
+
+        Optional<Set<String>> keywords = parseKeywords(arguments);
+        if (!keywords.isPresent()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ListCommand.MESSAGE_USAGE));
+        }
+
+        return new ListCommand(filterMode, keywords.get(), getTags(arguments));
     }
 
-}
\ No newline at end of file
+}
@@ -1,22 +1,33 @@
 package seedu.taskman.logic.parser;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.joestelmach.natty.DateGroup;
 import com.joestelmach.natty.Parser;
 import seedu.taskman.commons.exceptions.IllegalValueException;
 
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Generates machine readable datetime from natural language datetime
+ * Generates machine readable datetime from natural language datetime.
+ * Safe to use from several threads at once.
  */
 public class DateTimeParser {
     // Examples: today 2359, tmr 0000, mon 0400, this tue 1600, next thu 2200
@@ -33,9 +44,49 @@ public class DateTimeParser {
     public static final String TIME_BEFORE_DATE_ERROR = "Do not enter time before date";
     private static final String GENERIC_ERROR_DATETIME = "Invalid date time";
     private static final String GENERIC_ERROR_DURATION = "Invalid duration";
+    private static final String DURATION_FORMAT_ERROR = "failed to match regex";
+    /** The units of {@link #SINGLE_DURATION}, smallest first */
+    private static final String[] DURATION_UNIT_NAMES = {"min", "hour", "day", "week", "month", "year"};
+    private static final ChronoUnit[] DURATION_UNITS = {
+        ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS
+    };
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd-YYYY HH:mm");
-    private static final Parser parser = new Parser();
+    private static final String WARM_UP_DATE_TIME = "next fri 6pm";
+    private static final int PARSE_CACHE_SIZE = 1024;
+    /** The day weeks start on in the default locale, which natty counts "next" weeks with */
+    private static final DayOfWeek FIRST_DAY_OF_WEEK =
+            DayOfWeek.SUNDAY.plus(Calendar.getInstance().getFirstDayOfWeek() - Calendar.SUNDAY);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Natty parsers are not safe to share between threads, but separate parsers do not share any state.
+     * Each thread gets its own, so that dates can be parsed on several threads at once without locking.
+     */
+    private static final ThreadLocal<Parser> parsers = ThreadLocal.withInitial(Parser::new);
+
+    /**
+     * Unix times of recently parsed date times that depend on the current date but not the current time,
+     * as the same few phrases (e.g. "tmr 2359") are typed again and again and each parse takes milliseconds.
+     * Only holds entries for the current date.
+     */
+    private static final Cache<String, Long> parseCache = CacheBuilder.newBuilder()
+            .maximumSize(PARSE_CACHE_SIZE)
+            .recordStats()
+            .build();
+    private static volatile String cacheDay = "";
+
+    /**
+     * Parses a date once on the calling thread, so that its parser is created and the classes and grammar
+     * tables all parsers share are loaded before the first date typed in is parsed.
+     */
+    public static void warmUp() {
+        try {
+            getUnixTime(WARM_UP_DATE_TIME);
+        } catch (IllegalDateTimeException e) {
+            assert false : "The warm up date should be valid";
+        }
+    }
 
     /**
      * Converts a date & time in natural language to unix time (seconds)
@@ -49,8 +100,19 @@ public class DateTimeParser {
             throw new IllegalDateTimeException(TIME_BEFORE_DATE_ERROR);
         }
 
+        long shortFormatTime = ShortDateTimeParser.parse(naturalDateTime, LocalDate.now(), FIRST_DAY_OF_WEEK);
+        if (shortFormatTime != ShortDateTimeParser.NO_MATCH) {
+            return shortFormatTime;
+        }
+
+        String cacheKey = getCacheKey(naturalDateTime);
+        Long cached = parseCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
         String timeZoneCorrected = naturalDateTime + " UTC";
-        List<DateGroup> groups = parser.parse(timeZoneCorrected);
+        List<DateGroup> groups = parsers.get().parse(timeZoneCorrected);
 
         // only use the first DateGroup & Date object in the group
         try {
@@ -59,13 +121,49 @@ public class DateTimeParser {
             } else {
                 DateGroup group = groups.get(0);
                 Date date = getFirstDate(group.getDates());
-                return date.toInstant().getEpochSecond();
+                long unixTime = date.toInstant().getEpochSecond();
+                if (dependsOnDateOnly(group)) {
+                    parseCache.put(cacheKey, unixTime);
+                }
+                return unixTime;
             }
         } catch (IllegalDateTimeException e) {
             throw new IllegalDateTimeException(errorMessage);
         }
     }
 
+    /**
+     * Returns the key of the date time in the cache, made of the date time with its case and spacing normalized,
+     * and the current date. Clears the cache when the date has changed since the last call.
+     */
+    private static String getCacheKey(String naturalDateTime) {
+        // relative dates like "tmr" may be counted from the date in either zone
+        String today = LocalDate.now(ZoneOffset.UTC) + "/" + LocalDate.now();
+        if (!today.equals(cacheDay)) {
+            cacheDay = today;
+            parseCache.invalidateAll();
+        }
+        return today + " " + WHITESPACE.matcher(naturalDateTime.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    /**
+     * Returns true if the parsed date time is the same for the rest of the day, i.e. it has an explicit time
+     * (like "tmr 2359" or "9pm") rather than one taken from the current time (like "wed" or "in 5 minutes").
+     */
+    private static boolean dependsOnDateOnly(DateGroup group) {
+        Map<String, ?> parsedRules = group.getParseLocations();
+        return !group.isTimeInferred()
+                && parsedRules.containsKey("explicit_time")
+                && !parsedRules.containsKey("relative_time");
+    }
+
+    /**
+     * Returns the hit and miss counts of the cache of parsed date times.
+     */
+    public static CacheStats getCacheStats() {
+        return parseCache.stats();
+    }
+
     public static long getUnixTime(String naturalDateTime) throws IllegalDateTimeException {
         return getUnixTime(naturalDateTime, GENERIC_ERROR_DATETIME);
     }
@@ -79,30 +177,83 @@ public class DateTimeParser {
     }
 
     /**
-     * Converts a natural duration to an end time in unix time (seconds)
+     * Converts a natural duration to an end time in unix time (seconds).
+     *
+     * The duration is read in a single pass and added to the start time unit by unit in the local time zone, so
+     * a day is a calendar day and a month is a calendar month from the start. Natty is not involved, and the
+     * result depends on nothing but the arguments.
      */
     public static long durationToUnixTime(long startUnixTime, String naturalDuration) throws IllegalDateTimeException {
-        if (!naturalDuration.matches(MULTIPLE_DURATION)) {
-            throw new IllegalDateTimeException("failed to match regex");
-        } else {
-            long unixTimeNow = Instant.now().getEpochSecond();
-            long actualDurationSeconds = 0;
-
-            Pattern firstDuration = Pattern.compile(SINGLE_DURATION);
-            Matcher matcher = firstDuration.matcher(naturalDuration);
-            while (matcher.find()) {
-                actualDurationSeconds += getUnixTime(matcher.group()) - unixTimeNow;
+        long[] amounts = parseDuration(naturalDuration);
+        try {
+            ZonedDateTime end = Instant.ofEpochSecond(startUnixTime).atZone(ZoneId.systemDefault());
+            for (int unit = DURATION_UNITS.length - 1; unit >= 0; unit--) {
+                end = end.plus(amounts[unit], DURATION_UNITS[unit]);
             }
-
-            long endUnixTime = startUnixTime + actualDurationSeconds;
+            long endUnixTime = end.toEpochSecond();
             if (endUnixTime < startUnixTime) {
                 throw new IllegalDateTimeException(GENERIC_ERROR_DURATION);
-            } else {
-                return endUnixTime;
             }
+            return endUnixTime;
+        } catch (DateTimeException | ArithmeticException e) {
+            throw new IllegalDateTimeException(GENERIC_ERROR_DURATION);
         }
     }
 
+    /**
+     * Returns the total amount of each of {@link #DURATION_UNITS} in a duration in the {@link #MULTIPLE_DURATION}
+     * format, e.g. "1 week, 2 days".
+     */
+    private static long[] parseDuration(String naturalDuration) throws IllegalDateTimeException {
+        long[] amounts = new long[DURATION_UNITS.length];
+        int length = naturalDuration.length();
+        int i = 0;
+        do {
+            int numberStart = i;
+            while (i < length && Character.isDigit(naturalDuration.charAt(i))) {
+                i++;
+            }
+            if (i == numberStart || naturalDuration.charAt(numberStart) == '0'
+                    || i >= length || naturalDuration.charAt(i) != ' ') {
+                throw new IllegalDateTimeException(DURATION_FORMAT_ERROR);
+            }
+            long amount;
+            try {
+                amount = Long.parseLong(naturalDuration.substring(numberStart, i));
+            } catch (NumberFormatException e) {
+                throw new IllegalDateTimeException(GENERIC_ERROR_DURATION);
+            }
+            i++;
+
+            int unit = 0;
+            while (unit < DURATION_UNIT_NAMES.length
+                    && !naturalDuration.startsWith(DURATION_UNIT_NAMES[unit], i)) {
+                unit++;
+            }
+            if (unit == DURATION_UNIT_NAMES.length) {
+                throw new IllegalDateTimeException(DURATION_FORMAT_ERROR);
+            }
+            i += DURATION_UNIT_NAMES[unit].length();
+            try {
+                amounts[unit] = Math.addExact(amounts[unit], amount);
+            } catch (ArithmeticException e) {
+                throw new IllegalDateTimeException(GENERIC_ERROR_DURATION);
+            }
+
+            // optional plural, comma and space, as in the regex
+            if (i < length && naturalDuration.charAt(i) == 's') {
+                i++;
+            }
+            if (i < length && naturalDuration.charAt(i) == ',') {
+                i++;
+            }
+            if (i < length && naturalDuration.charAt(i) == ' ') {
+                i++;
+            }
+        } while (i < length);
+        return amounts;
+    }
+
     public static String epochSecondToDetailedDateTime(long epochSecond) {
         Instant instant = Instant.ofEpochSecond(epochSecond);
         return ZonedDateTime
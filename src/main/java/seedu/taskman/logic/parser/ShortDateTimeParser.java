@@ -0,0 +1,164 @@
+package seedu.taskman.logic.parser;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Recognizes the short date time format most input uses, e.g. {@code tdy 2359}, {@code tmr 0900},
+ * {@code fri 1800}, {@code this tue 1600} or {@code next thu 2200}, without going through natty.
+ *
+ * Gives the same results as natty: the date is counted from the given (local) date, and the time is in UTC
+ * as {@link DateTimeParser} asks natty for. A weekday on its own or after {@code this} is its next occurrence
+ * after today; after {@code next} it is that weekday in the following week. The input is read character by
+ * character, so no strings, matchers or other objects are created on the way.
+ */
+class ShortDateTimeParser {
+
+    /** Returned when the input is not in the short format */
+    static final long NO_MATCH = Long.MIN_VALUE;
+
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+    private static final String[] TODAY = {"tdy", "today"};
+    private static final String[] TOMORROW = {"tmr", "tomorrow"};
+    /** Names of each day of the week, starting from Monday, longest first */
+    private static final String[][] WEEKDAYS = {
+        {"monday", "mon"},
+        {"tuesday", "tue"},
+        {"wednesday", "wed"},
+        {"thursday", "thu"},
+        {"friday", "fri"},
+        {"saturday", "sat"},
+        {"sunday", "sun"}
+    };
+
+    private ShortDateTimeParser() {}
+
+    /**
+     * Returns the unix time (seconds) of the input, or {@link #NO_MATCH} if it is not in the short format.
+     *
+     * @param today          the date relative dates are counted from
+     * @param firstDayOfWeek the day weeks start on, for {@code next}
+     */
+    static long parse(String input, LocalDate today, DayOfWeek firstDayOfWeek) {
+        int end = input.length();
+        while (end > 0 && input.charAt(end - 1) == ' ') {
+            end--;
+        }
+        // the time is the last 4 characters, after at least one space
+        int timeStart = end - 4;
+        if (timeStart < 2 || input.charAt(timeStart - 1) != ' ') {
+            return NO_MATCH;
+        }
+        int secondOfDay = parseTime(input, timeStart);
+        if (secondOfDay < 0) {
+            return NO_MATCH;
+        }
+        int dateEnd = timeStart - 1;
+        while (dateEnd > 0 && input.charAt(dateEnd - 1) == ' ') {
+            dateEnd--;
+        }
+        int dateStart = 0;
+        while (dateStart < dateEnd && input.charAt(dateStart) == ' ') {
+            dateStart++;
+        }
+
+        long todayEpochDay = today.toEpochDay();
+        long epochDay;
+        if (matchesAny(input, dateStart, dateEnd, TODAY)) {
+            epochDay = todayEpochDay;
+        } else if (matchesAny(input, dateStart, dateEnd, TOMORROW)) {
+            epochDay = todayEpochDay + 1;
+        } else {
+            boolean isNext = false;
+            if (startsWithWord(input, dateStart, dateEnd, "next")) {
+                isNext = true;
+                dateStart = skipSpaces(input, dateStart + "next".length(), dateEnd);
+            } else if (startsWithWord(input, dateStart, dateEnd, "this")) {
+                dateStart = skipSpaces(input, dateStart + "this".length(), dateEnd);
+            }
+            int weekday = parseWeekday(input, dateStart, dateEnd);
+            if (weekday < 0) {
+                return NO_MATCH;
+            }
+            epochDay = isNext
+                    ? getDayInNextWeek(todayEpochDay, weekday, firstDayOfWeek.getValue() - 1)
+                    : getNextOccurrence(todayEpochDay, weekday);
+        }
+        return epochDay * SECONDS_PER_DAY + secondOfDay;
+    }
+
+    /**
+     * Returns the second of the day of a 4 digit 24-hour time, or -1 if it is not one.
+     */
+    private static int parseTime(String input, int start) {
+        for (int i = start; i < start + 4; i++) {
+            if (input.charAt(i) < '0' || input.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        int hours = (input.charAt(start) - '0') * 10 + (input.charAt(start + 1) - '0');
+        int minutes = (input.charAt(start + 2) - '0') * 10 + (input.charAt(start + 3) - '0');
+        if (hours > 23 || minutes > 59) {
+            return -1;
+        }
+        return hours * 60 * 60 + minutes * 60;
+    }
+
+    /**
+     * Returns the day of the week (0 for Monday) named by the whole of the range, or -1 if it names none.
+     */
+    private static int parseWeekday(String input, int start, int end) {
+        for (int day = 0; day < WEEKDAYS.length; day++) {
+            if (matchesAny(input, start, end, WEEKDAYS[day])) {
+                return day;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the epoch day of the weekday's next occurrence after today, 1 to 7 days later.
+     */
+    private static long getNextOccurrence(long todayEpochDay, int weekday) {
+        int daysAhead = Math.floorMod(weekday - getWeekday(todayEpochDay), 7);
+        return todayEpochDay + (daysAhead == 0 ? 7 : daysAhead);
+    }
+
+    /**
+     * Returns the epoch day of the weekday in the week after this one, with weeks starting on the given day.
+     */
+    private static long getDayInNextWeek(long todayEpochDay, int weekday, int firstDayOfWeek) {
+        long startOfThisWeek = todayEpochDay - Math.floorMod(getWeekday(todayEpochDay) - firstDayOfWeek, 7);
+        return startOfThisWeek + 7 + Math.floorMod(weekday - firstDayOfWeek, 7);
+    }
+
+    /**
+     * Returns the day of the week (0 for Monday) of the epoch day. Day 0, 1970-01-01, was a Thursday.
+     */
+    private static int getWeekday(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7);
+    }
+
+    private static boolean matchesAny(String input, int start, int end, String[] words) {
+        for (String word : words) {
+            if (end - start == word.length() && input.regionMatches(true, start, word, 0, word.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithWord(String input, int start, int end, String word) {
+        int wordEnd = start + word.length();
+        return wordEnd < end && input.charAt(wordEnd) == ' '
+                && input.regionMatches(true, start, word, 0, word.length());
+    }
+
+    private static int skipSpaces(String input, int start, int end) {
+        while (start < end && input.charAt(start) == ' ') {
+            start++;
+        }
+        return start;
+    }
+
+}
@@ -6,6 +6,8 @@ import seedu.taskman.model.event.Event;
 import seedu.taskman.model.event.Task;
 import seedu.taskman.model.event.UniqueActivityList;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -23,18 +25,67 @@ public interface Model {
     /** Clears existing backing model and replaces with the provided new data. */
     void resetData(ReadOnlyTaskMan newData);
 
+    /**
+     * Updates the data to the given data read from the data file, changing only the activities that differ.
+     * The change is not saved back to the data file.
+     */
+    void applyDataFileChanges(ReadOnlyTaskMan newData);
+
+    /**
+     * Starts a group of changes that are reported, and so saved, as a single change once the group is committed.
+     * Groups may be nested; the changes are reported when the outermost group is committed.
+     */
+    void beginChanges();
+
+    /**
+     * Ends the group of changes started by the matching {@link #beginChanges()}.
+     * Raises a single change event for the whole group if it changed anything and is the outermost group.
+     */
+    void commitChanges();
+
+    /**
+     * Ends the group of changes started by the matching {@link #beginChanges()}, undoing its changes instead.
+     * The activities and tags of the given data, taken before the group's changes, are put back as they are,
+     * without being copied, and the group's changes are not reported.
+     */
+    void rollbackChanges(ReadOnlyTaskMan original);
+
     /** Returns the TaskMan */
     ReadOnlyTaskMan getTaskMan();
 
     /** Deletes the given activity. */
     void deleteActivity(Activity target) throws UniqueActivityList.ActivityNotFoundException;
 
+    /**
+     * Deletes the given activities, as taken from this model, as a single change.
+     *
+     * @return the number of activities deleted
+     */
+    int deleteActivities(Collection<Activity> targets);
+
+    /**
+     * Replaces each of the target activities, as taken from this model, with the replacement at the same
+     * position, as a single change. The replacements take the places of the targets in the list.
+     *
+     * @throws UniqueActivityList.DuplicateActivityException if a replacement's title is already taken.
+     *      Nothing is replaced in that case.
+     */
+    void replaceActivities(List<Activity> targets, List<Activity> replacements)
+            throws UniqueActivityList.DuplicateActivityException;
+
     //TODO Is this even needed?
     /** Adds the given event */
     void addEvent(Event task) throws UniqueActivityList.DuplicateActivityException;
 
     void addActivity(Activity activity) throws  UniqueActivityList.DuplicateActivityException;
 
+    /**
+     * Adds the given activities as a single change, skipping those whose titles are already taken.
+     *
+     * @return the number of activities skipped as duplicates
+     */
+    int addActivities(Collection<Activity> activities);
+
     /** Returns the filtered task list as an {@code UnmodifiableObservableList<Activity>} */
     UnmodifiableObservableList<Activity> getFilteredActivityList();
 
@@ -44,4 +95,10 @@ public interface Model {
     /** Updates the filter of the filtered activity list to filter by the given mode, the given keywords and the given tag names*/
     void updateFilteredActivityList(FilterMode filterMode, Set<String> keywords, Set<String> tagNames);
 
+    /**
+     * Returns the activities that the filtered activity list would show for the given mode, keywords and tag
+     * names, whether they are shown now or not, in the order of the list.
+     */
+    List<Activity> findActivities(FilterMode filterMode, Set<String> keywords, Set<String> tagNames);
+
 }
@@ -14,6 +14,9 @@ import seedu.taskman.model.event.UniqueActivityList;
 import seedu.taskman.model.event.UniqueActivityList.ActivityNotFoundException;
 import seedu.taskman.model.tag.Tag;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.logging.Logger;
 
@@ -26,6 +29,10 @@ public class ModelManager extends ComponentManager implements Model {
 
     private final TaskMan taskMan;
     private final FilteredList<Activity> filteredActivities;
+    /** Number of groups of changes begun and not committed yet */
+    private int openChangeGroups;
+    /** True if changes were made in the open groups of changes */
+    private boolean hasUnreportedChanges;
 
     /**
      * Initializes a ModelManager with the given TaskMan
@@ -47,22 +54,75 @@ public class ModelManager extends ComponentManager implements Model {
     }
 
     public ModelManager(ReadOnlyTaskMan initialData, UserPrefs userPrefs) {
-        taskMan = new TaskMan(initialData);
+        this(new TaskMan(initialData));
+    }
+
+    private ModelManager(TaskMan taskMan) {
+        this.taskMan = taskMan;
         filteredActivities = new FilteredList<>(taskMan.getActivities());
     }
 
+    /**
+     * Initializes a ModelManager that takes ownership of the given TaskMan instead of copying it.
+     * Meant for freshly loaded data that nothing else holds a reference to, e.g. at startup.
+     */
+    public static ModelManager ofLoadedData(TaskMan loadedData) {
+        assert loadedData != null;
+        return new ModelManager(loadedData);
+    }
+
     @Override
-    public void resetData(ReadOnlyTaskMan newData) {
+    public synchronized void resetData(ReadOnlyTaskMan newData) {
         taskMan.resetData(newData);
         indicateTaskManChanged();
     }
 
+    @Override
+    public synchronized void applyDataFileChanges(ReadOnlyTaskMan newData) {
+        int changes = taskMan.mergeData(newData);
+        logger.info("Applied " + changes + " changes from the data file");
+        if (changes > 0) {
+            raise(new TaskManChangedEvent(taskMan, true));
+        }
+    }
+
     public ReadOnlyTaskMan getTaskMan() {
         return taskMan;
     }
 
-    /** Raises an event to indicate the model has changed */
-    private void indicateTaskManChanged() {
+    @Override
+    public synchronized void beginChanges() {
+        openChangeGroups++;
+    }
+
+    @Override
+    public synchronized void commitChanges() {
+        assert openChangeGroups > 0 : "No group of changes to commit";
+        openChangeGroups--;
+        if (openChangeGroups == 0 && hasUnreportedChanges) {
+            hasUnreportedChanges = false;
+            raise(new TaskManChangedEvent(taskMan));
+        }
+    }
+
+    @Override
+    public synchronized void rollbackChanges(ReadOnlyTaskMan original) {
+        assert openChangeGroups > 0 : "No group of changes to roll back";
+        taskMan.setActivities(original.getActivityList());
+        taskMan.setTags(original.getTagList());
+        openChangeGroups--;
+        // changes of enclosing groups, if any, may still need to be reported
+        if (openChangeGroups == 0) {
+            hasUnreportedChanges = false;
+        }
+    }
+
+    /** Raises an event to indicate the model has changed, or records the change if a group of changes is open */
+    private synchronized void indicateTaskManChanged() {
+        if (openChangeGroups > 0) {
+            hasUnreportedChanges = true;
+            return;
+        }
         raise(new TaskManChangedEvent(taskMan));
     }
 
@@ -72,6 +132,22 @@ public class ModelManager extends ComponentManager implements Model {
         indicateTaskManChanged();
     }
 
+    @Override
+    public synchronized int deleteActivities(Collection<Activity> targets) {
+        int deletedCount = taskMan.removeActivities(targets);
+        if (deletedCount > 0) {
+            indicateTaskManChanged();
+        }
+        return deletedCount;
+    }
+
+    @Override
+    public synchronized void replaceActivities(List<Activity> targets, List<Activity> replacements)
+            throws UniqueActivityList.DuplicateActivityException {
+        taskMan.replaceActivities(targets, replacements);
+        indicateTaskManChanged();
+    }
+
     @Override
     public synchronized void addEvent(Event event) throws UniqueActivityList.DuplicateActivityException {
         taskMan.addEvent(event);
@@ -86,6 +162,16 @@ public class ModelManager extends ComponentManager implements Model {
         indicateTaskManChanged();
     }
 
+    @Override
+    public synchronized int addActivities(Collection<Activity> activities) {
+        int duplicates = taskMan.addActivities(activities);
+        updateFilteredListToShowAll();
+        if (duplicates < activities.size()) {
+            indicateTaskManChanged();
+        }
+        return duplicates;
+    }
+
     //=========== Filtered Task List Accessors ===============================================================
 
     @Override
@@ -107,6 +193,18 @@ public class ModelManager extends ComponentManager implements Model {
         filteredActivities.setPredicate(expression::satisfies);
     }
 
+    @Override
+    public List<Activity> findActivities(FilterMode filterMode, Set<String> keywords, Set<String> tagNames) {
+        Expression expression = new PredicateExpression(new ActivityQualifier(filterMode, keywords, tagNames));
+        List<Activity> found = new ArrayList<>();
+        for (Activity activity : taskMan.getActivities()) {
+            if (expression.satisfies(activity)) {
+                found.add(activity);
+            }
+        }
+        return found;
+    }
+
     //========== Inner classes/interfaces used for filtering ==================================================
 
     interface Expression {
@@ -1,9 +1,11 @@
 package seedu.taskman.model;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -17,6 +19,7 @@ import seedu.taskman.model.event.Event;
 import seedu.taskman.model.event.MutableTagsEvent;
 import seedu.taskman.model.event.Status;
 import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.Title;
 import seedu.taskman.model.event.UniqueActivityList;
 import seedu.taskman.model.tag.Tag;
 import seedu.taskman.model.tag.UniqueTagList;
@@ -46,10 +49,11 @@ public class TaskMan implements ReadOnlyTaskMan {
     }
 
     /**
-     * Tasks and Tags are copied into this taskMan
+     * Tasks, Tags and reserved titles are copied into this taskMan
      */
     public TaskMan(UniqueActivityList activities, UniqueTagList tags) {
         resetData(activities.getInternalList(), tags.getInternalList());
+        this.activities.reserveTitles(activities.getReservedTitles());
     }
 
     // TODO: Review - do we really need this?
@@ -108,31 +112,130 @@ public class TaskMan implements ReadOnlyTaskMan {
         activities.add(activity);
     }
 
+    /**
+     * Adds activities to TaskMan in bulk, e.g. when loading data from storage.
+     * Activities whose titles are already taken (by an existing activity, a reserved title or an earlier one in
+     * the batch) are skipped. Tags are synced against a single lookup of {@link #tags} shared by the whole batch,
+     * and the activity list is updated as a single change.
+     * Activities that are not loaded yet are expected to already use the Tag objects in {@link #tags},
+     * so that syncing them does not load them.
+     *
+     * @return the number of activities that were skipped as duplicates
+     */
+    public int addActivities(Collection<Activity> newActivities) {
+        final Map<Tag, Tag> masterTagObjects = getMasterTagObjects();
+        final Set<Title> titles = new HashSet<>(activities.getReservedTitles());
+        for (Activity activity : activities) {
+            titles.add(activity.getTitle());
+        }
+
+        final List<Activity> toAdd = new ArrayList<>(newActivities.size());
+        for (Activity activity : newActivities) {
+            if (titles.add(activity.getTitle())) {
+                if (activity.isLoaded()) {
+                    syncTagsWithMasterList(activity, masterTagObjects);
+                }
+                toAdd.add(activity);
+            }
+        }
+
+        try {
+            activities.addAll(toAdd);
+        } catch (UniqueActivityList.DuplicateActivityException e) {
+            assert false : "Duplicate titles should have been filtered out";
+        }
+        return newActivities.size() - toAdd.size();
+    }
+
+    /**
+     * Makes this taskMan hold the same data as the given one by applying only the differences between them.
+     * Activities are identified by title: those missing from the new data are removed, those that differ are
+     * replaced in place, and new ones are added at the end. Unchanged activities are kept as they are.
+     * Tags of the new data that are missing from {@link #tags} are added.
+     *
+     * @return the number of activities and tags that were removed, replaced or added
+     */
+    public int mergeData(ReadOnlyTaskMan newData) {
+        final Map<Title, Activity> incoming = new LinkedHashMap<>();
+        for (Activity activity : newData.getActivityList()) {
+            incoming.putIfAbsent(activity.getTitle(), activity);
+        }
+        final Map<Tag, Tag> masterTagObjects = getMasterTagObjects();
+        int changes = 0;
+        for (Tag tag : newData.getTagList()) {
+            if (!masterTagObjects.containsKey(tag)) {
+                masterTagObjects.put(tag, tag);
+                tags.getInternalList().add(tag);
+                changes++;
+            }
+        }
+
+        final ObservableList<Activity> list = activities.getInternalList();
+        for (int i = list.size() - 1; i >= 0; i--) {
+            Activity existing = list.get(i);
+            Activity replacement = incoming.remove(existing.getTitle());
+            if (replacement == null) {
+                list.remove(i);
+                changes++;
+            } else if (!existing.isSameStateAndTagsAs(replacement)) {
+                Activity copy = new Activity(replacement);
+                syncTagsWithMasterList(copy, masterTagObjects);
+                list.set(i, copy);
+                changes++;
+            }
+        }
+
+        final List<Activity> toAdd = new ArrayList<>(incoming.size());
+        for (Activity activity : incoming.values()) {
+            Activity copy = new Activity(activity);
+            syncTagsWithMasterList(copy, masterTagObjects);
+            toAdd.add(copy);
+        }
+        list.addAll(toAdd);
+        return changes + toAdd.size();
+    }
+
     /**
      * Ensures that every tag in this event:
      *  - exists in the master list {@link #tags}
      *  - points to a Tag object in the master list
-     *  TODO: feels like a pretty complex way to do this...
-     *  // can't we just store tags from eventTags into tagsList? Objects are passed by reference
      */
     private void syncTagsWithMasterList(MutableTagsEvent event) {
-        final UniqueTagList eventTags = event.getTags();
-        tags.mergeFrom(eventTags);
+        syncTagsWithMasterList(event, getMasterTagObjects());
+    }
 
-        // Create map with values = tag object references in the master list
-        final Map<Tag, Tag> masterTagObjects = new HashMap<>();
-        for (Tag tag : tags) {
-            masterTagObjects.put(tag, tag);
-        }
+    /**
+     * Same as {@link #syncTagsWithMasterList(MutableTagsEvent)}, reusing the given lookup of master tag objects.
+     * New tags are added to both the master list and the lookup.
+     */
+    private void syncTagsWithMasterList(MutableTagsEvent event, Map<Tag, Tag> masterTagObjects) {
+        final UniqueTagList eventTags = event.getTags();
 
         // Rebuild the list of event tags using references from the master list
         final Set<Tag> commonTagReferences = new HashSet<>();
         for (Tag tag : eventTags) {
-            commonTagReferences.add(masterTagObjects.get(tag));
+            Tag masterTag = masterTagObjects.get(tag);
+            if (masterTag == null) {
+                masterTag = tag;
+                masterTagObjects.put(tag, tag);
+                tags.getInternalList().add(tag);
+            }
+            commonTagReferences.add(masterTag);
         }
         event.setTags(new UniqueTagList(commonTagReferences));
     }
 
+    /**
+     * Returns a map with values = tag object references in the master list
+     */
+    private Map<Tag, Tag> getMasterTagObjects() {
+        final Map<Tag, Tag> masterTagObjects = new HashMap<>();
+        for (Tag tag : tags) {
+            masterTagObjects.put(tag, tag);
+        }
+        return masterTagObjects;
+    }
+
     public boolean removeActivity(Activity key) throws UniqueActivityList.ActivityNotFoundException {
         if (activities.remove(key)) {
             return true;
@@ -141,6 +244,32 @@ public class TaskMan implements ReadOnlyTaskMan {
         }
     }
     
+    /**
+     * Removes the given activities, compared by identity, in a single pass.
+     *
+     * @return the number of activities removed
+     */
+    public int removeActivities(Collection<Activity> keys) {
+        return activities.removeAll(keys);
+    }
+
+    /**
+     * Replaces each of the target activities with the replacement at the same position, keeping its place.
+     * Also updates {@link #tags} with any new tags of the replacements, and makes the replacements point to
+     * the Tag objects in {@link #tags}.
+     *
+     * @throws UniqueActivityList.DuplicateActivityException if a replacement's title is already taken.
+     *      No activity is replaced in that case.
+     */
+    public void replaceActivities(List<Activity> targets, List<Activity> replacements)
+            throws UniqueActivityList.DuplicateActivityException {
+        final Map<Tag, Tag> masterTagObjects = getMasterTagObjects();
+        for (Activity replacement : replacements) {
+            syncTagsWithMasterList(replacement, masterTagObjects);
+        }
+        activities.replaceAll(targets, replacements);
+    }
+
     public boolean completeActivity(Activity key) throws UniqueActivityList.ActivityNotFoundException, IllegalValueException {
         if (this.removeActivity(key)) {
         	Task task = new Task(
@@ -158,6 +287,14 @@ public class TaskMan implements ReadOnlyTaskMan {
         }
     }
 
+    /**
+     * Reserves the titles of stored activities that were not loaded into this taskMan, so that no activity can
+     * be added or renamed to one of them. Reserved titles are kept when the data is reset.
+     */
+    public void reserveTitles(Collection<Title> titles) {
+        activities.reserveTitles(titles);
+    }
+
 //// tag-level operations
 
     public void addTag(Tag t) throws UniqueTagList.DuplicateTagException {
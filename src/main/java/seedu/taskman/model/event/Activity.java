@@ -4,16 +4,51 @@ import seedu.taskman.model.tag.UniqueTagList;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Wrapper for both Event and Task
+ *
+ * An activity can also be created lazily from a {@link Stub}, e.g. when loading data of which little will be
+ * looked at. It then answers for its type, title, deadline, schedule and status without creating the wrapped
+ * Event or Task, which is only created when anything else about the activity is needed.
  */
 public class Activity implements ReadOnlyEvent, MutableTagsEvent{
 
     public enum ActivityType {EVENT, TASK}
 
-    private MutableTagsEvent activity;
+    /**
+     * The fields of a lazily created activity that are known up front, with a way to create the rest.
+     * Immutable, so copies of a lazily created activity can share it.
+     */
+    public static class Stub {
+        private final ActivityType type;
+        private final Title title;
+        private final Deadline deadline;
+        private final Schedule schedule;
+        private final Status status;
+        private final Supplier<? extends MutableTagsEvent> loader;
+
+        /**
+         * @param loader creates a new Event (or Task, with the same type) with the given fields on every call
+         */
+        public Stub(ActivityType type, Title title, Deadline deadline, Schedule schedule, Status status,
+                    Supplier<? extends MutableTagsEvent> loader) {
+            assert type != null && title != null && loader != null;
+            this.type = type;
+            this.title = title;
+            this.deadline = deadline;
+            this.schedule = schedule;
+            this.status = status;
+            this.loader = loader;
+        }
+    }
+
+    /** Null until created from {@link #stub} */
+    private volatile MutableTagsEvent activity;
     private ActivityType type;
+    /** Null unless created lazily */
+    private Stub stub;
 
     public Activity(Event event){
         if (event.getClass().getName().equals(Task.class.getName())) {
@@ -30,7 +65,23 @@ public class Activity implements ReadOnlyEvent, MutableTagsEvent{
         type = ActivityType.TASK;
     }
 
+    /**
+     * Creates an activity whose Event or Task is only created when it is first needed.
+     */
+    public Activity(Stub stub){
+        this.stub = stub;
+        this.type = stub.type;
+    }
+
+    /**
+     * Copies the activity. A copy of an activity that has not been loaded yet is not loaded either.
+     */
     public Activity(Activity source){
+        if (!source.isLoaded()) {
+            this.stub = source.stub;
+            this.type = source.type;
+            return;
+        }
         switch (source.getType()){
             case TASK: {
                 this.activity = new Task((ReadOnlyTask) source.activity);
@@ -51,24 +102,50 @@ public class Activity implements ReadOnlyEvent, MutableTagsEvent{
         return type;
     }
 
+    /**
+     * Returns true if the wrapped Event or Task exists, i.e. the activity was not created lazily
+     * or has been needed since.
+     */
+    public boolean isLoaded() {
+        return activity != null;
+    }
+
+    /**
+     * Returns the wrapped Event or Task, creating it first if needed.
+     */
+    private MutableTagsEvent load() {
+        MutableTagsEvent loaded = activity;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = activity;
+                if (loaded == null) {
+                    loaded = stub.loader.get();
+                    activity = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
     public Optional<ReadOnlyTask> getTask(){
         if(type != ActivityType.TASK){
             return Optional.empty();
         }
-        return Optional.of((ReadOnlyTask) activity);
+        return Optional.of((ReadOnlyTask) load());
     }
 
     public Optional<ReadOnlyEvent> getEvent(){
         if(type != ActivityType.EVENT){
             return Optional.empty();
         }
-        return Optional.of((ReadOnlyEvent) activity);
+        return Optional.of((ReadOnlyEvent) load());
     }
 
     public Optional<Status> getStatus() {
         switch(type){
             case TASK: {
-                return Optional.ofNullable(((ReadOnlyTask) activity).getStatus());
+                MutableTagsEvent loaded = activity;
+                return Optional.ofNullable(loaded != null ? ((ReadOnlyTask) loaded).getStatus() : stub.status);
             }
             case EVENT: {
                 return Optional.empty();
@@ -82,7 +159,8 @@ public class Activity implements ReadOnlyEvent, MutableTagsEvent{
     public Optional<Deadline> getDeadline() {
         switch(type){
             case TASK: {
-                return ((ReadOnlyTask) activity).getDeadline();
+                MutableTagsEvent loaded = activity;
+                return loaded != null ? ((ReadOnlyTask) loaded).getDeadline() : Optional.ofNullable(stub.deadline);
             }
             case EVENT: {
                 return Optional.empty();
@@ -95,45 +173,75 @@ public class Activity implements ReadOnlyEvent, MutableTagsEvent{
 
     @Override
     public Title getTitle() {
-        return activity.getTitle();
+        MutableTagsEvent loaded = activity;
+        return loaded != null ? loaded.getTitle() : stub.title;
     }
 
     @Override
     public Optional<Frequency> getFrequency() {
-        return activity.getFrequency();
+        return load().getFrequency();
     }
 
     @Override
     public Optional<Schedule> getSchedule() {
-        return activity.getSchedule();
+        MutableTagsEvent loaded = activity;
+        return loaded != null ? loaded.getSchedule() : Optional.ofNullable(stub.schedule);
     }
 
     @Override
     public void setTags(UniqueTagList replacement) {
-        activity.setTags(replacement);
+        load().setTags(replacement);
     }
 
     @Override
     public UniqueTagList getTags() {
-        return activity.getTags();
+        return load().getTags();
     }
 
     public boolean isSameStateAs(Activity other){
         if(type != other.type) return false;
+        if (isUnloadedCopyOf(other)) return true;
+        if (!hasSameKnownFieldsAs(other)) return false;
 
         switch(type){
             case TASK: {
-                return ((ReadOnlyTask) activity).isSameStateAs((ReadOnlyTask) other.activity);
+                return ((ReadOnlyTask) load()).isSameStateAs((ReadOnlyTask) other.load());
             }
             case EVENT: {
-                return ((ReadOnlyEvent) activity).isSameStateAs((ReadOnlyEvent) other.activity);
+                return ((ReadOnlyEvent) load()).isSameStateAs((ReadOnlyEvent) other.load());
             }
             default: {
-                return activity.isSameStateAs(other.activity);
+                return load().isSameStateAs(other.load());
             }
         }
     }
 
+    /**
+     * Same as {@link #isSameStateAs(Activity)}, but also compares the tags.
+     */
+    public boolean isSameStateAndTagsAs(Activity other) {
+        return isUnloadedCopyOf(other) || (isSameStateAs(other) && getTags().equals(other.getTags()));
+    }
+
+    /**
+     * Returns true if the fields that are known without loading either activity are the same,
+     * so that activities that differ in them are told apart without loading them.
+     */
+    private boolean hasSameKnownFieldsAs(Activity other) {
+        return getTitle().equals(other.getTitle())
+                && getDeadline().equals(other.getDeadline())
+                && getSchedule().equals(other.getSchedule())
+                && getStatus().equals(other.getStatus());
+    }
+
+    /**
+     * Returns true if both activities are copies of the same lazily created activity and neither is loaded,
+     * so they cannot differ.
+     */
+    private boolean isUnloadedCopyOf(Activity other) {
+        return stub != null && stub == other.stub && !isLoaded() && !other.isLoaded();
+    }
+
     @Override
     public boolean equals(Object other){
         return other == this // short circuit if same object
@@ -143,25 +251,24 @@ public class Activity implements ReadOnlyEvent, MutableTagsEvent{
 
     @Override
     public int hashCode() {
-        // use this method for custom fields hashing instead of implementing your own
+        // only the fields known without loading, so that hashing a lazily created activity does not load it
         return Objects.hash(
+                type,
                 getTitle(),
                 getDeadline(),
                 getStatus(),
-                getFrequency(),
-                getSchedule(),
-                getTags()
+                getSchedule()
         );
     }
 
     @Override
     public String getAsText() {
-        return activity.getAsText();
+        return load().getAsText();
     }
 
     @Override
     public String toString(){
-        return activity.toString();
+        return load().toString();
     }
 
 }
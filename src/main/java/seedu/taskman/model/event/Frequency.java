@@ -25,7 +25,8 @@ public class Frequency {
         if (!isValidFrequency(frequency)) {
             throw new IllegalValueException(MESSAGE_FREQUENCY_CONSTRAINTS);
         }
-        this.seconds = DateTimeParser.durationToUnixTime(Instant.now().getEpochSecond(), frequency);
+        long now = Instant.now().getEpochSecond();
+        this.seconds = DateTimeParser.durationToUnixTime(now, frequency) - now;
     }
 
     public Frequency(long seconds) {
@@ -40,7 +41,8 @@ public class Frequency {
     @Override
     public String toString() {
     	// TODO: Verify if it is "exactly 1 year instead of 360 days"
-        return prettyTimeFormatter.format(new Date(seconds * MULTIPLIER_TIME_UNIX_TO_JAVA));
+        return prettyTimeFormatter.formatDuration(
+                new Date(System.currentTimeMillis() + seconds * MULTIPLIER_TIME_UNIX_TO_JAVA));
     }
 
     @Override
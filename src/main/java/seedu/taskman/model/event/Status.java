@@ -3,8 +3,12 @@ package seedu.taskman.model.event;
 import com.google.common.base.Objects;
 import seedu.taskman.commons.exceptions.IllegalValueException;
 
+import java.util.regex.Pattern;
+
 public class Status {
 
+    private static final Pattern STATUS_VALIDATION_PATTERN = Pattern.compile("(complete)|(incomplete)");
+
 	public final Boolean completed;
 
 	public Status() {
@@ -13,7 +17,7 @@ public class Status {
 
 	public Status(String booleanString) throws IllegalValueException {
         booleanString = booleanString.trim().toLowerCase();
-        if (!booleanString.matches("(complete)|(incomplete)")) {
+        if (!STATUS_VALIDATION_PATTERN.matcher(booleanString).matches()) {
             throw new IllegalValueException("Status should be 'complete' or 'incomplete'");
         }
         completed = booleanString.equals("complete");
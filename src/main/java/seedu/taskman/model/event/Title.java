@@ -2,6 +2,8 @@ package seedu.taskman.model.event;
 
 import seedu.taskman.commons.exceptions.IllegalValueException;
 
+import java.util.regex.Pattern;
+
 /**
  * Represents a Task's title in the task man.
  * Guarantees: immutable; is valid as declared in {@link #isValidTitle(String)}
@@ -10,6 +12,7 @@ public class Title {
 
     public static final String MESSAGE_TITLE_CONSTRAINTS = "Task titles should be spaces or alphanumeric characters";
     public static final String TITLE_VALIDATION_REGEX = "[\\p{Alnum} ]+";
+    private static final Pattern TITLE_VALIDATION_PATTERN = Pattern.compile(TITLE_VALIDATION_REGEX);
 
     public final String title;
 
@@ -31,7 +34,7 @@ public class Title {
      * Returns true if a given string is a valid task title.
      */
     public static boolean isValidTitle(String test) {
-        return test.matches(TITLE_VALIDATION_REGEX);
+        return TITLE_VALIDATION_PATTERN.matcher(test).matches();
     }
 
 
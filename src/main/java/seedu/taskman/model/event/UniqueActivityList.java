@@ -33,6 +33,8 @@ public class UniqueActivityList implements Iterable<Activity> {
     public static class ActivityNotFoundException extends Exception {}
 
     private final ObservableList<Activity> internalList = FXCollections.observableArrayList();
+    /** Titles of activities that are stored but were not loaded into the list, which are taken all the same */
+    private final Set<Title> reservedTitles = new HashSet<>();
 
     /**
      * Constructs empty TaskList.
@@ -50,10 +52,13 @@ public class UniqueActivityList implements Iterable<Activity> {
     }
     
     /**
-     * Returns true if the list contains an activity with the given title.
+     * Returns true if the list contains an activity with the given title, or the title is reserved.
      */
     public boolean contains(Title toCheck) {
         assert toCheck != null;
+        if (reservedTitles.contains(toCheck)) {
+            return true;
+        }
         for(Activity a : internalList.toArray(new Activity[0])) {
             if (a.getTitle().equals(toCheck)) {
                 return true;
@@ -69,12 +74,36 @@ public class UniqueActivityList implements Iterable<Activity> {
      */
     public void add(Activity toAdd) throws DuplicateActivityException {
         assert toAdd != null;
-        if (contains(toAdd.getTitle()) || contains(toAdd)) {
+        // titles are unique, so equal activities are found by title too, without loading any of them
+        if (contains(toAdd.getTitle())) {
             throw new DuplicateActivityException();
         }
         internalList.add(toAdd);
     }
 
+    /**
+     * Adds all the given activities to the list as a single change.
+     * Titles are checked against a hashed view of the list, so the whole batch costs one pass
+     * over the list and one pass over the batch.
+     *
+     * @throws DuplicateActivityException if any activity to add shares its title with an existing activity,
+     *      a reserved title or another activity in the batch. The list is left unchanged in that case.
+     */
+    public void addAll(Collection<Activity> toAdd) throws DuplicateActivityException {
+        assert toAdd != null;
+        final Set<Title> titles = new HashSet<>(reservedTitles);
+        for (Activity activity : internalList) {
+            titles.add(activity.getTitle());
+        }
+        for (Activity activity : toAdd) {
+            assert activity != null;
+            if (!titles.add(activity.getTitle())) {
+                throw new DuplicateActivityException();
+            }
+        }
+        internalList.addAll(toAdd);
+    }
+
     /**
      * Removes the equivalent task from the list.
      *
@@ -89,6 +118,70 @@ public class UniqueActivityList implements Iterable<Activity> {
         return activityFoundAndDeleted;
     }
 
+    /**
+     * Removes the given activities, compared by identity, in a single pass over the list and as a single change.
+     * Activities that are not in the list are ignored.
+     *
+     * @return the number of activities removed
+     */
+    public int removeAll(Collection<Activity> toRemove) {
+        assert toRemove != null;
+        final Set<Activity> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+        targets.addAll(toRemove);
+        final List<Activity> kept = new ArrayList<>(internalList.size());
+        for (Activity activity : internalList) {
+            if (!targets.contains(activity)) {
+                kept.add(activity);
+            }
+        }
+        final int removedCount = internalList.size() - kept.size();
+        if (removedCount > 0) {
+            internalList.setAll(kept);
+        }
+        return removedCount;
+    }
+
+    /**
+     * Replaces each of the target activities, compared by identity, with the replacement at the same position,
+     * keeping its place in the list. Done in a single pass over the list and as a single change.
+     *
+     * @throws DuplicateActivityException if a replacement shares its title with another activity in the list,
+     *      a reserved title or another replacement. The list is left unchanged in that case.
+     */
+    public void replaceAll(List<Activity> targets, List<Activity> replacements) throws DuplicateActivityException {
+        assert targets.size() == replacements.size();
+        final Map<Activity, Activity> replacementOf = new IdentityHashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            replacementOf.put(targets.get(i), replacements.get(i));
+        }
+        final List<Activity> updated = new ArrayList<>(internalList.size());
+        final Set<Title> titles = new HashSet<>();
+        for (Activity activity : internalList) {
+            Activity replacement = replacementOf.getOrDefault(activity, activity);
+            if (!titles.add(replacement.getTitle())
+                    || (replacement != activity && reservedTitles.contains(replacement.getTitle()))) {
+                throw new DuplicateActivityException();
+            }
+            updated.add(replacement);
+        }
+        internalList.setAll(updated);
+    }
+
+    /**
+     * Reserves the titles of activities that are stored but not loaded, e.g. those of past months that were left
+     * on disk, so that no activity in the list can take them.
+     */
+    public void reserveTitles(Collection<Title> titles) {
+        reservedTitles.addAll(titles);
+    }
+
+    /**
+     * Returns an unmodifiable view of the reserved titles.
+     */
+    public Set<Title> getReservedTitles() {
+        return Collections.unmodifiableSet(reservedTitles);
+    }
+
     public ObservableList<Activity> getInternalList() {
         return internalList;
     }
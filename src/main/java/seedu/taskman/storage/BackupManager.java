@@ -0,0 +1,195 @@
+package seedu.taskman.storage;
+
+import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.util.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Keeps rotating backups of the data file in a {@code backups} directory next to it.
+ *
+ * A backup is a copy of the data file as last saved, named after the time it was taken. Saves always replace the
+ * data file as a whole (see {@link FileUtil#writeAtomically}), so the copy is of one complete version of the file
+ * and needs no lock, and no data is converted again. Backups are taken on a background thread at most once per
+ * interval, and the oldest are removed once there are too many, they are too old or they take up too much space.
+ * The newest backup is always kept.
+ */
+public class BackupManager {
+
+    private static final Logger logger = LogsCenter.getLogger(BackupManager.class);
+    static final String BACKUP_DIRECTORY_NAME = "backups";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final int TIMESTAMP_LENGTH = "yyyyMMdd-HHmmss-SSS".length();
+
+    private final File dataFile;
+    private final File backupDirectory;
+    private final int maxCount;
+    private final Duration interval;
+    private final Duration maxAge;
+    private final long maxTotalBytes;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TaskMan backup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private final AtomicBoolean isBackupQueued = new AtomicBoolean();
+    /** Time of the newest backup, null until the backup directory has been looked at */
+    private volatile Instant lastBackupTime;
+
+    /**
+     * @param maxCount      the most backups to keep
+     * @param interval      the least time between two backups
+     * @param maxAge        backups older than this are removed
+     * @param maxTotalBytes backups beyond this total size, counting from the newest, are removed
+     */
+    public BackupManager(String dataFilePath, int maxCount, Duration interval, Duration maxAge, long maxTotalBytes) {
+        assert maxCount > 0;
+        this.dataFile = new File(dataFilePath).getAbsoluteFile();
+        this.backupDirectory = new File(dataFile.getParentFile(), BACKUP_DIRECTORY_NAME);
+        this.maxCount = maxCount;
+        this.interval = interval;
+        this.maxAge = maxAge;
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    public File getBackupDirectory() {
+        return backupDirectory;
+    }
+
+    /**
+     * Takes a backup of the data file in the background, unless one was taken within the interval or is
+     * already queued. Returns at once.
+     */
+    public void requestBackup() {
+        Instant last = lastBackupTime;
+        if (last != null && Instant.now().isBefore(last.plus(interval))) {
+            return;
+        }
+        if (!isBackupQueued.compareAndSet(false, true) || executor.isShutdown()) {
+            return;
+        }
+        executor.execute(() -> {
+            isBackupQueued.set(false);
+            try {
+                backupIfDue();
+            } catch (IOException e) {
+                logger.warning("Failed to back up " + dataFile + ": " + e);
+            }
+        });
+    }
+
+    /**
+     * Waits for a queued backup to finish and stops taking backups.
+     */
+    public void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the backups, newest first.
+     */
+    public List<File> getBackups() {
+        File[] files = backupDirectory.listFiles();
+        List<File> backups = new ArrayList<>();
+        if (files == null) {
+            return backups;
+        }
+        for (File file : files) {
+            if (getBackupTime(file) != null) {
+                backups.add(file);
+            }
+        }
+        backups.sort(Collections.reverseOrder());
+        return backups;
+    }
+
+    private void backupIfDue() throws IOException {
+        if (lastBackupTime == null) {
+            List<File> backups = getBackups();
+            lastBackupTime = backups.isEmpty() ? Instant.MIN : getBackupTime(backups.get(0));
+        }
+        Instant now = Instant.now();
+        if (now.isBefore(lastBackupTime.plus(interval)) || !FileUtil.isFileExists(dataFile)) {
+            return;
+        }
+        backup(now);
+        prune(now);
+    }
+
+    /**
+     * Copies the data file into a new backup, through a temporary file so that no half-written backup is left.
+     */
+    void backup(Instant time) throws IOException {
+        FileUtil.createDirs(backupDirectory);
+        File backup = new File(backupDirectory,
+                TIMESTAMP_FORMAT.format(LocalDateTime.ofInstant(time, ZoneId.systemDefault())) + "-"
+                        + dataFile.getName());
+        File tempFile = new File(backup.getPath() + ".tmp");
+        long startTime = System.nanoTime();
+        Files.copy(dataFile.toPath(), tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tempFile.toPath(), backup.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        lastBackupTime = time;
+        logger.fine("Backed up " + dataFile + " to " + backup + " in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+    }
+
+    /**
+     * Removes the backups beyond the most to keep, older than the maximum age or beyond the maximum total size.
+     */
+    void prune(Instant now) {
+        List<File> backups = getBackups();
+        long totalBytes = 0;
+        for (int i = 0; i < backups.size(); i++) {
+            File backup = backups.get(i);
+            totalBytes += backup.length();
+            boolean isNewest = i == 0;
+            boolean isExpired = i >= maxCount || getBackupTime(backup).isBefore(now.minus(maxAge))
+                    || totalBytes > maxTotalBytes;
+            if (!isNewest && isExpired && backup.delete()) {
+                logger.fine("Removed old backup " + backup);
+            }
+        }
+    }
+
+    /**
+     * Returns the time the file was backed up, or null if it is not a backup of the data file.
+     */
+    private Instant getBackupTime(File file) {
+        String name = file.getName();
+        if (name.length() != TIMESTAMP_LENGTH + 1 + dataFile.getName().length()
+                || !name.endsWith("-" + dataFile.getName())) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(name.substring(0, TIMESTAMP_LENGTH), TIMESTAMP_FORMAT)
+                    .atZone(ZoneId.systemDefault()).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,378 @@
+package seedu.taskman.storage;
+
+import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.exceptions.DataConversionException;
+import seedu.taskman.commons.exceptions.IllegalValueException;
+import seedu.taskman.commons.util.FileUtil;
+import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.TaskMan;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Deadline;
+import seedu.taskman.model.event.Event;
+import seedu.taskman.model.event.Frequency;
+import seedu.taskman.model.event.Schedule;
+import seedu.taskman.model.event.Status;
+import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.Title;
+import seedu.taskman.model.tag.Tag;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Speeds up reading a {@link TaskManStorage} by keeping a compact binary image of the data next to its file.
+ *
+ * The image, in {@code <data file>.cache}, records the size, modification time and CRC32 of the data file it
+ * was made from. The CRC32 is only computed, streaming the data file, once its size and modification time match.
+ * When all three still match the data file, the data is read from the image with no xml parsing, and each
+ * activity is only fully created when it is first needed. Otherwise the data file is read as usual and the image
+ * is rebuilt in the background. The image is also rebuilt in the background after every save, unless the data
+ * file is saved again first.
+ */
+public class CachedTaskManStorage implements TaskManStorage {
+
+    public static final String CACHE_FILE_SUFFIX = ".cache";
+
+    private static final Logger logger = LogsCenter.getLogger(CachedTaskManStorage.class);
+    private static final int MAGIC = 0x544d4331; // "TMC1"
+    private static final byte TYPE_EVENT = 0;
+    private static final byte TYPE_TASK = 1;
+    private static final byte HAS_DEADLINE = 1;
+    private static final byte HAS_SCHEDULE = 1 << 1;
+    private static final byte HAS_FREQUENCY = 1 << 2;
+    private static final String STATUS_COMPLETE = "complete";
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
+    private final TaskManStorage source;
+    private final TaskManSnapshotter snapshotter = new TaskManSnapshotter();
+    private final ExecutorService cacheWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TaskMan cache writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Incremented on every save, so that a rebuild started before the latest save does not write its image */
+    private final AtomicLong saveSequence = new AtomicLong();
+
+    public CachedTaskManStorage(TaskManStorage source) {
+        this.source = source;
+    }
+
+    @Override
+    public String getTaskManFilePath() {
+        return source.getTaskManFilePath();
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskMan> readTaskMan() throws DataConversionException, IOException {
+        return readTaskMan(getTaskManFilePath());
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskMan> readTaskMan(String filePath) throws DataConversionException, IOException {
+        assert filePath != null;
+
+        File sourceFile = new File(filePath);
+        File cacheFile = getCacheFile(filePath);
+        if (sourceFile.exists() && cacheFile.exists()) {
+            long startTime = System.nanoTime();
+            Optional<TaskMan> cached = readImage(cacheFile, sourceFile);
+            if (cached.isPresent()) {
+                logger.info(String.format("Loaded %s from %s in %d ms", cached.get(), cacheFile,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+                return Optional.of(cached.get());
+            }
+            logger.info("Cache " + cacheFile + " is out of date, reading " + filePath);
+        }
+
+        long sequence = saveSequence.get();
+        Optional<ReadOnlyTaskMan> taskMan = source.readTaskMan(filePath);
+        if (taskMan.isPresent()) {
+            scheduleRebuild(taskMan.get(), filePath, sequence);
+        }
+        return taskMan;
+    }
+
+    @Override
+    public void saveTaskMan(ReadOnlyTaskMan taskMan) throws IOException {
+        saveTaskMan(taskMan, getTaskManFilePath());
+    }
+
+    @Override
+    public void saveTaskMan(ReadOnlyTaskMan taskMan, String filePath) throws IOException {
+        long sequence = saveSequence.incrementAndGet();
+        source.saveTaskMan(taskMan, filePath);
+        scheduleRebuild(taskMan, filePath, sequence);
+    }
+
+    @Override
+    public void warmUp() {
+        source.warmUp();
+    }
+
+    /**
+     * Waits until the images of earlier reads and saves have been written.
+     */
+    public void awaitCacheWrites() throws InterruptedException {
+        try {
+            cacheWriter.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            assert false : "Unexpected exception " + e.getMessage();
+        }
+    }
+
+    public static File getCacheFile(String filePath) {
+        return new File(filePath + CACHE_FILE_SUFFIX);
+    }
+
+    /**
+     * Rebuilds the image of the given data in the background, unless the data file is saved again first.
+     */
+    private void scheduleRebuild(ReadOnlyTaskMan taskMan, String filePath, long sequence) {
+        ReadOnlyTaskMan snapshot = snapshotter.snapshot(taskMan);
+        cacheWriter.execute(() -> {
+            if (sequence != saveSequence.get()) {
+                return;
+            }
+            try {
+                SourceKey key = SourceKey.of(new File(filePath));
+                byte[] image = writeImage(snapshot, key);
+                // the data file may have been saved again while its key was computed
+                if (sequence != saveSequence.get()) {
+                    return;
+                }
+                FileUtil.writeAtomically(getCacheFile(filePath), out -> out.write(image), false);
+            } catch (IOException e) {
+                logger.warning("Failed to write cache of " + filePath + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Returns the data in the image, or {@code Optional.empty()} if the image is not of the current contents
+     * of the data file or cannot be read.
+     */
+    private static Optional<TaskMan> readImage(File cacheFile, File sourceFile) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                Files.readAllBytes(cacheFile.toPath())))) {
+            if (in.readInt() != MAGIC || !SourceKey.read(in).matches(sourceFile)) {
+                return Optional.empty();
+            }
+
+            TaskMan taskMan = new TaskMan();
+            List<Tag> tagTable = new ArrayList<>();
+            int masterTagCount = in.readInt();
+            int tagCount = in.readInt();
+            for (int i = 0; i < tagCount; i++) {
+                Tag tag = new Tag(in.readUTF());
+                tagTable.add(tag);
+                if (i < masterTagCount) {
+                    taskMan.addTag(tag);
+                }
+            }
+
+            int activityCount = in.readInt();
+            List<Activity> activities = new ArrayList<>(activityCount);
+            for (int i = 0; i < activityCount; i++) {
+                activities.add(readActivity(in, tagTable, masterTagCount));
+            }
+            taskMan.addActivities(activities);
+            return Optional.of(taskMan);
+        } catch (IOException | IllegalValueException | RuntimeException e) {
+            // a corrupt image, e.g. with a negative count, falls back to the data file
+            logger.warning("Failed to read cache " + cacheFile + ": " + e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads an activity that only creates its Event or Task when it is first needed, like those read from the
+     * data file. Activities with tags missing from the master tags are created at once, so that adding them
+     * to the taskMan adds their tags.
+     */
+    private static Activity readActivity(DataInputStream in, List<Tag> tagTable, int masterTagCount)
+            throws IOException, IllegalValueException {
+        byte type = in.readByte();
+        boolean isCompleted = in.readBoolean();
+        Title title = new Title(in.readUTF());
+        byte fields = in.readByte();
+        Deadline deadline = (fields & HAS_DEADLINE) != 0 ? new Deadline(in.readLong()) : null;
+        Schedule schedule = (fields & HAS_SCHEDULE) != 0 ? new Schedule(in.readLong(), in.readLong()) : null;
+        Long frequency = (fields & HAS_FREQUENCY) != 0 ? XmlAdaptedEvent.checkFrequency(in.readLong()) : null;
+        int tagCount = in.readInt();
+        List<Tag> tags = new ArrayList<>(tagCount);
+        boolean hasOnlyMasterTags = true;
+        for (int i = 0; i < tagCount; i++) {
+            int tagIndex = in.readInt();
+            tags.add(tagTable.get(tagIndex));
+            hasOnlyMasterTags &= tagIndex < masterTagCount;
+        }
+
+        if (new HashSet<>(tags).size() != tags.size()) {
+            throw new IllegalValueException("Duplicate tags in " + title);
+        }
+
+        final Supplier<Event> loader;
+        final Status status;
+        if (type == TYPE_EVENT) {
+            status = null;
+            loader = () -> new Event(title, XmlAdaptedTag.toUniqueTagList(tags), schedule,
+                    frequency != null ? new Frequency(frequency) : null);
+        } else {
+            status = isCompleted ? new Status(STATUS_COMPLETE) : new Status();
+            loader = () -> {
+                Task task = new Task(title, XmlAdaptedTag.toUniqueTagList(tags), deadline, schedule,
+                        frequency != null ? new Frequency(frequency) : null);
+                task.setStatus(status);
+                return task;
+            };
+        }
+        if (!hasOnlyMasterTags) {
+            return new Activity(loader.get());
+        }
+        return new Activity(new Activity.Stub(type == TYPE_EVENT ? Activity.ActivityType.EVENT
+                : Activity.ActivityType.TASK, title, deadline, schedule, status, loader));
+    }
+
+    private static byte[] writeImage(ReadOnlyTaskMan taskMan, SourceKey key) throws IOException {
+        // the master tags come first, followed by any other tags used by the activities
+        List<Tag> tagTable = new ArrayList<>(taskMan.getTagList());
+        Map<Tag, Integer> tagIndexes = new HashMap<>();
+        for (int i = 0; i < tagTable.size(); i++) {
+            tagIndexes.put(tagTable.get(i), i);
+        }
+        for (Activity activity : taskMan.getActivityList()) {
+            for (Tag tag : activity.getTags()) {
+                if (!tagIndexes.containsKey(tag)) {
+                    tagIndexes.put(tag, tagTable.size());
+                    tagTable.add(tag);
+                }
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        key.write(out);
+        out.writeInt(taskMan.getTagList().size());
+        out.writeInt(tagTable.size());
+        for (Tag tag : tagTable) {
+            out.writeUTF(tag.tagName);
+        }
+        out.writeInt(taskMan.getActivityList().size());
+        for (Activity activity : taskMan.getActivityList()) {
+            writeActivity(out, activity, tagIndexes);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeActivity(DataOutputStream out, Activity activity, Map<Tag, Integer> tagIndexes)
+            throws IOException {
+        out.writeByte(activity.getType() == Activity.ActivityType.EVENT ? TYPE_EVENT : TYPE_TASK);
+        out.writeBoolean(activity.getStatus().isPresent() && activity.getStatus().get().completed);
+        out.writeUTF(activity.getTitle().title);
+        byte fields = 0;
+        if (activity.getDeadline().isPresent()) {
+            fields |= HAS_DEADLINE;
+        }
+        if (activity.getSchedule().isPresent()) {
+            fields |= HAS_SCHEDULE;
+        }
+        if (activity.getFrequency().isPresent()) {
+            fields |= HAS_FREQUENCY;
+        }
+        out.writeByte(fields);
+        if (activity.getDeadline().isPresent()) {
+            out.writeLong(activity.getDeadline().get().epochSecond);
+        }
+        if (activity.getSchedule().isPresent()) {
+            out.writeLong(activity.getSchedule().get().startEpochSecond);
+            out.writeLong(activity.getSchedule().get().endEpochSecond);
+        }
+        if (activity.getFrequency().isPresent()) {
+            out.writeLong(activity.getFrequency().get().seconds);
+        }
+        List<Tag> tags = activity.getTags().getInternalList();
+        out.writeInt(tags.size());
+        for (Tag tag : tags) {
+            out.writeInt(tagIndexes.get(tag));
+        }
+    }
+
+    /**
+     * Identifies the contents of a data file by its size, modification time and CRC32.
+     */
+    private static class SourceKey {
+        private final long size;
+        private final long lastModified;
+        private final long checksum;
+
+        private SourceKey(long size, long lastModified, long checksum) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+        }
+
+        static SourceKey of(File file) throws IOException {
+            long lastModified = file.lastModified();
+            long size = file.length();
+            return new SourceKey(size, lastModified, checksum(file));
+        }
+
+        /**
+         * Returns the CRC32 of the file, read in chunks rather than all at once.
+         */
+        private static long checksum(File file) throws IOException {
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+            try (InputStream in = new FileInputStream(file)) {
+                for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                    crc.update(buffer, 0, read);
+                }
+            }
+            return crc.getValue();
+        }
+
+        static SourceKey read(DataInputStream in) throws IOException {
+            return new SourceKey(in.readLong(), in.readLong(), in.readLong());
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(size);
+            out.writeLong(lastModified);
+            out.writeLong(checksum);
+        }
+
+        /**
+         * Returns true if the file still has the contents this key was made from.
+         * The checksum is only computed if the size and modification time match.
+         */
+        boolean matches(File file) throws IOException {
+            return size == file.length()
+                    && lastModified == file.lastModified()
+                    && checksum == checksum(file);
+        }
+    }
+
+}
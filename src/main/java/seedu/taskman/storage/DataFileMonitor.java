@@ -0,0 +1,167 @@
+package seedu.taskman.storage;
+
+import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.util.FileUtil;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Watches a data file for changes made by other programs, e.g. a sync tool.
+ *
+ * The directory of the file is watched rather than the file itself, as saves replace the file by moving another
+ * file over it. A burst of events, e.g. from a program writing the file in several steps, is reported once after
+ * it settles. Versions of the file recorded with {@link #recordKnownVersion()}, i.e. the ones this program read
+ * or wrote itself, are not reported.
+ */
+class DataFileMonitor {
+
+    private static final Logger logger = LogsCenter.getLogger(DataFileMonitor.class);
+    private static final long SETTLE_MILLIS = 200;
+
+    private final Path file;
+    private final Runnable onChange;
+    private WatchService watchService;
+    private Fingerprint knownVersion;
+
+    /**
+     * @param onChange run on the monitor's thread when the file may have changed
+     */
+    DataFileMonitor(String filePath, Runnable onChange) {
+        this.file = Paths.get(filePath).toAbsolutePath();
+        this.onChange = onChange;
+    }
+
+    /**
+     * Starts watching on a background thread.
+     */
+    void start() throws IOException {
+        Path directory = file.getParent();
+        FileUtil.createDirs(directory.toFile());
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+        Thread thread = new Thread(this::watch, "TaskMan file monitor");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching " + file + " for changes");
+    }
+
+    void stop() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warning("Failed to stop watching " + file + ": " + e);
+        }
+    }
+
+    /**
+     * Records the current version of the file as one that does not need to be reported.
+     */
+    synchronized void recordKnownVersion() {
+        knownVersion = Fingerprint.of(file);
+    }
+
+    /**
+     * Returns true if the file is still at the version last recorded with {@link #recordKnownVersion()}.
+     */
+    synchronized boolean isKnownVersion() {
+        return Objects.equals(knownVersion, Fingerprint.of(file));
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                boolean isChanged = concernsFile(watchService.take());
+                while (isChanged) {
+                    WatchKey next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    concernsFile(next);
+                }
+                if (isChanged) {
+                    onChange.run();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            logger.fine("Stopped watching " + file);
+        }
+    }
+
+    /**
+     * Returns true if any of the key's events may concern the file, and makes the key report further events.
+     */
+    private boolean concernsFile(WatchKey key) {
+        boolean concernsFile = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            concernsFile |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context());
+        }
+        key.reset();
+        return concernsFile;
+    }
+
+    /**
+     * Identifies a version of a file without reading it. A file replaced by moving another file over it gets a
+     * new file key (where the file system has them), so a replacement is told apart even if it has the same size
+     * and modification time.
+     */
+    private static class Fingerprint {
+        private static final Fingerprint MISSING = new Fingerprint(-1, -1, null);
+
+        private final long size;
+        private final long lastModifiedMillis;
+        private final Object fileKey;
+
+        private Fingerprint(long size, long lastModifiedMillis, Object fileKey) {
+            this.size = size;
+            this.lastModifiedMillis = lastModifiedMillis;
+            this.fileKey = fileKey;
+        }
+
+        static Fingerprint of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new Fingerprint(attributes.size(), attributes.lastModifiedTime().toMillis(),
+                        attributes.fileKey());
+            } catch (NoSuchFileException e) {
+                return MISSING;
+            } catch (IOException e) {
+                // cannot tell, so assume it changed
+                return new Fingerprint(-1, System.nanoTime(), null);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this // short circuit if same object
+                    || (other instanceof Fingerprint // instanceof handles nulls
+                    && size == ((Fingerprint) other).size
+                    && lastModifiedMillis == ((Fingerprint) other).lastModifiedMillis
+                    && Objects.equals(fileKey, ((Fingerprint) other).fileKey));
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, lastModifiedMillis, fileKey);
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package seedu.taskman.storage;
+
+import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.util.StringUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * The version of the format taskMan data is saved in, and the upgrade of data saved in older formats.
+ *
+ * Data saved without a version holds, as the frequency of an activity, the time its first repetition ended,
+ * counted from when the frequency was entered, instead of the frequency's length. When it was entered is not
+ * saved, so the length cannot be recovered. Such frequencies are removed when the data is read and the activities
+ * that had them are reported, and the file is copied aside as it was, as the next save replaces it.
+ */
+final class DataFormat {
+
+    /** The version written with all data. Data without a version is of version 1 */
+    static final int VERSION = 2;
+    static final String OLDER_VERSION_COPY_SUFFIX = ".v1";
+
+    private static final Logger logger = LogsCenter.getLogger(DataFormat.class);
+
+    private DataFormat() {}
+
+    /**
+     * Returns true if data saved with the given version, null if it was saved without one, holds frequencies as
+     * lengths.
+     */
+    static boolean hasFrequencyLengths(Integer version) {
+        return version != null && version >= VERSION;
+    }
+
+    /**
+     * Reports the activities whose frequencies, saved in an older format, were removed while reading the file,
+     * and copies the file aside once as it was.
+     */
+    static void reportRemovedFrequencies(File file, List<String> titles) {
+        if (titles.isEmpty()) {
+            return;
+        }
+        File copy = new File(file.getPath() + OLDER_VERSION_COPY_SUFFIX);
+        try {
+            Files.copy(file.toPath(), copy.toPath());
+        } catch (FileAlreadyExistsException e) {
+            // the copy of the file as it was first read is kept
+        } catch (IOException e) {
+            logger.severe("Failed to copy " + file + " saved in an older format: " + StringUtil.getDetails(e));
+        }
+        logger.warning(String.format("%s was saved in an older format whose frequencies cannot be converted; "
+                + "removed the frequencies of %d activities, a copy of the file as it was is at %s: %s",
+                file, titles.size(), copy, String.join(", ", titles)));
+    }
+
+}
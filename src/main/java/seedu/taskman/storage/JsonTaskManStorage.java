@@ -0,0 +1,460 @@
+package seedu.taskman.storage;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.exceptions.DataConversionException;
+import seedu.taskman.commons.exceptions.IllegalValueException;
+import seedu.taskman.commons.util.FileUtil;
+import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.TaskMan;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Deadline;
+import seedu.taskman.model.event.Event;
+import seedu.taskman.model.event.Frequency;
+import seedu.taskman.model.event.Schedule;
+import seedu.taskman.model.event.Status;
+import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.Title;
+import seedu.taskman.model.tag.Tag;
+import seedu.taskman.model.tag.UniqueTagList;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * A class to access TaskMan data stored as a json file on the hard disk.
+ *
+ * The file is read and written token by token with Jackson's streaming API, without building a tree or
+ * adapted objects first, and without indentation. Like {@link XmlTaskManStorage}, records that violate data
+ * constraints or duplicate an earlier record's title are skipped, and loaded activities are only fully created
+ * when they are first needed. The file is gzip-compressed if its name ends with {@code .gz}.
+ * A file of xml data, as left by {@link XmlTaskManStorage}, is read as xml and saved as json on the next save.
+ * The version of the format (see {@link DataFormat}) is the first field of the file.
+ */
+public class JsonTaskManStorage implements TaskManStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(JsonTaskManStorage.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    static final String FIELD_VERSION = "version";
+    static final String FIELD_TAGS = "tags";
+    static final String FIELD_ACTIVITIES = "activities";
+    static final String FIELD_TYPE = "type";
+    static final String FIELD_TITLE = "title";
+    static final String FIELD_STATUS = "status";
+    static final String FIELD_DEADLINE = "deadline";
+    static final String FIELD_FREQUENCY = "frequency";
+    static final String FIELD_SCHEDULE_START = "scheduleStart";
+    static final String FIELD_SCHEDULE_END = "scheduleEnd";
+    static final String TYPE_TASK = "task";
+    static final String TYPE_EVENT = "event";
+    static final String STATUS_COMPLETE = "complete";
+    static final String STATUS_INCOMPLETE = "incomplete";
+    private static final int UTF8_BOM_FIRST_BYTE = 0xef;
+    private static final int UTF8_BOM_LENGTH = 3;
+
+    private String filePath;
+    private final boolean syncWrites;
+
+    /**
+     * @param syncWrites if true, every save is forced to the storage device before it replaces the file
+     */
+    public JsonTaskManStorage(String filePath, boolean syncWrites) {
+        this.filePath = filePath;
+        this.syncWrites = syncWrites;
+    }
+
+    public JsonTaskManStorage(String filePath) {
+        this(filePath, false);
+    }
+
+    @Override
+    public String getTaskManFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskMan> readTaskMan() throws DataConversionException, IOException {
+        return readTaskMan(filePath);
+    }
+
+    /**
+     * Similar to {@link #readTaskMan()}
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    @Override
+    public Optional<ReadOnlyTaskMan> readTaskMan(String filePath) throws DataConversionException, IOException {
+        assert filePath != null;
+
+        File taskManFile = new File(filePath);
+
+        if (!taskManFile.exists()) {
+            logger.info("TaskMan file " + taskManFile + " not found");
+            return Optional.empty();
+        }
+
+        if (isXmlFile(taskManFile)) {
+            logger.info("TaskMan file " + taskManFile + " is xml, reading it as xml; it is saved as json from the "
+                    + "next save");
+            return new XmlTaskManStorage(filePath).readTaskMan(filePath);
+        }
+
+        long startTime = System.nanoTime();
+        TaskMan taskMan;
+        try (InputStream in = FileUtil.openForReading(taskManFile);
+             JsonParser parser = JSON_FACTORY.createParser(in)) {
+            Reader reader = new Reader(parser);
+            taskMan = reader.read();
+            DataFormat.reportRemovedFrequencies(taskManFile, reader.removedFrequencies);
+        } catch (JsonProcessingException e) {
+            throw new DataConversionException(e);
+        }
+
+        logger.info(String.format("Loaded %s from %s in %d ms", taskMan, taskManFile,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+        return Optional.of(taskMan);
+    }
+
+    /**
+     * Returns true if the file, once decompressed, starts with an xml tag rather than json, e.g. the data of
+     * {@link XmlTaskManStorage} before the format was changed to json.
+     */
+    private static boolean isXmlFile(File file) throws IOException {
+        try (InputStream in = FileUtil.openForReading(file)) {
+            int next = in.read();
+            if (next == UTF8_BOM_FIRST_BYTE) {
+                in.skip(UTF8_BOM_LENGTH - 1);
+                next = in.read();
+            }
+            while (next != -1 && Character.isWhitespace(next)) {
+                next = in.read();
+            }
+            return next == '<';
+        }
+    }
+
+    @Override
+    public void saveTaskMan(ReadOnlyTaskMan taskMan) throws IOException {
+        saveTaskMan(taskMan, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveTaskMan(ReadOnlyTaskMan)}
+     * The file is replaced atomically, so it is never left half-written.
+     * @param filePath location of the data. Cannot be null
+     */
+    @Override
+    public void saveTaskMan(ReadOnlyTaskMan taskMan, String filePath) throws IOException {
+        assert taskMan != null;
+        assert filePath != null;
+
+        File file = new File(filePath);
+        long startTime = System.nanoTime();
+        FileUtil.WriteStatistics written = FileUtil.writeAtomically(file, out -> write(taskMan, out), syncWrites);
+        logger.fine(String.format("Saved %s to %s in %d ms (%s)", taskMan, file,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), written));
+    }
+
+    private static void write(ReadOnlyTaskMan taskMan, OutputStream out) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField(FIELD_VERSION, DataFormat.VERSION);
+
+            generator.writeArrayFieldStart(FIELD_TAGS);
+            for (Tag tag : taskMan.getTagList()) {
+                generator.writeString(tag.tagName);
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart(FIELD_ACTIVITIES);
+            for (Activity activity : taskMan.getActivityList()) {
+                writeActivity(activity, generator);
+            }
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeActivity(Activity activity, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(FIELD_TYPE,
+                activity.getType() == Activity.ActivityType.TASK ? TYPE_TASK : TYPE_EVENT);
+        generator.writeStringField(FIELD_TITLE, activity.getTitle().title);
+        if (activity.getStatus().isPresent()) {
+            generator.writeStringField(FIELD_STATUS, activity.getStatus().get().completed
+                    ? STATUS_COMPLETE : STATUS_INCOMPLETE);
+        }
+        if (activity.getDeadline().isPresent()) {
+            generator.writeNumberField(FIELD_DEADLINE, activity.getDeadline().get().epochSecond);
+        }
+        if (activity.getFrequency().isPresent()) {
+            generator.writeNumberField(FIELD_FREQUENCY, activity.getFrequency().get().seconds);
+        }
+        if (activity.getSchedule().isPresent()) {
+            generator.writeNumberField(FIELD_SCHEDULE_START, activity.getSchedule().get().startEpochSecond);
+            generator.writeNumberField(FIELD_SCHEDULE_END, activity.getSchedule().get().endEpochSecond);
+        }
+        generator.writeArrayFieldStart(FIELD_TAGS);
+        for (Tag tag : activity.getTags()) {
+            generator.writeString(tag.tagName);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Reads a whole taskMan from a parser positioned before the start of the file.
+     */
+    private static class Reader {
+        private final JsonParser parser;
+        private final TaskMan taskMan = new TaskMan();
+        private final Map<String, Tag> masterTags = new HashMap<>();
+        private final List<Activity> activities = new ArrayList<>();
+        /** The titles of the activities whose frequencies were saved in an older format and removed */
+        private final List<String> removedFrequencies = new ArrayList<>();
+        /** Null until read; files of older formats have none, and files of newer ones have it as the first field */
+        private Integer version;
+        private int invalidRecords;
+
+        Reader(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        TaskMan read() throws IOException {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case FIELD_VERSION: {
+                        Long readVersion = readLong(value);
+                        version = readVersion != null ? readVersion.intValue() : null;
+                        break;
+                    }
+                    case FIELD_TAGS: {
+                        readTags(value);
+                        break;
+                    }
+                    case FIELD_ACTIVITIES: {
+                        expect(value, JsonToken.START_ARRAY);
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            readActivity();
+                        }
+                        expect(parser.getCurrentToken(), JsonToken.END_ARRAY);
+                        break;
+                    }
+                    default: {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            expect(parser.getCurrentToken(), JsonToken.END_OBJECT);
+
+            addMissingTags();
+            int duplicateRecords = taskMan.addActivities(activities);
+            if (invalidRecords > 0 || duplicateRecords > 0) {
+                logger.warning("Skipped " + invalidRecords + " invalid and " + duplicateRecords
+                        + " duplicate records while loading TaskMan");
+            }
+            return taskMan;
+        }
+
+        private void readTags(JsonToken value) throws IOException {
+            expect(value, JsonToken.START_ARRAY);
+            while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                String name = parser.getText();
+                if (!masterTags.containsKey(name)) {
+                    try {
+                        Tag tag = new Tag(name);
+                        taskMan.addTag(tag);
+                        masterTags.put(name, tag);
+                    } catch (IllegalValueException e) {
+                        logger.warning("Skipped invalid tag " + name + " while loading TaskMan");
+                    }
+                }
+            }
+            expect(parser.getCurrentToken(), JsonToken.END_ARRAY);
+        }
+
+        /**
+         * Adds the tags used by activities but missing from the file's tag list, in name order.
+         */
+        private void addMissingTags() {
+            List<Tag> missingTags = new ArrayList<>(masterTags.values());
+            missingTags.removeAll(taskMan.getTagList());
+            missingTags.sort(Comparator.comparing(tag -> tag.tagName));
+            for (Tag tag : missingTags) {
+                try {
+                    taskMan.addTag(tag);
+                } catch (UniqueTagList.DuplicateTagException e) {
+                    assert false : "Only missing tags should be added";
+                }
+            }
+        }
+
+        /**
+         * Reads the activity whose START_OBJECT is the current token, up to and including its END_OBJECT.
+         * An activity that violates data constraints is counted and skipped.
+         */
+        private void readActivity() throws IOException {
+            String type = null;
+            String title = null;
+            String status = null;
+            Long deadline = null;
+            Long frequency = null;
+            Long scheduleStart = null;
+            Long scheduleEnd = null;
+            List<String> tagNames = new ArrayList<>();
+            boolean isValid = true;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case FIELD_TYPE: {
+                        type = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                        break;
+                    }
+                    case FIELD_TITLE: {
+                        title = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                        break;
+                    }
+                    case FIELD_STATUS: {
+                        status = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                        break;
+                    }
+                    case FIELD_DEADLINE: {
+                        deadline = readLong(value);
+                        isValid &= deadline != null || value == JsonToken.VALUE_NULL;
+                        break;
+                    }
+                    case FIELD_FREQUENCY: {
+                        frequency = readLong(value);
+                        isValid &= frequency != null || value == JsonToken.VALUE_NULL;
+                        break;
+                    }
+                    case FIELD_SCHEDULE_START: {
+                        scheduleStart = readLong(value);
+                        isValid &= scheduleStart != null || value == JsonToken.VALUE_NULL;
+                        break;
+                    }
+                    case FIELD_SCHEDULE_END: {
+                        scheduleEnd = readLong(value);
+                        isValid &= scheduleEnd != null || value == JsonToken.VALUE_NULL;
+                        break;
+                    }
+                    case FIELD_TAGS: {
+                        expect(value, JsonToken.START_ARRAY);
+                        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY;
+                             token = parser.nextToken()) {
+                            isValid &= token == JsonToken.VALUE_STRING;
+                            tagNames.add(parser.getText());
+                            parser.skipChildren();
+                        }
+                        break;
+                    }
+                    default: {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            expect(parser.getCurrentToken(), JsonToken.END_OBJECT);
+
+            if (frequency != null && !DataFormat.hasFrequencyLengths(version)) {
+                removedFrequencies.add(title);
+                frequency = null;
+            }
+            try {
+                if (!isValid) {
+                    throw new IllegalValueException("Field of the wrong type");
+                }
+                activities.add(toActivity(type, title, status, deadline, frequency, scheduleStart, scheduleEnd,
+                        tagNames));
+            } catch (IllegalValueException e) {
+                invalidRecords++;
+            }
+        }
+
+        private Long readLong(JsonToken value) throws IOException {
+            return value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+        }
+
+        /**
+         * Checks all data constraints at once, so that creating the full activity later cannot fail.
+         */
+        private Activity toActivity(String type, String titleText, String statusText, Long deadlineSeconds,
+                                    Long frequencySeconds, Long scheduleStart, Long scheduleEnd,
+                                    List<String> tagNames) throws IllegalValueException {
+            final boolean isTask = TYPE_TASK.equals(type);
+            if (!isTask && !TYPE_EVENT.equals(type)) {
+                throw new IllegalValueException("Unknown activity type: " + type);
+            }
+            final Title title = new Title(titleText);
+            if (isTask && statusText == null) {
+                throw new IllegalValueException("Task without status");
+            }
+            final Status status = isTask ? new Status(statusText) : null;
+            final Deadline deadline = isTask && deadlineSeconds != null ? new Deadline(deadlineSeconds) : null;
+            final Long frequency = XmlAdaptedEvent.checkFrequency(frequencySeconds);
+            final Schedule schedule = scheduleStart != null && scheduleEnd != null
+                    ? new Schedule(scheduleStart, scheduleEnd)
+                    : null;
+            final List<Tag> tags = new ArrayList<>(tagNames.size());
+            for (String name : tagNames) {
+                Tag tag = getMasterTag(name);
+                if (tags.contains(tag)) {
+                    throw new IllegalValueException("Duplicate tag: " + name);
+                }
+                tags.add(tag);
+            }
+
+            if (!isTask) {
+                return new Activity(new Activity.Stub(Activity.ActivityType.EVENT, title, null, schedule, null,
+                        () -> new Event(title, XmlAdaptedTag.toUniqueTagList(tags), schedule,
+                                frequency != null ? new Frequency(frequency) : null)));
+            }
+            return new Activity(new Activity.Stub(Activity.ActivityType.TASK, title, deadline, schedule, status,
+                    () -> {
+                        Task task = new Task(title, XmlAdaptedTag.toUniqueTagList(tags), deadline, schedule,
+                                frequency != null ? new Frequency(frequency) : null);
+                        task.setStatus(status);
+                        return task;
+                    }));
+        }
+
+        private Tag getMasterTag(String name) throws IllegalValueException {
+            Tag tag = masterTags.get(name);
+            if (tag == null) {
+                tag = new Tag(name);
+                masterTags.put(name, tag);
+            }
+            return tag;
+        }
+
+        private void expect(JsonToken actual, JsonToken expected) throws JsonParseException {
+            if (actual != expected) {
+                throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+            }
+        }
+    }
+
+}
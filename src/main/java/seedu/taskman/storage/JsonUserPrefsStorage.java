@@ -3,6 +3,7 @@ package seedu.taskman.storage;
 import seedu.taskman.commons.core.LogsCenter;
 import seedu.taskman.commons.exceptions.DataConversionException;
 import seedu.taskman.commons.util.FileUtil;
+import seedu.taskman.commons.util.JsonUtil;
 import seedu.taskman.model.UserPrefs;
 
 import java.io.File;
@@ -12,10 +13,12 @@ import java.util.logging.Logger;
 
 /**
  * A class to access UserPrefs stored in the hard disk as a json file
+ * The file is gzip-compressed if its name ends with {@code .gz} or it was compressed already.
  */
 public class JsonUserPrefsStorage implements UserPrefsStorage{
 
     private static final Logger logger = LogsCenter.getLogger(JsonUserPrefsStorage.class);
+    private static final String CHARSET = "UTF-8";
 
     private String filePath;
 
@@ -68,6 +71,9 @@ public class JsonUserPrefsStorage implements UserPrefsStorage{
         assert userPrefs != null;
         assert prefsFilePath != null;
 
-        FileUtil.serializeObjectToJsonFile(new File(prefsFilePath), userPrefs);
+        File prefsFile = new File(prefsFilePath);
+        FileUtil.WriteStatistics written = FileUtil.writeAtomically(prefsFile,
+                out -> out.write(JsonUtil.toJsonString(userPrefs).getBytes(CHARSET)), false);
+        logger.fine("Saved prefs to " + prefsFile + " (" + written + ")");
     }
 }
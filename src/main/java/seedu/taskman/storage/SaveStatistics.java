@@ -0,0 +1,66 @@
+package seedu.taskman.storage;
+
+import seedu.taskman.commons.core.Config;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the changes to the data and the saves they caused, and how long those saves took.
+ * Used to compare the cost of the {@link Config.Durability} levels.
+ */
+public class SaveStatistics {
+
+    private final Config.Durability durability;
+    private long changes;
+    private long saves;
+    private long totalSaveNanos;
+    private long maxSaveNanos;
+
+    public SaveStatistics(Config.Durability durability) {
+        this.durability = durability;
+    }
+
+    public synchronized void recordChange() {
+        changes++;
+    }
+
+    public synchronized void recordSave(long saveNanos) {
+        saves++;
+        totalSaveNanos += saveNanos;
+        maxSaveNanos = Math.max(maxSaveNanos, saveNanos);
+    }
+
+    public Config.Durability getDurability() {
+        return durability;
+    }
+
+    public synchronized long getChangeCount() {
+        return changes;
+    }
+
+    public synchronized long getSaveCount() {
+        return saves;
+    }
+
+    public synchronized long getTotalSaveMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalSaveNanos);
+    }
+
+    public synchronized long getMaxSaveMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxSaveNanos);
+    }
+
+    /**
+     * Returns the average time spent saving per change, which is what a change costs at this durability level.
+     */
+    public synchronized double getMillisPerChange() {
+        return changes == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalSaveNanos) / 1000.0 / changes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s: %d changes, %d saves, %d ms saving in total (%.2f ms per change, max %d ms)",
+                durability, changes, saves, getTotalSaveMillis(), getMillisPerChange(), getMaxSaveMillis());
+    }
+
+}
@@ -0,0 +1,439 @@
+package seedu.taskman.storage;
+
+import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.exceptions.DataConversionException;
+import seedu.taskman.commons.exceptions.IllegalValueException;
+import seedu.taskman.commons.util.FileUtil;
+import seedu.taskman.commons.util.XmlUtil;
+import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.TaskMan;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Title;
+
+import javax.xml.bind.JAXBException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * A class to access TaskMan data stored as one xml file per month on the hard disk.
+ *
+ * Activities are kept in the shard of the month (in UTC) of their deadline, or of the start of their schedule
+ * if they have no deadline. Activities with neither are kept in the floating shard. A manifest lists the
+ * shards and holds the tags. All these files live in a directory named after the data file, e.g. the shards
+ * of {@code data/taskMan.xml} are kept in {@code data/taskMan/}.
+ *
+ * Only the shards whose activities changed since they were last read or written are rewritten on save.
+ * Shards more than {@code historyMonths} months in the past are not loaded at all; they are kept as they are
+ * on save, unless an activity is moved into one of them. Each shard of a past month is written with a title
+ * index, {@code <shard>.titles.xml}; the titles of unloaded shards are reserved in the taskMan read, so that no
+ * activity can be added or renamed to a title that is only on disk. A shard listed in the manifest must exist.
+ */
+public class ShardedXmlTaskManStorage implements TaskManStorage {
+
+    /** Loads every shard, however old. */
+    public static final int LOAD_ALL_HISTORY = -1;
+
+    static final String MANIFEST_FILE_NAME = "manifest.xml";
+    static final String FLOATING_SHARD = "floating";
+    private static final String SHARD_FILE_EXTENSION = ".xml";
+    private static final String TITLES_FILE_EXTENSION = ".titles.xml";
+
+    private static final Logger logger = LogsCenter.getLogger(ShardedXmlTaskManStorage.class);
+
+    private String filePath;
+    private final int historyMonths;
+    private final boolean syncWrites;
+    private final Map<File, ShardSet> shardSets = new HashMap<>();
+
+    /**
+     * @param historyMonths how many months of past shards to load, or {@link #LOAD_ALL_HISTORY}
+     * @param syncWrites if true, every file written is forced to the storage device before it replaces the old one
+     */
+    public ShardedXmlTaskManStorage(String filePath, int historyMonths, boolean syncWrites) {
+        this.filePath = filePath;
+        this.historyMonths = historyMonths;
+        this.syncWrites = syncWrites;
+    }
+
+    public ShardedXmlTaskManStorage(String filePath, int historyMonths) {
+        this(filePath, historyMonths, false);
+    }
+
+    public ShardedXmlTaskManStorage(String filePath) {
+        this(filePath, LOAD_ALL_HISTORY);
+    }
+
+    public String getTaskManFilePath(){
+        return filePath;
+    }
+
+    /**
+     * Returns the directory holding the shards of the given data file.
+     */
+    public static File getShardDirectory(String filePath) {
+        File file = new File(filePath);
+        String name = file.getName();
+        if (FileUtil.isGzipPath(file)) {
+            name = name.substring(0, name.length() - FileUtil.GZIP_EXTENSION.length());
+        }
+        int extensionStart = name.lastIndexOf('.');
+        return new File(file.getAbsoluteFile().getParentFile(),
+                extensionStart > 0 ? name.substring(0, extensionStart) : name + "-shards");
+    }
+
+    /**
+     * Returns the name of the shard the activity belongs to.
+     */
+    static String getShardName(Activity activity) {
+        if (activity.getDeadline().isPresent()) {
+            return getShardName(activity.getDeadline().get().epochSecond);
+        }
+        if (activity.getSchedule().isPresent()) {
+            return getShardName(activity.getSchedule().get().startEpochSecond);
+        }
+        return FLOATING_SHARD;
+    }
+
+    private static String getShardName(long epochSecond) {
+        return YearMonth.from(Instant.ofEpochSecond(epochSecond).atOffset(ZoneOffset.UTC)).toString();
+    }
+
+    /**
+     * Returns true if the shard is of a month before the current one, so a read with any history window may
+     * leave it unloaded.
+     */
+    private static boolean isPastMonth(String shardName) {
+        return !shardName.equals(FLOATING_SHARD)
+                && shardName.compareTo(YearMonth.now(ZoneOffset.UTC).toString()) < 0;
+    }
+
+    /**
+     * Returns true if the shard is within the history window and should be loaded.
+     */
+    private boolean isInHistoryWindow(String shardName) {
+        if (historyMonths < 0 || shardName.equals(FLOATING_SHARD)) {
+            return true;
+        }
+        String oldestLoaded = YearMonth.now(ZoneOffset.UTC).minusMonths(historyMonths).toString();
+        return shardName.compareTo(oldestLoaded) >= 0;
+    }
+
+    private synchronized ShardSet getShardSet(File directory) {
+        return shardSets.computeIfAbsent(directory, ShardSet::new);
+    }
+
+    /**
+     * Similar to {@link #readTaskMan()}
+     * If there is no manifest yet, data saved as a single xml file at {@code filePath} is read instead;
+     * it is written as shards on the next save.
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if a file is not in the correct format.
+     */
+    public Optional<ReadOnlyTaskMan> readTaskMan(String filePath) throws DataConversionException, IOException {
+        assert filePath != null;
+
+        File directory = getShardDirectory(filePath);
+        if (!new File(directory, MANIFEST_FILE_NAME).exists()) {
+            logger.info("No shards found in " + directory + ", reading " + filePath);
+            return new XmlTaskManStorage(filePath).readTaskMan(filePath);
+        }
+        return Optional.of(getShardSet(directory).read());
+    }
+
+    /**
+     * Similar to {@link #saveTaskMan(ReadOnlyTaskMan)}
+     * @param filePath location of the data. Cannot be null
+     */
+    public void saveTaskMan(ReadOnlyTaskMan taskMan, String filePath) throws IOException {
+        assert taskMan != null;
+        assert filePath != null;
+
+        getShardSet(getShardDirectory(filePath)).save(taskMan);
+    }
+
+    @Override
+    public Optional<ReadOnlyTaskMan> readTaskMan() throws DataConversionException, IOException {
+        return readTaskMan(filePath);
+    }
+
+    @Override
+    public void saveTaskMan(ReadOnlyTaskMan taskMan) throws IOException {
+        saveTaskMan(taskMan, filePath);
+    }
+
+    @Override
+    public void warmUp() {
+        try {
+            XmlFragmentCache.warmUp();
+        } catch (IOException e) {
+            logger.warning("Failed to warm up xml conversion: " + e);
+        }
+    }
+
+    /**
+     * Groups the activities by shard, keeping their order within each shard.
+     */
+    private static Map<String, List<Activity>> groupByShard(List<Activity> activities) {
+        Map<String, List<Activity>> shards = new TreeMap<>();
+        for (Activity activity : activities) {
+            shards.computeIfAbsent(getShardName(activity), name -> new ArrayList<>()).add(activity);
+        }
+        return shards;
+    }
+
+    /**
+     * The shards in one directory, with what is known about their contents on disk.
+     */
+    private class ShardSet {
+        private final File directory;
+        /** Caches of the shards whose contents are known, by shard name. */
+        private final Map<String, XmlFragmentCache> loadedShards = new HashMap<>();
+        /** Shards on disk that were left out of the last read. */
+        private final Set<String> unloadedShards = new TreeSet<>();
+        /** Activities read from previously unloaded shards that are not in the model, by shard name. */
+        private final Map<String, List<Activity>> retainedActivities = new HashMap<>();
+        private XmlShardManifest manifest;
+
+        ShardSet(File directory) {
+            this.directory = directory;
+        }
+
+        private File getShardFile(String shardName) {
+            return new File(directory, shardName + SHARD_FILE_EXTENSION);
+        }
+
+        private File getTitlesFile(String shardName) {
+            return new File(directory, shardName + TITLES_FILE_EXTENSION);
+        }
+
+        synchronized TaskMan read() throws DataConversionException, FileNotFoundException {
+            long startTime = System.nanoTime();
+            manifest = readManifest();
+            loadedShards.clear();
+            unloadedShards.clear();
+            retainedActivities.clear();
+
+            Set<Title> unloadedTitles = new HashSet<>();
+            List<XmlAdaptedEvent> events = new ArrayList<>();
+            List<XmlAdaptedTask> tasks = new ArrayList<>();
+            for (String shardName : manifest.getShards()) {
+                if (!isInHistoryWindow(shardName)) {
+                    unloadedShards.add(shardName);
+                    unloadedTitles.addAll(toTitles(readTitles(shardName)));
+                    continue;
+                }
+                XmlSerializableTaskMan shard = readShard(shardName);
+                events.addAll(shard.getAdaptedEvents());
+                tasks.addAll(shard.getAdaptedTasks());
+            }
+            TaskMan taskMan = new XmlSerializableTaskMan(events, tasks, manifest.getTags()).toModelType();
+            taskMan.reserveTitles(unloadedTitles);
+
+            // what was just read is what is on disk, so nothing needs to be written until it changes
+            for (Map.Entry<String, List<Activity>> shard : groupByShard(taskMan.getActivityList()).entrySet()) {
+                XmlFragmentCache cache = new XmlFragmentCache();
+                cache.prime(shard.getValue(), Collections.emptyList());
+                loadedShards.put(shard.getKey(), cache);
+            }
+
+            logger.info(String.format("Loaded %d of %d shards from %s in %d ms", loadedShards.size(),
+                    manifest.getShards().size(), directory,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+            return taskMan;
+        }
+
+        private XmlShardManifest readManifest() throws DataConversionException, FileNotFoundException {
+            try {
+                return XmlUtil.getDataFromFile(new File(directory, MANIFEST_FILE_NAME), XmlShardManifest.class);
+            } catch (JAXBException e) {
+                throw new DataConversionException(e);
+            }
+        }
+
+        /**
+         * Returns the titles of the activities in the shard from its title index. A shard without one, e.g. one
+         * that was of the current month when last written, has its titles read from the shard and indexed.
+         */
+        private List<String> readTitles(String shardName) throws DataConversionException, FileNotFoundException {
+            File titlesFile = getTitlesFile(shardName);
+            if (titlesFile.exists()) {
+                try {
+                    return XmlUtil.getDataFromFile(titlesFile, XmlShardTitles.class).getTitles();
+                } catch (JAXBException e) {
+                    throw new DataConversionException(e);
+                }
+            }
+            logger.info("Reading the titles of shard " + shardName + ", which has no title index");
+            List<String> titles = new ArrayList<>();
+            for (Activity activity : readShard(shardName).toModelType().getActivityList()) {
+                titles.add(activity.getTitle().title);
+            }
+            try {
+                writeTitles(shardName, titles);
+            } catch (IOException e) {
+                logger.warning("Failed to index the titles of shard " + shardName + ": " + e);
+            }
+            return titles;
+        }
+
+        private void writeTitles(String shardName, List<String> titles) throws IOException {
+            XmlShardTitles index = new XmlShardTitles(titles);
+            FileUtil.writeAtomically(getTitlesFile(shardName), out -> {
+                try {
+                    XmlUtil.saveDataToStream(out, index);
+                } catch (JAXBException e) {
+                    throw new IOException(e);
+                }
+            }, syncWrites);
+        }
+
+        private Set<Title> toTitles(List<String> titleNames) throws DataConversionException {
+            Set<Title> titles = new HashSet<>();
+            try {
+                for (String title : titleNames) {
+                    titles.add(new Title(title));
+                }
+            } catch (IllegalValueException e) {
+                throw new DataConversionException(e);
+            }
+            return titles;
+        }
+
+        /**
+         * Reads a shard listed in the manifest.
+         * @throws DataConversionException if the shard is missing, as saving without it would lose its activities
+         */
+        private XmlSerializableTaskMan readShard(String shardName) throws DataConversionException,
+                                                                           FileNotFoundException {
+            File shardFile = getShardFile(shardName);
+            if (!shardFile.exists()) {
+                throw new DataConversionException(new FileNotFoundException(
+                        "Shard " + shardFile + " listed in the manifest is missing"));
+            }
+            return XmlFileStorage.loadDataFromSaveFile(shardFile);
+        }
+
+        synchronized void save(ReadOnlyTaskMan taskMan) throws IOException {
+            long startTime = System.nanoTime();
+            FileUtil.createDirs(directory);
+            Map<String, List<Activity>> shards = groupByShard(taskMan.getActivityList());
+            retainUnloadedActivities(taskMan, shards);
+
+            int writtenShards = 0;
+            for (Map.Entry<String, List<Activity>> shard : shards.entrySet()) {
+                XmlFragmentCache cache = loadedShards.computeIfAbsent(shard.getKey(), name -> new XmlFragmentCache());
+                if (cache.isUpToDate(shard.getValue(), Collections.emptyList())) {
+                    continue;
+                }
+                try {
+                    writeShard(shard.getKey(), shard.getValue(), cache);
+                } catch (IOException e) {
+                    cache.invalidate();
+                    throw e;
+                }
+                writtenShards++;
+            }
+
+            Set<String> emptiedShards = new HashSet<>(loadedShards.keySet());
+            emptiedShards.removeAll(shards.keySet());
+            Set<String> shardNames = new TreeSet<>(shards.keySet());
+            shardNames.addAll(unloadedShards);
+            if (manifest == null || !manifest.getShards().equals(new ArrayList<>(shardNames))
+                    || !manifest.getTags().equals(taskMan.getTagList())) {
+                XmlShardManifest updated = new XmlShardManifest(new ArrayList<>(shardNames), taskMan.getTagList());
+                FileUtil.writeAtomically(new File(directory, MANIFEST_FILE_NAME), out -> {
+                    try {
+                        XmlUtil.saveDataToStream(out, updated);
+                    } catch (JAXBException e) {
+                        throw new IOException(e);
+                    }
+                }, syncWrites);
+                manifest = updated;
+            }
+
+            // shards are only removed once the manifest no longer lists them
+            for (String shardName : emptiedShards) {
+                loadedShards.remove(shardName);
+                retainedActivities.remove(shardName);
+                if (!getShardFile(shardName).delete()) {
+                    logger.warning("Failed to delete empty shard " + getShardFile(shardName));
+                }
+                if (getTitlesFile(shardName).exists() && !getTitlesFile(shardName).delete()) {
+                    logger.warning("Failed to delete the title index of empty shard " + shardName);
+                }
+            }
+
+            logger.fine(String.format("Saved %d of %d shards to %s in %d ms", writtenShards, shards.size(),
+                    directory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+        }
+
+        /**
+         * Writes a shard whose activities changed, with its title index if it is of a past month.
+         * The old index is removed first, so that an index is never older than its shard.
+         */
+        private void writeShard(String shardName, List<Activity> activities, XmlFragmentCache cache)
+                throws IOException {
+            Files.deleteIfExists(getTitlesFile(shardName).toPath());
+            FileUtil.writeAtomically(getShardFile(shardName),
+                    out -> cache.write(activities, Collections.emptyList(), out), syncWrites);
+            if (isPastMonth(shardName)) {
+                List<String> titles = new ArrayList<>(activities.size());
+                for (Activity activity : activities) {
+                    titles.add(activity.getTitle().title);
+                }
+                writeTitles(shardName, titles);
+            }
+        }
+
+        /**
+         * Adds the activities on disk of unloaded shards that are about to be rewritten, so that they are not lost.
+         * Activities whose titles are now in the model are left out, which can only happen if the taskMan saved
+         * did not reserve their titles.
+         */
+        private void retainUnloadedActivities(ReadOnlyTaskMan taskMan, Map<String, List<Activity>> shards)
+                throws IOException {
+            Set<String> titles = null;
+            for (String shardName : shards.keySet()) {
+                if (unloadedShards.remove(shardName)) {
+                    loadedShards.put(shardName, new XmlFragmentCache());
+                    try {
+                        retainedActivities.put(shardName, readShard(shardName).toModelType().getActivityList());
+                    } catch (DataConversionException e) {
+                        throw new IOException(e);
+                    }
+                }
+            }
+            for (Map.Entry<String, List<Activity>> retained : retainedActivities.entrySet()) {
+                if (titles == null) {
+                    titles = new HashSet<>();
+                    for (Activity activity : taskMan.getActivityList()) {
+                        titles.add(activity.getTitle().title);
+                    }
+                }
+                for (Activity activity : retained.getValue()) {
+                    if (!titles.contains(activity.getTitle().title)) {
+                        shards.computeIfAbsent(retained.getKey(), name -> new ArrayList<>()).add(activity);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package seedu.taskman.storage;
 
 import seedu.taskman.commons.events.model.TaskManChangedEvent;
+import seedu.taskman.commons.events.storage.DataFileChangedEvent;
 import seedu.taskman.commons.events.storage.DataSavingExceptionEvent;
 import seedu.taskman.commons.exceptions.DataConversionException;
 import seedu.taskman.model.ReadOnlyTaskMan;
@@ -35,4 +36,15 @@ public interface Storage extends TaskManStorage, UserPrefsStorage {
      * Raises {@link DataSavingExceptionEvent} if there was an error during saving.
      */
     void handleTaskManChangedEvent(TaskManChangedEvent abce);
+
+    /**
+     * Starts watching the data file for changes made by other programs, if enabled in the config.
+     * Each change is read and raised as a {@link DataFileChangedEvent}.
+     */
+    void startWatchingDataFile();
+
+    /**
+     * Saves any changes that are still pending and stops saving in the background.
+     */
+    void stop();
 }
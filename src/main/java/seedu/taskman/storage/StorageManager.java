@@ -2,37 +2,152 @@ package seedu.taskman.storage;
 
 import com.google.common.eventbus.Subscribe;
 import seedu.taskman.commons.core.ComponentManager;
+import seedu.taskman.commons.core.Config;
 import seedu.taskman.commons.core.LogsCenter;
 import seedu.taskman.commons.events.model.TaskManChangedEvent;
+import seedu.taskman.commons.events.storage.DataFileChangedEvent;
+import seedu.taskman.commons.events.storage.DataFileConflictEvent;
 import seedu.taskman.commons.events.storage.DataSavingExceptionEvent;
 import seedu.taskman.commons.exceptions.DataConversionException;
+import seedu.taskman.commons.util.FileUtil;
 import seedu.taskman.model.ReadOnlyTaskMan;
 import seedu.taskman.model.UserPrefs;
 
+import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
  * Manages storage of TaskMan data in local storage.
+ *
+ * When the data changes, it is saved according to the {@link Config.Durability} level: at once on the
+ * thread that changed it ({@code ATOMIC}), or later on a background thread from a snapshot of the data
+ * ({@code IN_MEMORY} and {@code FSYNC}).
+ * A gzip-compressed data file is always saved on the background thread, at once for {@code ATOMIC}, so that
+ * compressing it does not hold up the thread that changed the data.
+ *
+ * If enabled in the config, the data file is also watched for changes made by other programs, which are read
+ * and raised as a {@link DataFileChangedEvent}. Changes to the model that came from the data file are not saved.
+ * If they arrive while local changes are not saved yet, the local version is written to a separate file, see
+ * {@link #getLocalVersionFile(String)}, and a {@link DataFileConflictEvent} tells the user where it is.
+ * Successful saves also let the {@link BackupManager}, if any, back up the data file in the background.
  */
 public class StorageManager extends ComponentManager implements Storage {
 
     private static final Logger logger = LogsCenter.getLogger(StorageManager.class);
+    private static final String LOCAL_VERSION_FILE_SUFFIX = ".local.xml";
     private TaskManStorage taskManStorage;
     private UserPrefsStorage userPrefsStorage;
 
+    private final Config.Durability durability;
+    private final int groupCommitMillis;
+    private final SaveStatistics saveStatistics;
+    private final TaskManSnapshotter snapshotter = new TaskManSnapshotter();
+    /** Saves changes in the background, null if changes are saved at once */
+    private final ScheduledExecutorService saveExecutor;
+    /** Snapshot of the latest changes not saved yet, guarded by this */
+    private ReadOnlyTaskMan pendingTaskMan;
+    private boolean isCommitScheduled;
+    /** Watches the data file for changes by other programs, null if it is not watched */
+    private DataFileMonitor dataFileMonitor;
+    /** Keeps backups of the data file, null if there are none */
+    private BackupManager backupManager;
+    /** Held while the data file is read or written, so the monitor can tell those from other programs' changes */
+    private final Object dataFileLock = new Object();
 
-    public StorageManager(TaskManStorage taskManStorage, UserPrefsStorage userPrefsStorage) {
+
+    public StorageManager(TaskManStorage taskManStorage, UserPrefsStorage userPrefsStorage,
+                          Config.Durability durability, int flushIntervalSeconds, int groupCommitMillis) {
         super();
         this.taskManStorage = taskManStorage;
         this.userPrefsStorage = userPrefsStorage;
+        this.durability = durability;
+        this.groupCommitMillis = groupCommitMillis;
+        this.saveStatistics = new SaveStatistics(durability);
+
+        if (durability == Config.Durability.ATOMIC && !isCompressed(taskManStorage)) {
+            saveExecutor = null;
+            return;
+        }
+        saveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TaskMan saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (durability == Config.Durability.IN_MEMORY) {
+            saveExecutor.scheduleWithFixedDelay(this::savePendingChanges,
+                    flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public StorageManager(TaskManStorage taskManStorage, UserPrefsStorage userPrefsStorage) {
+        this(taskManStorage, userPrefsStorage, Config.Durability.ATOMIC, 0, 0);
     }
 
     public StorageManager(String taskManFilePath, String userPrefsFilePath) {
         this(new XmlTaskManStorage(taskManFilePath), new JsonUserPrefsStorage(userPrefsFilePath));
     }
 
+    public StorageManager(Config config) {
+        this(createTaskManStorage(config), new JsonUserPrefsStorage(config.getUserPrefsFilePath()),
+                config.getDurability(), config.getFlushIntervalSeconds(), config.getGroupCommitMillis());
+        // the sharded layout keeps its data in a directory of files instead
+        if (config.isDataFileWatched() && config.getTaskManStorageFormat() != Config.StorageFormat.SHARDED_XML) {
+            dataFileMonitor = new DataFileMonitor(config.getTaskManFilePath(), this::reloadChangedDataFile);
+        }
+        if (config.getBackupCount() > 0 && config.getTaskManStorageFormat() != Config.StorageFormat.SHARDED_XML) {
+            backupManager = new BackupManager(config.getTaskManFilePath(), config.getBackupCount(),
+                    Duration.ofMinutes(config.getBackupIntervalMinutes()),
+                    Duration.ofDays(config.getBackupMaxAgeDays()),
+                    config.getBackupMaxTotalMegabytes() * 1024L * 1024L);
+        }
+    }
+
+    /**
+     * Returns the storage for the taskMan data in the format chosen in the config.
+     */
+    public static TaskManStorage createTaskManStorage(Config config) {
+        switch (config.getTaskManStorageFormat()) {
+            case SHARDED_XML: {
+                return new ShardedXmlTaskManStorage(config.getTaskManFilePath(), config.getShardedHistoryMonths(),
+                        config.getDurability() == Config.Durability.FSYNC);
+            }
+            case JSON: {
+                TaskManStorage jsonStorage = new JsonTaskManStorage(config.getTaskManFilePath(),
+                        config.getDurability() == Config.Durability.FSYNC);
+                return config.isModelCacheEnabled() ? new CachedTaskManStorage(jsonStorage) : jsonStorage;
+            }
+            default: {
+                TaskManStorage xmlStorage = new XmlTaskManStorage(config.getTaskManFilePath(),
+                        config.getDurability() == Config.Durability.FSYNC);
+                return config.isModelCacheEnabled() ? new CachedTaskManStorage(xmlStorage) : xmlStorage;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the data file is saved compressed, i.e. it has the gzip extension or is already compressed,
+     * as decided by {@link FileUtil#writeAtomically}.
+     */
+    private static boolean isCompressed(TaskManStorage taskManStorage) {
+        String filePath = taskManStorage.getTaskManFilePath();
+        if (filePath == null) {
+            return false;
+        }
+        File file = new File(filePath);
+        try {
+            return FileUtil.isGzipPath(file) || FileUtil.isGzipFile(file);
+        } catch (IOException e) {
+            logger.warning("Failed to check whether " + filePath + " is compressed: " + e);
+            return false;
+        }
+    }
+
     // ================ UserPrefs methods ==============================
 
     @Override
@@ -61,7 +176,11 @@ public class StorageManager extends ComponentManager implements Storage {
     @Override
     public Optional<ReadOnlyTaskMan> readTaskMan(String filePath) throws DataConversionException, IOException {
         logger.fine("Attempting to read data from file: " + filePath);
-        return taskManStorage.readTaskMan(filePath);
+        synchronized (dataFileLock) {
+            // recorded first, so that a change made while reading is still picked up afterwards
+            recordKnownVersion(filePath);
+            return taskManStorage.readTaskMan(filePath);
+        }
     }
 
     @Override
@@ -72,19 +191,218 @@ public class StorageManager extends ComponentManager implements Storage {
     @Override
     public void saveTaskMan(ReadOnlyTaskMan taskMan, String filePath) throws IOException {
         logger.fine("Attempting to write to data file: " + filePath);
-        taskManStorage.saveTaskMan(taskMan, filePath);
+        synchronized (dataFileLock) {
+            taskManStorage.saveTaskMan(taskMan, filePath);
+            recordKnownVersion(filePath);
+        }
+    }
+
+    @Override
+    public void warmUp() {
+        taskManStorage.warmUp();
+    }
+
+    /**
+     * Returns the file the local version of the data is kept in when the data file is changed by another program
+     * while local changes are not saved yet.
+     */
+    public static File getLocalVersionFile(String filePath) {
+        return new File(filePath + LOCAL_VERSION_FILE_SUFFIX);
+    }
+
+    private void recordKnownVersion(String filePath) {
+        if (dataFileMonitor != null && filePath.equals(taskManStorage.getTaskManFilePath())) {
+            dataFileMonitor.recordKnownVersion();
+        }
+    }
+
+    @Override
+    public void startWatchingDataFile() {
+        if (dataFileMonitor == null) {
+            return;
+        }
+        try {
+            dataFileMonitor.start();
+        } catch (IOException e) {
+            logger.warning("Changes to the data file by other programs will not be noticed: " + e);
+            dataFileMonitor = null;
+        }
+    }
+
+    /**
+     * Reads the data file if it was changed by another program, and raises a {@link DataFileChangedEvent}
+     * with the new data.
+     */
+    private void reloadChangedDataFile() {
+        ReadOnlyTaskMan newData;
+        synchronized (dataFileLock) {
+            if (dataFileMonitor.isKnownVersion()) {
+                return;
+            }
+            try {
+                dataFileMonitor.recordKnownVersion();
+                Optional<ReadOnlyTaskMan> read = taskManStorage.readTaskMan();
+                if (!read.isPresent()) {
+                    logger.info("Data file removed by another program, keeping the current data");
+                    return;
+                }
+                newData = read.get();
+            } catch (DataConversionException | IOException e) {
+                logger.warning("Data file changed by another program but could not be read: " + e);
+                return;
+            }
+        }
+        logger.info("Data file changed by another program, reloading it");
+        raise(new DataFileChangedEvent(newData));
     }
 
 
     @Override
     @Subscribe
     public void handleTaskManChangedEvent(TaskManChangedEvent event) {
-        logger.info(LogsCenter.getEventHandlingLogMessage(event, "Local data changed, saving to file"));
+        if (event.isFromDataFile) {
+            logger.info(LogsCenter.getEventHandlingLogMessage(event, "Local data reloaded from data file"));
+            ReadOnlyTaskMan unsaved = takePendingChanges();
+            // only saves in the background leave changes unsaved
+            if (unsaved != null && !saveExecutor.isShutdown()) {
+                saveExecutor.execute(() -> keepLocalVersion(unsaved));
+            } else if (unsaved != null) {
+                keepLocalVersion(unsaved);
+            }
+            return;
+        }
+        saveStatistics.recordChange();
+        switch (durability) {
+            case IN_MEMORY: {
+                logger.info(LogsCenter.getEventHandlingLogMessage(event, "Local data changed, saving later"));
+                setPendingChanges(snapshotter.snapshot(event.data));
+                break;
+            }
+            case FSYNC: {
+                logger.info(LogsCenter.getEventHandlingLogMessage(event, "Local data changed, saving shortly"));
+                setPendingChanges(snapshotter.snapshot(event.data));
+                scheduleCommit();
+                break;
+            }
+            default: {
+                if (saveExecutor != null) {
+                    logger.info(LogsCenter.getEventHandlingLogMessage(event, "Local data changed, compressing"));
+                    setPendingChanges(snapshotter.snapshot(event.data));
+                    scheduleCommit();
+                    break;
+                }
+                logger.info(LogsCenter.getEventHandlingLogMessage(event, "Local data changed, saving to file"));
+                saveChanges(event.data);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (dataFileMonitor != null) {
+            dataFileMonitor.stop();
+        }
+        try {
+            if (saveExecutor != null) {
+                saveExecutor.shutdown();
+                saveExecutor.awaitTermination(1, TimeUnit.MINUTES);
+                savePendingChanges();
+            }
+            // the cache is only useful on the next start if it is complete
+            if (taskManStorage instanceof CachedTaskManStorage) {
+                ((CachedTaskManStorage) taskManStorage).awaitCacheWrites();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (backupManager != null) {
+            backupManager.stop();
+        }
+        logger.info("Save statistics " + saveStatistics);
+    }
+
+    public SaveStatistics getSaveStatistics() {
+        return saveStatistics;
+    }
+
+    private synchronized void setPendingChanges(ReadOnlyTaskMan snapshot) {
+        pendingTaskMan = snapshot;
+    }
+
+    /**
+     * Returns the changes not saved yet, or null if there are none, and stops them from being saved.
+     */
+    private synchronized ReadOnlyTaskMan takePendingChanges() {
+        ReadOnlyTaskMan taken = pendingTaskMan;
+        pendingTaskMan = null;
+        return taken;
+    }
+
+    /**
+     * Writes the local version of the data, whose changes were not saved before the data file's changes replaced
+     * them, to a separate file and tells the user where it is.
+     */
+    private void keepLocalVersion(ReadOnlyTaskMan localVersion) {
+        File file = getLocalVersionFile(taskManStorage.getTaskManFilePath());
+        logger.warning("Changes not saved yet were replaced by the data file's changes, keeping them in " + file);
+        try {
+            new XmlTaskManStorage(file.getPath()).saveTaskMan(localVersion);
+        } catch (IOException e) {
+            raise(new DataSavingExceptionEvent(e));
+            return;
+        }
+        raise(new DataFileConflictEvent(file));
+    }
+
+    /**
+     * Schedules a commit of the pending changes unless one is already scheduled,
+     * so that changes made before it runs are forced to the disk together.
+     */
+    private synchronized void scheduleCommit() {
+        if (isCommitScheduled || saveExecutor.isShutdown()) {
+            return;
+        }
+        isCommitScheduled = true;
+        int delayMillis = durability == Config.Durability.FSYNC ? groupCommitMillis : 0;
+        saveExecutor.schedule(this::savePendingChanges, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Saves the pending changes. They stay pending until they are saved, so that a failed save is tried again
+     * with the next flush, commit or stop, unless newer changes replace them first.
+     */
+    private void savePendingChanges() {
+        ReadOnlyTaskMan taskMan;
+        synchronized (this) {
+            taskMan = pendingTaskMan;
+            isCommitScheduled = false;
+        }
+        if (taskMan == null || !saveChanges(taskMan)) {
+            return;
+        }
+        synchronized (this) {
+            if (pendingTaskMan == taskMan) {
+                pendingTaskMan = null;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the changes were saved, or raises a {@link DataSavingExceptionEvent} if they were not.
+     */
+    private boolean saveChanges(ReadOnlyTaskMan taskMan) {
+        long startTime = System.nanoTime();
         try {
-            saveTaskMan(event.data);
+            saveTaskMan(taskMan);
         } catch (IOException e) {
             raise(new DataSavingExceptionEvent(e));
+            return false;
+        }
+        saveStatistics.recordSave(System.nanoTime() - startTime);
+        if (backupManager != null) {
+            backupManager.requestBackup();
         }
+        return true;
     }
 
 }
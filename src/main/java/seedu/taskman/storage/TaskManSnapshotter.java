@@ -0,0 +1,22 @@
+package seedu.taskman.storage;
+
+import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.TaskMan;
+
+/**
+ * Takes snapshots of a taskMan, so that it can be saved on another thread while it keeps changing.
+ *
+ * Activities in a taskMan are replaced rather than changed once added, so a snapshot shares the activity objects
+ * and only copies the lists holding them. Storages that cache by activity (see {@link XmlFragmentCache}) keep
+ * seeing the same objects for activities that did not change.
+ */
+class TaskManSnapshotter {
+
+    public ReadOnlyTaskMan snapshot(ReadOnlyTaskMan taskMan) {
+        TaskMan snapshot = new TaskMan();
+        snapshot.setActivities(taskMan.getActivityList());
+        snapshot.setTags(taskMan.getTagList());
+        return snapshot;
+    }
+
+}
@@ -42,4 +42,11 @@ public interface TaskManStorage {
      */
     void saveTaskMan(ReadOnlyTaskMan taskMan, String filePath) throws IOException;
 
+    /**
+     * Loads what saving needs, so that the first save does not have to wait for it.
+     * Nothing is written to the storage. Does nothing by default.
+     */
+    default void warmUp() {
+    }
+
 }
@@ -8,6 +8,8 @@ import seedu.taskman.model.event.*;
 import javax.xml.bind.annotation.XmlElement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * JAXB-friendly version of the Event.
@@ -60,6 +62,19 @@ public class XmlAdaptedEvent {
     }
 
 
+    /**
+     * Removes the frequency, if any, as it was saved in an older format (see {@link DataFormat}).
+     *
+     * @return the title of this event if it had a frequency
+     */
+    Optional<String> removeFrequency() {
+        if (frequency == null) {
+            return Optional.empty();
+        }
+        frequency = null;
+        return Optional.of(title);
+    }
+
     /**
      * Converts this JAXB-friendly adapted event object into the model's Event object.
      *
@@ -82,4 +97,34 @@ public class XmlAdaptedEvent {
         Event event = new Event(title, tags, schedule, frequency);
         return event;
     }
+
+    /**
+     * Converts this JAXB-friendly adapted event object into an Activity that only creates the model's Event
+     * when it is first needed. All data constraints are checked at once, so creating the Event cannot fail.
+     *
+     * @param masterTags returns the master Tag object of a valid tag name
+     * @throws IllegalValueException if there were any data constraints violated in the adapted event
+     */
+    public Activity toLazyModelType(Function<String, Tag> masterTags) throws IllegalValueException {
+        final Title title = new Title(this.title);
+        final List<Tag> tags = XmlAdaptedTag.toMasterTags(tagged, masterTags);
+        final Long frequency = checkFrequency(this.frequency);
+        final Schedule schedule = this.scheduleStart != null && this.scheduleEnd != null
+                ? new Schedule(this.scheduleStart, this.scheduleEnd)
+                : null;
+
+        return new Activity(new Activity.Stub(Activity.ActivityType.EVENT, title, null, schedule, null,
+                () -> new Event(title, XmlAdaptedTag.toUniqueTagList(tags), schedule,
+                        frequency != null ? new Frequency(frequency) : null)));
+    }
+
+    /**
+     * Returns the frequency, checking that it can be used to create a {@link Frequency}.
+     */
+    static Long checkFrequency(Long frequency) throws IllegalValueException {
+        if (frequency != null && frequency < 0) {
+            throw new IllegalValueException(Frequency.MESSAGE_FREQUENCY_CONSTRAINTS);
+        }
+        return frequency;
+    }
 }
@@ -2,8 +2,12 @@ package seedu.taskman.storage;
 
 import seedu.taskman.commons.exceptions.IllegalValueException;
 import seedu.taskman.model.tag.Tag;
+import seedu.taskman.model.tag.UniqueTagList;
 
 import javax.xml.bind.annotation.XmlValue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 
 /**
  * JAXB-friendly adapted version of the Tag.
@@ -36,4 +40,39 @@ public class XmlAdaptedTag {
         return new Tag(tagName);
     }
 
+    /**
+     * Returns the master Tag objects of the given adapted tags, checking their names without creating new Tags.
+     *
+     * @param masterTags returns the master Tag object of a valid tag name
+     * @throws IllegalValueException if a tag name is invalid or appears more than once
+     */
+    public static List<Tag> toMasterTags(List<XmlAdaptedTag> adaptedTags, Function<String, Tag> masterTags)
+            throws IllegalValueException {
+        final List<Tag> tags = new ArrayList<>(adaptedTags.size());
+        for (XmlAdaptedTag adaptedTag : adaptedTags) {
+            String name = adaptedTag.tagName == null ? "" : adaptedTag.tagName.trim();
+            if (!Tag.isValidTagName(name)) {
+                throw new IllegalValueException(Tag.MESSAGE_TAG_CONSTRAINTS);
+            }
+            Tag tag = masterTags.apply(name);
+            if (tags.contains(tag)) {
+                throw new IllegalValueException("Duplicate tag: " + name);
+            }
+            tags.add(tag);
+        }
+        return tags;
+    }
+
+    /**
+     * Returns the tags as a UniqueTagList. The tags must be unique, as returned by {@link #toMasterTags}.
+     */
+    static UniqueTagList toUniqueTagList(List<Tag> tags) {
+        try {
+            return new UniqueTagList(tags);
+        } catch (UniqueTagList.DuplicateTagException e) {
+            assert false : "Duplicate tags should have been rejected";
+            return new UniqueTagList();
+        }
+    }
+
 }
@@ -8,6 +8,8 @@ import seedu.taskman.model.event.*;
 import javax.xml.bind.annotation.XmlElement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * JAXB-friendly version of the Task.
@@ -73,6 +75,19 @@ public class XmlAdaptedTask {
     }
 
 
+    /**
+     * Removes the frequency, if any, as it was saved in an older format (see {@link DataFormat}).
+     *
+     * @return the title of this task if it had a frequency
+     */
+    Optional<String> removeFrequency() {
+        if (frequency == null) {
+            return Optional.empty();
+        }
+        frequency = null;
+        return Optional.of(title);
+    }
+
     /**
      * Converts this JAXB-friendly adapted task object into the model's Task object.
      *
@@ -100,4 +115,31 @@ public class XmlAdaptedTask {
         task.setStatus(status);
         return task;
     }
+
+    /**
+     * Converts this JAXB-friendly adapted task object into an Activity that only creates the model's Task
+     * when it is first needed. All data constraints are checked at once, so creating the Task cannot fail.
+     *
+     * @param masterTags returns the master Tag object of a valid tag name
+     * @throws IllegalValueException if there were any data constraints violated in the adapted task
+     */
+    public Activity toLazyModelType(Function<String, Tag> masterTags) throws IllegalValueException {
+        final Title title = new Title(this.title);
+        final Status status = new Status(this.status);
+        final List<Tag> tags = XmlAdaptedTag.toMasterTags(tagged, masterTags);
+        final Deadline deadline = this.deadline != null
+                ? new Deadline(this.deadline)
+                : null;
+        final Long frequency = XmlAdaptedEvent.checkFrequency(this.frequency);
+        final Schedule schedule = this.scheduleStart != null && this.scheduleEnd != null
+                ? new Schedule(this.scheduleStart, this.scheduleEnd)
+                : null;
+
+        return new Activity(new Activity.Stub(Activity.ActivityType.TASK, title, deadline, schedule, status, () -> {
+            Task task = new Task(title, XmlAdaptedTag.toUniqueTagList(tags), deadline, schedule,
+                    frequency != null ? new Frequency(frequency) : null);
+            task.setStatus(status);
+            return task;
+        }));
+    }
 }
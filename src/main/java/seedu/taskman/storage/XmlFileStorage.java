@@ -4,6 +4,7 @@ import seedu.taskman.commons.util.XmlUtil;
 import seedu.taskman.commons.exceptions.DataConversionException;
 
 import javax.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 
@@ -24,12 +25,31 @@ public class XmlFileStorage {
     }
 
     /**
-     * Returns task man in the file or an empty task man
+     * Returns task man in the file or an empty task man.
+     * Data saved in an older format is upgraded, see {@link DataFormat}.
      */
     public static XmlSerializableTaskMan loadDataFromSaveFile(File file) throws DataConversionException,
                                                                             FileNotFoundException {
         try {
-            return XmlUtil.getDataFromFile(file, XmlSerializableTaskMan.class);
+            XmlSerializableTaskMan taskMan = XmlUtil.getDataFromFile(file, XmlSerializableTaskMan.class);
+            DataFormat.reportRemovedFrequencies(file, taskMan.upgradeFormat());
+            return taskMan;
+        } catch (JAXBException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    /**
+     * Returns task man in the given content of the file.
+     * Data saved in an older format is upgraded, see {@link DataFormat}.
+     */
+    public static XmlSerializableTaskMan loadDataFromContent(File file, byte[] content)
+            throws DataConversionException {
+        try {
+            XmlSerializableTaskMan taskMan = XmlUtil.getDataFromStream(new ByteArrayInputStream(content),
+                    XmlSerializableTaskMan.class);
+            DataFormat.reportRemovedFrequencies(file, taskMan.upgradeFormat());
+            return taskMan;
         } catch (JAXBException e) {
             throw new DataConversionException(e);
         }
@@ -0,0 +1,272 @@
+package seedu.taskman.storage;
+
+import com.google.common.io.ByteStreams;
+import seedu.taskman.commons.exceptions.IllegalValueException;
+import seedu.taskman.commons.util.XmlUtil;
+import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Deadline;
+import seedu.taskman.model.event.Event;
+import seedu.taskman.model.event.Schedule;
+import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.Title;
+import seedu.taskman.model.tag.Tag;
+import seedu.taskman.model.tag.UniqueTagList;
+
+import javax.xml.bind.JAXBException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Writes a taskMan as xml, reusing the xml of activities that have not changed since the previous write.
+ *
+ * Every activity is marshalled on its own and the resulting fragment is kept by the identity of the activity.
+ * Activities in a taskMan are replaced rather than changed once added, so on the next write an activity that is
+ * the same object reuses its fragment without being compared; only new activities are marshalled.
+ * The fragments are spliced in the order a full marshal would write them, so the bytes written are the same
+ * as those of {@link XmlFileStorage#saveDataToFile}.
+ *
+ * The cache can also tell whether a list of activities is unchanged since it was last written or primed,
+ * which lets callers skip writing a file altogether.
+ */
+class XmlFragmentCache {
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String ROOT = "taskMan version=\"" + DataFormat.VERSION + "\"";
+    private static final byte[] DOCUMENT_START = (XML_DECLARATION + "<" + ROOT + ">").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DOCUMENT_END = "\n</taskMan>\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMPTY_DOCUMENT = (XML_DECLARATION + "<" + ROOT + "/>\n").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] ELEMENT_START = "\n    <".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENT_START = "\n    <events>".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TASK_START = "\n    <tasks>".getBytes(StandardCharsets.UTF_8);
+
+    private Map<Activity, byte[]> fragments = new IdentityHashMap<>();
+    private List<Activity> writtenActivities = Collections.emptyList();
+    private List<Tag> writtenTags = Collections.emptyList();
+    private int reusedFragments;
+
+    /**
+     * Writes the taskMan to the stream in xml format. The stream is not closed.
+     * Fragments of activities that are no longer in the taskMan are dropped.
+     */
+    public void write(ReadOnlyTaskMan taskMan, OutputStream out) throws IOException {
+        assert taskMan != null;
+        write(taskMan.getActivityList(), taskMan.getTagList(), out);
+    }
+
+    /**
+     * Writes a taskMan holding the given activities and tags to the stream in xml format.
+     * The stream is not closed.
+     */
+    public synchronized void write(List<Activity> activities, List<Tag> tags, OutputStream out) throws IOException {
+        assert activities != null && tags != null;
+        assert out != null;
+
+        if (activities.isEmpty() && tags.isEmpty()) {
+            out.write(EMPTY_DOCUMENT);
+            fragments = new IdentityHashMap<>();
+            writtenActivities = Collections.emptyList();
+            writtenTags = Collections.emptyList();
+            return;
+        }
+
+        final Map<Activity, byte[]> written = new IdentityHashMap<>(activities.size() * 2);
+        reusedFragments = 0;
+        out.write(DOCUMENT_START);
+        // a full marshal writes all events before all tasks
+        for (Activity.ActivityType type : Activity.ActivityType.values()) {
+            for (Activity activity : activities) {
+                if (activity.getType() == type) {
+                    byte[] fragment = getFragment(activity);
+                    written.put(activity, fragment);
+                    out.write(fragment);
+                }
+            }
+        }
+        if (!tags.isEmpty()) {
+            out.write(marshalFragment(new XmlSerializableTaskMan(Collections.emptyList(), Collections.emptyList(),
+                    tags)));
+        }
+        out.write(DOCUMENT_END);
+        fragments = written;
+        writtenActivities = new ArrayList<>(activities);
+        writtenTags = new ArrayList<>(tags);
+    }
+
+    /**
+     * Writes a small sample taskMan with a task, an event and a tag nowhere, so that the JAXB context is created
+     * and the classes used by writes are loaded before the first real write needs them.
+     */
+    static void warmUp() throws IOException {
+        List<Activity> activities;
+        List<Tag> tags;
+        try {
+            Title title = new Title("Warm up");
+            activities = Arrays.asList(
+                    new Activity(new Task(title, new UniqueTagList(), new Deadline(1), null, null)),
+                    new Activity(new Event(title, new UniqueTagList(), new Schedule(1, 61), null)));
+            tags = Collections.singletonList(new Tag("warmup"));
+        } catch (IllegalValueException e) {
+            throw new AssertionError("The warm up data should be valid", e);
+        }
+        new XmlFragmentCache().write(activities, tags, ByteStreams.nullOutputStream());
+    }
+
+    /**
+     * Forgets what was last written, e.g. because the write did not reach the file.
+     * Fragments are still reused by the next write.
+     */
+    public synchronized void invalidate() {
+        writtenActivities = Collections.emptyList();
+        writtenTags = Collections.emptyList();
+    }
+
+    /**
+     * Records the given activities and tags as already written, e.g. because they were just read from the file.
+     * Their xml is only produced when one of them has to be written.
+     */
+    public synchronized void prime(List<Activity> activities, List<Tag> tags) {
+        assert activities != null && tags != null;
+
+        fragments = new IdentityHashMap<>();
+        writtenActivities = new ArrayList<>(activities);
+        writtenTags = new ArrayList<>(tags);
+    }
+
+    /**
+     * Records the given activities and tags as already written, taking the xml of each activity from the document
+     * they were read from, so that the next write does not marshal them again.
+     * {@code elements} are the elements of the document as split by {@link #splitDocument(byte[])}, and
+     * {@code elementIndices} gives, for each activity, the index of the element it was read from.
+     * If an element does not hold an activity of the right type, no xml is taken.
+     */
+    public synchronized void prime(List<Activity> activities, List<Tag> tags, List<byte[]> elements,
+                                   int[] elementIndices) {
+        assert activities.size() == elementIndices.length;
+
+        prime(activities, tags);
+        final Map<Activity, byte[]> read = new IdentityHashMap<>(activities.size() * 2);
+        for (int i = 0; i < activities.size(); i++) {
+            Activity activity = activities.get(i);
+            byte[] element = elementIndices[i] < elements.size() ? elements.get(elementIndices[i]) : null;
+            byte[] expectedStart = activity.getType() == Activity.ActivityType.EVENT ? EVENT_START : TASK_START;
+            if (element == null || !startsWith(element, expectedStart)) {
+                return;
+            }
+            read.put(activity, element);
+        }
+        fragments = read;
+    }
+
+    /**
+     * Returns the top-level elements of a document in the layout this cache writes, each with the line break and
+     * indentation before it, or an empty Optional if the document was written in another layout.
+     */
+    static Optional<List<byte[]>> splitDocument(byte[] document) {
+        if (!startsWith(document, DOCUMENT_START) || !endsWith(document, DOCUMENT_END)) {
+            return Optional.empty();
+        }
+        int end = document.length - DOCUMENT_END.length;
+        List<byte[]> elements = new ArrayList<>();
+        int elementStart = DOCUMENT_START.length;
+        if (!regionMatches(document, elementStart, ELEMENT_START)) {
+            return Optional.empty();
+        }
+        // markup characters never appear unescaped in text, so every indented opening tag starts an element
+        for (int i = elementStart + 1; i < end; i++) {
+            if (regionMatches(document, i, ELEMENT_START) && document[i + ELEMENT_START.length] != '/') {
+                elements.add(Arrays.copyOfRange(document, elementStart, i));
+                elementStart = i;
+            }
+        }
+        elements.add(Arrays.copyOfRange(document, elementStart, end));
+        return Optional.of(elements);
+    }
+
+    /**
+     * Returns true if the given activities and tags are the same, in the same order, as those last written or
+     * primed. Activities are compared by identity only, as they are replaced rather than changed.
+     */
+    public synchronized boolean isUpToDate(List<Activity> activities, List<Tag> tags) {
+        if (activities.size() != writtenActivities.size() || !tags.equals(writtenTags)) {
+            return false;
+        }
+        for (int i = 0; i < activities.size(); i++) {
+            if (activities.get(i) != writtenActivities.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of fragments reused by the last write.
+     */
+    public synchronized int getReusedFragmentCount() {
+        return reusedFragments;
+    }
+
+    private byte[] getFragment(Activity activity) throws IOException {
+        byte[] cached = fragments.get(activity);
+        if (cached != null) {
+            reusedFragments++;
+            return cached;
+        }
+        XmlSerializableTaskMan single = activity.getType() == Activity.ActivityType.EVENT
+                ? new XmlSerializableTaskMan(Collections.singletonList(new XmlAdaptedEvent(activity)),
+                        Collections.emptyList(), Collections.emptyList())
+                : new XmlSerializableTaskMan(Collections.emptyList(),
+                        Collections.singletonList(new XmlAdaptedTask(activity)), Collections.emptyList());
+        return marshalFragment(single);
+    }
+
+    /**
+     * Marshals the partial taskMan and returns the xml between its root tags, indented as in a full document.
+     */
+    private static byte[] marshalFragment(XmlSerializableTaskMan partial) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            XmlUtil.saveDataToStream(out, partial);
+        } catch (JAXBException e) {
+            throw new IOException(e);
+        }
+        byte[] document = out.toByteArray();
+        if (!startsWith(document, DOCUMENT_START) || !endsWith(document, DOCUMENT_END)) {
+            throw new IOException("Unexpected xml layout: " + new String(document, StandardCharsets.UTF_8));
+        }
+        return Arrays.copyOfRange(document, DOCUMENT_START.length, document.length - DOCUMENT_END.length);
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        return bytes.length >= prefix.length
+                && Arrays.equals(Arrays.copyOfRange(bytes, 0, prefix.length), prefix);
+    }
+
+    private static boolean regionMatches(byte[] bytes, int offset, byte[] region) {
+        if (offset + region.length >= bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < region.length; i++) {
+            if (bytes[offset + i] != region[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean endsWith(byte[] bytes, byte[] suffix) {
+        return bytes.length >= suffix.length
+                && Arrays.equals(Arrays.copyOfRange(bytes, bytes.length - suffix.length, bytes.length), suffix);
+    }
+
+}
@@ -1,17 +1,27 @@
 package seedu.taskman.storage;
 
+import seedu.taskman.commons.core.LogsCenter;
 import seedu.taskman.commons.exceptions.IllegalValueException;
+import seedu.taskman.model.TaskMan;
 import seedu.taskman.model.event.Activity;
 import seedu.taskman.model.tag.Tag;
 import seedu.taskman.model.tag.UniqueTagList;
 import seedu.taskman.model.event.UniqueActivityList;
 import seedu.taskman.model.ReadOnlyTaskMan;
 
+import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -21,6 +31,12 @@ import java.util.stream.Stream;
 @XmlRootElement(name = "taskMan")
 public class XmlSerializableTaskMan implements ReadOnlyTaskMan {
 
+    private static final Logger logger = LogsCenter.getLogger(XmlSerializableTaskMan.class);
+    private static final int PARALLEL_CONVERSION_THRESHOLD = 1000;
+
+    /** Null in data saved before versions were saved */
+    @XmlAttribute
+    private Integer version;
     @XmlElement
     private List<XmlAdaptedEvent> events;
     @XmlElement
@@ -43,6 +59,7 @@ public class XmlSerializableTaskMan implements ReadOnlyTaskMan {
      * Conversion
      */
     public XmlSerializableTaskMan(ReadOnlyTaskMan src) {
+        version = DataFormat.VERSION;
         //TODO: writing tasks and events
         //implemented XmlAdaptedTask(Activity activity) for now
         events.addAll(src.getActivityList().stream().filter(activity ->
@@ -54,6 +71,122 @@ public class XmlSerializableTaskMan implements ReadOnlyTaskMan {
         tags = src.getTagList();
     }
 
+    /**
+     * Builds a taskMan holding only the given records and tags.
+     * Used to marshal parts of a taskMan independently of each other.
+     */
+    XmlSerializableTaskMan(List<XmlAdaptedEvent> events, List<XmlAdaptedTask> tasks, List<Tag> tags) {
+        version = DataFormat.VERSION;
+        this.events.addAll(events);
+        this.tasks.addAll(tasks);
+        this.tags.addAll(tags);
+    }
+
+    /**
+     * Removes the frequencies of data saved in an older format, which cannot be converted (see
+     * {@link DataFormat}), and upgrades it to the current format.
+     *
+     * @return the titles of the activities whose frequencies were removed
+     */
+    List<String> upgradeFormat() {
+        List<String> titles = new ArrayList<>();
+        if (!DataFormat.hasFrequencyLengths(version)) {
+            events.forEach(event -> event.removeFrequency().ifPresent(titles::add));
+            tasks.forEach(task -> task.removeFrequency().ifPresent(titles::add));
+        }
+        version = DataFormat.VERSION;
+        return titles;
+    }
+
+    List<XmlAdaptedEvent> getAdaptedEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    List<XmlAdaptedTask> getAdaptedTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Converts this JAXB-friendly taskMan into the model's TaskMan in a single pass.
+     * Each adapted record is checked once and streamed into the returned TaskMan as an activity that is only
+     * fully created when it is first needed (see {@link Activity.Stub}).
+     * Large files are converted and validated in parallel on the common fork-join pool; the results are
+     * merged back in file order, so the returned TaskMan does not depend on how the work was split.
+     * Records that violate data constraints or duplicate an earlier record's title are skipped.
+     * Tags used by records but missing from the file's tag list are added to the tag list in name order.
+     */
+    public TaskMan toModelType() {
+        final TaskMan taskMan = new TaskMan();
+        final Map<String, Tag> masterTags = new ConcurrentHashMap<>();
+        for (Tag tag : new LinkedHashSet<>(tags)) {
+            try {
+                taskMan.addTag(tag);
+            } catch (UniqueTagList.DuplicateTagException e) {
+                assert false : "Duplicate tags should have been filtered out";
+            }
+            masterTags.put(tag.tagName, tag);
+        }
+        final Function<String, Tag> getMasterTag = name -> masterTags.computeIfAbsent(name, this::createTag);
+
+        Stream<Optional<Activity>> conversions = Stream.concat(
+                tasks.stream().map(task -> convert(getMasterTag, task::toLazyModelType)),
+                events.stream().map(event -> convert(getMasterTag, event::toLazyModelType)));
+        if (tasks.size() + events.size() >= PARALLEL_CONVERSION_THRESHOLD) {
+            conversions = conversions.parallel();
+        }
+        final List<Optional<Activity>> results = conversions.collect(Collectors.toList());
+
+        final List<Activity> converted = new ArrayList<>(results.size());
+        results.forEach(result -> result.ifPresent(converted::add));
+        int invalidRecords = results.size() - converted.size();
+
+        final List<Tag> missingTags = new ArrayList<>(masterTags.values());
+        missingTags.removeAll(taskMan.getTagList());
+        missingTags.sort(Comparator.comparing(tag -> tag.tagName));
+        for (Tag tag : missingTags) {
+            try {
+                taskMan.addTag(tag);
+            } catch (UniqueTagList.DuplicateTagException e) {
+                assert false : "Only missing tags should be added";
+            }
+        }
+        int duplicateRecords = taskMan.addActivities(converted);
+
+        if (invalidRecords > 0 || duplicateRecords > 0) {
+            logger.warning("Skipped " + invalidRecords + " invalid and " + duplicateRecords
+                    + " duplicate records while loading TaskMan");
+        }
+        return taskMan;
+    }
+
+    private Tag createTag(String validName) {
+        try {
+            return new Tag(validName);
+        } catch (IllegalValueException e) {
+            assert false : "Tag names should have been checked";
+            return null;
+        }
+    }
+
+    /**
+     * Converts a single adapted record, returning {@code Optional.empty()} if it violates any data constraints.
+     */
+    private static Optional<Activity> convert(Function<String, Tag> getMasterTag, AdaptedRecord record) {
+        try {
+            return Optional.of(record.toLazyModelType(getMasterTag));
+        } catch (IllegalValueException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A JAXB-friendly record that can be converted into an activity of the model.
+     */
+    @FunctionalInterface
+    private interface AdaptedRecord {
+        Activity toLazyModelType(Function<String, Tag> masterTags) throws IllegalValueException;
+    }
+
     @Override
     public UniqueTagList getUniqueTagList() {
         try {
@@ -0,0 +1,40 @@
+package seedu.taskman.storage;
+
+import seedu.taskman.model.tag.Tag;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The JAXB-friendly manifest of a sharded taskMan: the names of its shards and its tags.
+ */
+@XmlRootElement(name = "manifest")
+public class XmlShardManifest {
+
+    @XmlElement(name = "shard")
+    private List<String> shards = new ArrayList<>();
+    @XmlElement
+    private List<Tag> tags = new ArrayList<>();
+
+    /**
+     * Empty constructor required for marshalling
+     */
+    public XmlShardManifest() {}
+
+    public XmlShardManifest(List<String> shards, List<Tag> tags) {
+        this.shards.addAll(shards);
+        this.tags.addAll(tags);
+    }
+
+    public List<String> getShards() {
+        return Collections.unmodifiableList(shards);
+    }
+
+    public List<Tag> getTags() {
+        return Collections.unmodifiableList(tags);
+    }
+
+}
@@ -0,0 +1,33 @@
+package seedu.taskman.storage;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The JAXB-friendly titles of the activities in one shard of a sharded taskMan, kept next to the shard so that
+ * they can be reserved without reading the shard.
+ */
+@XmlRootElement(name = "titles")
+public class XmlShardTitles {
+
+    @XmlElement(name = "title")
+    private List<String> titles = new ArrayList<>();
+
+    /**
+     * Empty constructor required for marshalling
+     */
+    public XmlShardTitles() {}
+
+    public XmlShardTitles(Collection<String> titles) {
+        this.titles.addAll(titles);
+    }
+
+    public List<String> getTitles() {
+        return Collections.unmodifiableList(titles);
+    }
+
+}
@@ -1,27 +1,44 @@
 package seedu.taskman.storage;
 
+import com.google.common.io.ByteStreams;
 import seedu.taskman.commons.core.LogsCenter;
 import seedu.taskman.commons.exceptions.DataConversionException;
 import seedu.taskman.commons.util.FileUtil;
 import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.TaskMan;
+import seedu.taskman.model.event.Activity;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
  * A class to access TaskMan data stored as an xml file on the hard disk.
+ * The file is gzip-compressed if its name ends with {@code .gz} or it was compressed already.
  */
 public class XmlTaskManStorage implements TaskManStorage {
 
     private static final Logger logger = LogsCenter.getLogger(XmlTaskManStorage.class);
 
     private String filePath;
+    private final boolean syncWrites;
+    private final XmlFragmentCache fragmentCache = new XmlFragmentCache();
 
-    public XmlTaskManStorage(String filePath){
+    /**
+     * @param syncWrites if true, every save is forced to the storage device before it replaces the file
+     */
+    public XmlTaskManStorage(String filePath, boolean syncWrites){
         this.filePath = filePath;
+        this.syncWrites = syncWrites;
+    }
+
+    public XmlTaskManStorage(String filePath){
+        this(filePath, false);
     }
 
     public String getTaskManFilePath(){
@@ -43,13 +60,53 @@ public class XmlTaskManStorage implements TaskManStorage {
             return Optional.empty();
         }
 
-        ReadOnlyTaskMan taskManOptional = XmlFileStorage.loadDataFromSaveFile(new File(filePath));
+        long startTime = System.nanoTime();
+        byte[] content;
+        try (InputStream in = FileUtil.openForReading(taskManFile)) {
+            content = ByteStreams.toByteArray(in);
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new DataConversionException(e);
+        }
+        XmlSerializableTaskMan xmlTaskMan = XmlFileStorage.loadDataFromContent(taskManFile, content);
+        long parsedTime = System.nanoTime();
+        TaskMan taskMan = xmlTaskMan.toModelType();
+        long convertedTime = System.nanoTime();
+        primeFragmentCache(content, xmlTaskMan, taskMan);
+
+        logger.info(String.format("Loaded %s from %s (parse: %d ms, conversion: %d ms)", taskMan, taskManFile,
+                TimeUnit.NANOSECONDS.toMillis(parsedTime - startTime),
+                TimeUnit.NANOSECONDS.toMillis(convertedTime - parsedTime)));
+        return Optional.of(taskMan);
+    }
 
-        return Optional.of(taskManOptional);
+    /**
+     * Records the taskMan just read as written, with the xml of its activities taken from the content of the file,
+     * so that the next save only converts the activities that changed.
+     * The xml is only taken if the file is in the layout saves write and every record was read into an activity.
+     */
+    private void primeFragmentCache(byte[] content, XmlSerializableTaskMan xmlTaskMan, TaskMan taskMan) {
+        List<Activity> activities = taskMan.getActivityList();
+        int eventCount = xmlTaskMan.getAdaptedEvents().size();
+        int taskCount = xmlTaskMan.getAdaptedTasks().size();
+        Optional<List<byte[]>> elements = XmlFragmentCache.splitDocument(content);
+        if (!elements.isPresent() || activities.size() != eventCount + taskCount) {
+            fragmentCache.prime(activities, taskMan.getTagList());
+            return;
+        }
+        // records are converted tasks first, while a file holds all events before all tasks
+        int[] elementIndices = new int[activities.size()];
+        for (int i = 0; i < activities.size(); i++) {
+            elementIndices[i] = i < taskCount ? eventCount + i : i - taskCount;
+        }
+        fragmentCache.prime(activities, taskMan.getTagList(), elements.get(), elementIndices);
     }
 
     /**
      * Similar to {@link #saveTaskMan(ReadOnlyTaskMan)}
+     * Only activities that changed since the previous save are converted to xml again.
+     * The file is replaced atomically, so it is never left half-written.
      * @param filePath location of the data. Cannot be null
      */
     public void saveTaskMan(ReadOnlyTaskMan taskMan, String filePath) throws IOException {
@@ -57,8 +114,19 @@ public class XmlTaskManStorage implements TaskManStorage {
         assert filePath != null;
 
         File file = new File(filePath);
-        FileUtil.createIfMissing(file);
-        XmlFileStorage.saveDataToFile(file, new XmlSerializableTaskMan(taskMan));
+        long startTime = System.nanoTime();
+        FileUtil.WriteStatistics written = FileUtil.writeAtomically(file,
+                out -> fragmentCache.write(taskMan, out), syncWrites);
+        logger.fine(String.format("Saved %s to %s in %d ms (%d activities unchanged, %s)", taskMan, file,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+                fragmentCache.getReusedFragmentCount(), written));
+    }
+
+    /**
+     * Returns the number of activities whose xml was reused by the last save.
+     */
+    int getReusedFragmentCount() {
+        return fragmentCache.getReusedFragmentCount();
     }
 
     @Override
@@ -70,4 +138,13 @@ public class XmlTaskManStorage implements TaskManStorage {
     public void saveTaskMan(ReadOnlyTaskMan taskMan) throws IOException {
         saveTaskMan(taskMan, filePath);
     }
+
+    @Override
+    public void warmUp() {
+        try {
+            XmlFragmentCache.warmUp();
+        } catch (IOException e) {
+            logger.warning("Failed to warm up xml conversion: " + e);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package seedu.taskman.ui;
 
+import javafx.application.Platform;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
@@ -22,6 +23,9 @@ public class HelpWindow extends UiPart {
     private static final String USERGUIDE_URL =
             "https://github.com/se-edu/taskMan-level4/blob/master/docs/UserGuide.md";
 
+    /** The browser created by {@link #warmUp()}, for the next help. Application thread only */
+    private static WebView preloadedBrowser;
+
     private AnchorPane mainPane;
 
     private Stage dialogStage;
@@ -33,6 +37,23 @@ public class HelpWindow extends UiPart {
         return helpWindow;
     }
 
+    /**
+     * Loads the help page's fxml once without showing it, so that the fxml loader and the classes it uses are
+     * ready before the first help. Nodes that are not part of a scene can be created off the application thread.
+     * The browser, the slowest part to create, must be created on the application thread, so it is created there
+     * later, with a blank page so that its engine starts up, for the next help to use. The help page itself is only
+     * loaded when help is asked for, as it is fetched from the network.
+     */
+    public static void warmUp() {
+        UiPartLoader.loadUiPart(null, new HelpWindow());
+        Platform.runLater(() -> {
+            if (preloadedBrowser == null) {
+                preloadedBrowser = new WebView();
+                preloadedBrowser.getEngine().loadContent("");
+            }
+        });
+    }
+
     @Override
     public void setNode(Node node) {
         mainPane = (AnchorPane) node;
@@ -50,7 +71,8 @@ public class HelpWindow extends UiPart {
         dialogStage.setMaximized(true); //TODO: set a more appropriate initial size
         setIcon(dialogStage, ICON);
 
-        WebView browser = new WebView();
+        WebView browser = preloadedBrowser != null ? preloadedBrowser : new WebView();
+        preloadedBrowser = null;
         browser.getEngine().load(USERGUIDE_URL);
         FxViewUtil.applyAnchorBoundaryParameters(browser, 0.0, 0.0, 0.0, 0.0);
         mainPane.getChildren().add(browser);
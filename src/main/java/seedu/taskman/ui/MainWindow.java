@@ -182,4 +182,8 @@ public class MainWindow extends UiPart {
         return this.taskListPanel;
     }
 
+    public ResultDisplay getResultDisplay() {
+        return this.resultDisplay;
+    }
+
 }
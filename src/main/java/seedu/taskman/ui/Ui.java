@@ -13,4 +13,10 @@ public interface Ui {
     /** Stops the UI. */
     void stop();
 
+    /**
+     * Loads the parts of the UI that are not shown at start, so that showing them later does not stall.
+     * Safe to call from any thread.
+     */
+    void warmUp();
+
 }
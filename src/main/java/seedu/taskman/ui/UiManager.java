@@ -11,8 +11,11 @@ import seedu.taskman.MainApp;
 import seedu.taskman.commons.core.ComponentManager;
 import seedu.taskman.commons.core.Config;
 import seedu.taskman.commons.core.LogsCenter;
+import seedu.taskman.commons.core.StartupTimeline;
+import seedu.taskman.commons.events.storage.DataFileConflictEvent;
 import seedu.taskman.commons.events.storage.DataSavingExceptionEvent;
 import seedu.taskman.commons.events.ui.JumpToListRequestEvent;
+import seedu.taskman.commons.events.ui.NewResultAvailableEvent;
 import seedu.taskman.commons.events.ui.TaskPanelSelectionChangedEvent;
 import seedu.taskman.commons.events.ui.ShowHelpRequestEvent;
 import seedu.taskman.commons.util.StringUtil;
@@ -49,9 +52,12 @@ public class UiManager extends ComponentManager implements Ui {
         primaryStage.getIcons().add(getImage(ICON_APPLICATION));
 
         try {
-            mainWindow = MainWindow.load(primaryStage, config, prefs, logic);
-            mainWindow.show(); //This should be called before creating other UI parts
-            mainWindow.fillInnerParts();
+            StartupTimeline timeline = StartupTimeline.getInstance();
+            mainWindow = timeline.measure("main window fxml",
+                    () -> MainWindow.load(primaryStage, config, prefs, logic));
+            //This should be called before creating other UI parts
+            timeline.measure("main window show", mainWindow::show);
+            timeline.measure("inner parts fxml", mainWindow::fillInnerParts);
 
         } catch (Throwable e) {
             logger.severe(StringUtil.getDetails(e));
@@ -65,6 +71,11 @@ public class UiManager extends ComponentManager implements Ui {
         mainWindow.hide();
     }
 
+    @Override
+    public void warmUp() {
+        HelpWindow.warmUp();
+    }
+
     private void showFileOperationAlertAndWait(String description, String details, Throwable cause) {
         final String content = details + ":\n" + cause.toString();
         showAlertDialogAndWait(AlertType.ERROR, "File Op Error", description, content);
@@ -102,7 +113,21 @@ public class UiManager extends ComponentManager implements Ui {
     @Subscribe
     private void handleDataSavingExceptionEvent(DataSavingExceptionEvent event) {
         logger.info(LogsCenter.getEventHandlingLogMessage(event));
-        showFileOperationAlertAndWait("Could not save data", "Could not save data to file", event.exception);
+        // data may be saved in the background
+        if (Platform.isFxApplicationThread()) {
+            showFileOperationAlertAndWait("Could not save data", "Could not save data to file", event.exception);
+        } else {
+            Platform.runLater(() -> showFileOperationAlertAndWait("Could not save data",
+                    "Could not save data to file", event.exception));
+        }
+    }
+
+    @Subscribe
+    private void handleDataFileConflictEvent(DataFileConflictEvent event) {
+        logger.info(LogsCenter.getEventHandlingLogMessage(event));
+        Platform.runLater(() -> showAlertDialogAndWait(AlertType.WARNING, "Data file changed",
+                "The data file was changed by another program before your latest changes were saved",
+                "The data file's version was loaded. Your version was kept in " + event.localVersionFile));
     }
 
     @Subscribe
@@ -117,6 +142,12 @@ public class UiManager extends ComponentManager implements Ui {
         mainWindow.getTaskListPanel().scrollTo(event.targetIndex);
     }
 
+    @Subscribe
+    private void handleNewResultAvailableEvent(NewResultAvailableEvent event) {
+        logger.info(LogsCenter.getEventHandlingLogMessage(event));
+        Platform.runLater(() -> mainWindow.getResultDisplay().postMessage(event.message));
+    }
+
     @Subscribe
     private void handleTaskPanelSelectionChangedEvent(TaskPanelSelectionChangedEvent event){
         logger.info(LogsCenter.getEventHandlingLogMessage(event));
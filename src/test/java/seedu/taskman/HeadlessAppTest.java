@@ -0,0 +1,95 @@
+package seedu.taskman;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import seedu.taskman.commons.core.Config;
+import seedu.taskman.commons.core.EventsCenter;
+import seedu.taskman.commons.util.ConfigUtil;
+import seedu.taskman.logic.commands.ExitCommand;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HeadlessAppTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private String configFilePath;
+    private File dataFile;
+    private ByteArrayOutputStream output;
+
+    @Before
+    public void setup() throws Exception {
+        dataFile = new File(testFolder.getRoot(), "taskMan.xml");
+        Config config = new Config();
+        config.setTaskManFilePath(dataFile.getPath());
+        config.setUserPrefsFilePath(new File(testFolder.getRoot(), "preferences.json").getPath());
+        config.setBackupCount(0);
+        configFilePath = new File(testFolder.getRoot(), "config.json").getPath();
+        ConfigUtil.saveConfig(config, configFilePath);
+        output = new ByteArrayOutputStream();
+    }
+
+    @After
+    public void cleanup() {
+        EventsCenter.clearSubscribers();
+    }
+
+    @Test
+    public void run_commands_resultsPrintedAndSaved() throws Exception {
+        HeadlessApp app = start();
+        app.run(Arrays.asList("do Buy milk d/tmr 2359", "do Pay bills d/tdy 2359", "list", "exit", "do Never run"));
+        app.stop();
+
+        String printed = getOutput();
+        assertTrue(printed, printed.contains("New task added: Buy milk"));
+        assertTrue(printed, printed.contains("2 tasks listed!"));
+        assertTrue(printed, printed.contains("\n1. ") && printed.contains("\n2. "));
+        assertTrue(printed, printed.trim().endsWith(ExitCommand.MESSAGE_EXIT_ACKNOWLEDGEMENT));
+        assertFalse(printed.contains("Never run"));
+        assertTrue(dataFile.exists());
+
+        // the saved data is read again by the next run
+        EventsCenter.clearSubscribers();
+        output.reset();
+        app = start();
+        app.run(Arrays.asList("list"));
+        app.stop();
+        assertTrue(getOutput().contains("2 tasks listed!"));
+    }
+
+    @Test
+    public void run_input_linesRunUntilEnd() throws Exception {
+        HeadlessApp app = start();
+        app.run(new ByteArrayInputStream("do Buy milk\n\n   \nlist all/\n".getBytes(StandardCharsets.UTF_8)), false);
+        app.stop();
+
+        String[] lines = getOutput().split("\\R");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("New task added: Buy milk"));
+        assertTrue(lines[2].startsWith("1. Buy milk"));
+    }
+
+    private HeadlessApp start() {
+        HeadlessApp app = new HeadlessApp(new PrintStream(output, true));
+        app.init(configFilePath);
+        return app;
+    }
+
+    private String getOutput() {
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,239 @@
+package seedu.taskman.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import seedu.taskman.commons.core.EventsCenter;
+import seedu.taskman.logic.LogicManager;
+import seedu.taskman.model.ModelManager;
+import seedu.taskman.storage.StorageManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ApiServerTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private ExecutorService writer;
+    private ApiServer apiServer;
+
+    @Before
+    public void setup() throws Exception {
+        StorageManager storage = new StorageManager(testFolder.newFile("taskMan.xml").getPath(),
+                testFolder.newFile("preferences.json").getPath());
+        writer = Executors.newSingleThreadExecutor();
+        apiServer = new ApiServer(new LogicManager(new ModelManager(), storage), writer, 0);
+        apiServer.start();
+    }
+
+    @After
+    public void cleanup() {
+        apiServer.stop();
+        writer.shutdownNow();
+        EventsCenter.clearSubscribers();
+    }
+
+    @Test
+    public void postCommand_validCommand_activitiesUpdated() throws Exception {
+        Response added = postCommand("{\"command\": \"do Buy milk d/tmr 2359 t/shop\"}");
+        assertEquals(200, added.status);
+        assertTrue(added.body, added.body.contains("\"successful\" : true"));
+        assertTrue(added.body, added.body.contains("New task added: Buy milk"));
+
+        Response all = get(ApiServer.ACTIVITIES_PATH);
+        assertEquals(200, all.status);
+        assertTrue(all.body, all.body.contains("\"title\" : \"Buy milk\""));
+        assertTrue(all.body, all.body.contains("\"type\" : \"task\""));
+
+        assertTrue(get(ApiServer.ACTIVITIES_PATH + "?tag=shop").body.contains("Buy milk"));
+        assertFalse(get(ApiServer.ACTIVITIES_PATH + "?tag=work").body.contains("Buy milk"));
+    }
+
+    @Test
+    public void postCommand_failingCommand_unsuccessful() throws Exception {
+        Response response = postCommand("{\"command\": \"delete t99\"}");
+        assertEquals(200, response.status);
+        assertTrue(response.body, response.body.contains("\"successful\" : false"));
+    }
+
+    @Test
+    public void postCommand_invalidRequests_refused() throws Exception {
+        assertEquals(415, send("POST", ApiServer.COMMANDS_PATH, "text/plain", "{\"command\": \"list\"}").status);
+        assertEquals(400, postCommand("list").status);
+        assertEquals(400, postCommand("{\"command\": \" \"}").status);
+        assertEquals(413, postCommand(new String(new char[ApiServer.MAX_REQUEST_BYTES + 1]).replace('\0', ' '))
+                .status);
+
+        Response exit = postCommand("{\"command\": \"exit\"}");
+        assertEquals(400, exit.status);
+        assertTrue(exit.body, exit.body.contains(String.format(ApiServer.MESSAGE_NOT_THROUGH_API, "exit")));
+    }
+
+    @Test
+    public void request_unknownPathOrMethod_refused() throws Exception {
+        assertEquals(404, get("/api/nothing").status);
+        assertEquals(405, get(ApiServer.COMMANDS_PATH).status);
+        assertEquals(405, send("POST", ApiServer.ACTIVITIES_PATH, "application/json", "{}").status);
+    }
+
+    @Test
+    public void request_otherHost_forbidden() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), apiServer.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET " + ApiServer.ACTIVITIES_PATH + " HTTP/1.1\r\nHost: attacker.example:"
+                    + apiServer.getPort() + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            String response = readAll(socket.getInputStream());
+            assertTrue(response, response.startsWith("HTTP/1.1 403"));
+            assertTrue(response, response.contains(ApiServer.MESSAGE_FORBIDDEN_HOST));
+        }
+    }
+
+    @Test
+    public void getActivities_whileCommandRuns_answeredFromSnapshot() throws Exception {
+        CountDownLatch isWriterReleased = new CountDownLatch(1);
+        writer.execute(() -> {
+            try {
+                isWriterReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ExecutorService client = Executors.newSingleThreadExecutor();
+        try {
+            Future<Response> added = client.submit(() -> postCommand("{\"command\": \"do Buy milk d/tmr 2359\"}"));
+
+            // the writer is busy, but reads do not wait for it
+            Response during = get(ApiServer.ACTIVITIES_PATH);
+            assertEquals(200, during.status);
+            assertFalse(during.body, during.body.contains("Buy milk"));
+            assertFalse(added.isDone());
+
+            isWriterReleased.countDown();
+            assertEquals(200, added.get(10, TimeUnit.SECONDS).status);
+            assertTrue(get(ApiServer.ACTIVITIES_PATH).body.contains("Buy milk"));
+        } finally {
+            isWriterReleased.countDown();
+            client.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getActivities_concurrentClients_allAnswered() throws Exception {
+        postCommand("{\"command\": \"do Buy milk d/tmr 2359\"}");
+        int clientCount = 8;
+        int requestsPerClient = 25;
+        ExecutorService clients = Executors.newFixedThreadPool(clientCount);
+        try {
+            List<Future<Integer>> answered = new ArrayList<>();
+            for (int i = 0; i < clientCount; i++) {
+                answered.add(clients.submit(() -> {
+                    int count = 0;
+                    for (int j = 0; j < requestsPerClient; j++) {
+                        Response response = get(ApiServer.ACTIVITIES_PATH);
+                        if (response.status == 200 && response.body.contains("Buy milk")) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            for (Future<Integer> count : answered) {
+                assertEquals(requestsPerClient, (int) count.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        String metrics = get(ApiServer.METRICS_PATH).body;
+        assertTrue(metrics, metrics.contains("\"GET " + ApiServer.ACTIVITIES_PATH + "\""));
+        assertTrue(metrics, metrics.contains("\"count\" : " + clientCount * requestsPerClient));
+        assertTrue(metrics, metrics.contains("\"POST " + ApiServer.COMMANDS_PATH + "\""));
+        assertTrue(metrics, metrics.contains("\"p99Millis\""));
+    }
+
+    @Test
+    public void latencyMetrics_manyRequests_percentilesOfRecentRequests() {
+        LatencyMetrics metrics = new LatencyMetrics();
+        for (int i = 1; i <= 100; i++) {
+            metrics.record("GET /", TimeUnit.MILLISECONDS.toNanos(1000 + i), i % 10 == 0);
+        }
+        for (int i = 1; i <= LatencyMetrics.SAMPLE_COUNT; i++) {
+            metrics.record("GET /", TimeUnit.MILLISECONDS.toNanos(5), false);
+        }
+
+        LatencyMetrics.Summary summary = metrics.summarize().get("GET /");
+        assertEquals(100 + LatencyMetrics.SAMPLE_COUNT, summary.getCount());
+        assertEquals(10, summary.getErrorCount());
+        // the slow requests are no longer among the recent ones, except for the max
+        assertTrue(summary.toString(), summary.toString().contains("p50 5.0 ms, p95 5.0 ms, p99 5.0 ms, max 1100.0 ms"));
+    }
+
+    private Response get(String path) throws Exception {
+        return send("GET", path, null, null);
+    }
+
+    private Response postCommand(String body) throws Exception {
+        return send("POST", ApiServer.COMMANDS_PATH, "application/json", body);
+    }
+
+    private Response send(String method, String path, String contentType, String body) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://localhost:" + apiServer.getPort() + path).openConnection();
+        connection.setRequestMethod(method);
+        if (contentType != null) {
+            connection.setRequestProperty("Content-Type", contentType);
+        }
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            return new Response(status, readAll(in));
+        }
+    }
+
+    private static String readAll(InputStream in) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+            bytes.write(buffer, 0, read);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+}
@@ -18,7 +18,9 @@ public class ConfigTest {
                 "Current log level : INFO\n" +
                 "Preference file Location : preferences.json\n" +
                 "Local data file location : data/taskMan.xml\n" +
-                "TaskMan name : MyTaskMan";
+                "TaskMan name : MyTaskMan\n" +
+                "Storage format : XML\n" +
+                "Durability : ATOMIC";
 
         assertEquals(defaultConfigAsString, new Config().toString());
     }
@@ -0,0 +1,59 @@
+package seedu.taskman.commons.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StartupTimelineTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void measure_phases_recordedInOrder() {
+        StartupTimeline timeline = new StartupTimeline();
+
+        String result = timeline.measure("build", () -> new StringBuilder().append(new byte[1 << 20].length)
+                .toString());
+        timeline.measure("nothing", () -> { });
+
+        assertEquals(Integer.toString(1 << 20), result);
+        List<StartupTimeline.Phase> phases = timeline.getPhases();
+        assertEquals(3, phases.size());
+        assertEquals("jvm and javafx launch", phases.get(0).getName());
+        assertEquals("build", phases.get(1).getName());
+        assertEquals("nothing", phases.get(2).getName());
+        assertTrue(phases.get(1).getWallMillis() >= 0);
+        long allocated = phases.get(1).getAllocatedBytes();
+        assertTrue(allocated == -1 || allocated >= 1 << 20);
+    }
+
+    @Test
+    public void finish_outputFile_timelineWritten() throws Exception {
+        File file = new File(testFolder.getRoot(), "startup/timeline.json");
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.setOutputFile(file);
+        timeline.measure("config", () -> { });
+
+        timeline.finish();
+        timeline.measure("after startup", () -> { });
+
+        assertTrue(timeline.isFinished());
+        assertEquals(2, timeline.getPhases().size());
+        JsonNode written = new ObjectMapper().readTree(file);
+        assertTrue(written.get("totalMillis").asLong() > 0);
+        assertEquals(2, written.get("phases").size());
+        assertEquals("config", written.get("phases").get(1).get("name").asText());
+        assertTrue(written.get("phases").get(1).has("cpuMillis"));
+        assertTrue(written.get("phases").get(1).has("allocatedBytes"));
+    }
+
+}
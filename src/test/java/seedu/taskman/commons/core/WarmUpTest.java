@@ -0,0 +1,52 @@
+package seedu.taskman.commons.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WarmUpTest {
+
+    @Test
+    public void start_failingTask_otherTasksRun() throws Exception {
+        Set<String> ran = Collections.synchronizedSet(new HashSet<>());
+
+        new WarmUp()
+                .add("first", () -> ran.add("first"))
+                .add("failing", () -> {
+                    throw new IllegalStateException("failed on purpose");
+                })
+                .add("last", () -> ran.add("last"))
+                .start()
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(new HashSet<>(Arrays.asList("first", "last")), ran);
+    }
+
+    @Test
+    public void start_noTasks_completes() throws Exception {
+        assertTrue(new WarmUp().start().get(10, TimeUnit.SECONDS) == null);
+    }
+
+    @Test
+    public void start_tasksRunOnBackgroundThreads() throws Exception {
+        Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+
+        new WarmUp()
+                .add("task", () -> threads.add(Thread.currentThread()))
+                .start()
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, threads.size());
+        Thread thread = threads.iterator().next();
+        assertTrue(thread != Thread.currentThread());
+        assertTrue(thread.isDaemon());
+    }
+
+}
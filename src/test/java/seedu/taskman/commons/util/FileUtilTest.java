@@ -11,9 +11,14 @@ import java.io.File;
 import java.io.IOException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class FileUtilTest {
     private static final File SERIALIZATION_FILE = new File(TestUtil.getFilePathInSandboxFolder("serialize.json"));
+    private static final File ATOMIC_FILE = new File(TestUtil.getFilePathInSandboxFolder("atomic/atomic.txt"));
+    private static final File GZIP_FILE = new File(TestUtil.getFilePathInSandboxFolder("atomic/compressed.txt.gz"));
 
 
     @Rule
@@ -55,4 +60,56 @@ public class FileUtilTest {
         assertEquals(serializableTestClass.getListOfLocalDateTimes(), SerializableTestClass.getListTestValues());
         assertEquals(serializableTestClass.getMapOfIntegerToString(), SerializableTestClass.getHashMapTestValues());
     }
+
+    @Test
+    public void writeAtomically_existingFile_contentReplaced() throws IOException {
+        FileUtil.writeAtomically(ATOMIC_FILE, out -> out.write("old".getBytes("UTF-8")), false);
+        FileUtil.writeAtomically(ATOMIC_FILE, out -> out.write("new".getBytes("UTF-8")), true);
+
+        assertEquals("new", FileUtil.readFromFile(ATOMIC_FILE));
+        assertFalse(new File(ATOMIC_FILE.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void writeAtomically_writerFails_fileUnchanged() throws IOException {
+        FileUtil.writeAtomically(ATOMIC_FILE, out -> out.write("old".getBytes("UTF-8")), false);
+
+        try {
+            FileUtil.writeAtomically(ATOMIC_FILE, out -> {
+                out.write("half".getBytes("UTF-8"));
+                throw new IOException("dummy exception");
+            }, false);
+        } catch (IOException e) {
+            assertEquals("old", FileUtil.readFromFile(ATOMIC_FILE));
+            assertFalse(new File(ATOMIC_FILE.getPath() + ".tmp").exists());
+            return;
+        }
+        fail("IOException should have been thrown");
+    }
+
+    @Test
+    public void writeAtomically_gzipPath_compressedAndReadBack() throws IOException {
+        String content = new String(new char[1000]).replace("\0", "<tag>repeated</tag>");
+        FileUtil.WriteStatistics written = FileUtil.writeAtomically(GZIP_FILE,
+                out -> out.write(content.getBytes("UTF-8")), false);
+
+        assertTrue(FileUtil.isGzipFile(GZIP_FILE));
+        assertTrue(written.isCompressed());
+        assertEquals(content.length(), written.getContentBytes());
+        assertEquals(GZIP_FILE.length(), written.getFileBytes());
+        assertTrue(written.getCompressionRatio() > 10);
+        assertEquals(content, FileUtil.readFromFile(GZIP_FILE));
+    }
+
+    @Test
+    public void writeToFile_compressedFileWithoutGzipPath_staysCompressed() throws IOException {
+        File renamed = new File(TestUtil.getFilePathInSandboxFolder("atomic/compressed.txt"));
+        FileUtil.writeAtomically(GZIP_FILE, out -> out.write("old".getBytes("UTF-8")), false);
+        renamed.delete();
+        assertTrue(GZIP_FILE.renameTo(renamed));
+
+        FileUtil.writeToFile(renamed, "new");
+        assertTrue(FileUtil.isGzipFile(renamed));
+        assertEquals("new", FileUtil.readFromFile(renamed));
+    }
 }
@@ -22,6 +22,9 @@ import seedu.taskman.model.event.*;
 import seedu.taskman.model.event.legacy.Email;
 import seedu.taskman.storage.StorageManager;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -30,6 +33,8 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static seedu.taskman.commons.core.Messages.*;
 
@@ -46,12 +51,14 @@ public class LogicManagerTest {
 
     //These are for checking the correctness of the events raised
     private ReadOnlyTaskMan latestSavedTaskMan;
+    private int changeEventCount;
     private boolean helpShown;
     private int targetedJumpIndex;
 
     @Subscribe
     private void handleLocalModelChangedEvent(TaskManChangedEvent abce) {
         latestSavedTaskMan = new TaskMan(abce.data);
+        changeEventCount++;
     }
 
     @Subscribe
@@ -149,6 +156,123 @@ public class LogicManagerTest {
         assertCommandBehavior("clear", ClearCommand.MESSAGE_SUCCESS, new TaskMan(), Collections.emptyList());
     }
 
+    @Test
+    public void execute_import_invalidArgsFormat() throws Exception {
+        assertCommandBehavior("import ",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, ImportCommand.MESSAGE_USAGE));
+    }
+
+    @Test
+    public void execute_import_missingFile() throws Exception {
+        File missing = new File(saveFolder.getRoot(), "missing.csv");
+        assertCommandBehavior("import " + missing.getPath(),
+                String.format(ImportCommand.MESSAGE_FILE_NOT_FOUND, missing));
+    }
+
+
+    @Test
+    public void execute_run_invalidArgsFormat() throws Exception {
+        assertCommandBehavior("run ",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, RunCommand.MESSAGE_USAGE));
+    }
+
+    @Test
+    public void execute_run_missingFile() throws Exception {
+        File missing = new File(saveFolder.getRoot(), "missing.txt");
+        assertCommandBehavior("run " + missing.getPath(),
+                String.format(RunCommand.MESSAGE_FILE_NOT_FOUND, missing));
+    }
+
+    @Test
+    public void execute_run_fileOfCommands_savedOnce() throws Exception {
+        File script = new File(saveFolder.getRoot(), "chores.txt");
+        Files.write(script.toPath(), Arrays.asList(
+                "# weekly chores",
+                "do Water plants",
+                "",
+                "do Take out trash",
+                "delete 99",
+                "do Water plants",
+                "   do Vacuum   ",
+                "run " + script.getPath()), StandardCharsets.UTF_8);
+
+        CommandResult result = logic.execute("run " + script.getPath());
+
+        assertEquals(false, result.isSuccessful);
+        String[] lines = result.feedbackToUser.split("\n");
+        assertTrue(lines[0], lines[0].startsWith("Ran 6 commands from " + script));
+        assertTrue(lines[0], lines[0].endsWith("(3 failed)"));
+        assertEquals(String.format(RunCommand.MESSAGE_LINE_FAILED, 5, MESSAGE_INVALID_EVENT_DISPLAYED_INDEX),
+                lines[1]);
+        assertEquals(String.format(RunCommand.MESSAGE_LINE_FAILED, 6, DoCommand.MESSAGE_DUPLICATE_EVENT), lines[2]);
+        assertEquals(String.format(RunCommand.MESSAGE_LINE_FAILED, 8,
+                String.format(RunCommand.MESSAGE_NOT_IN_SCRIPT, "run")), lines[3]);
+
+        assertEquals(3, model.getTaskMan().getActivityList().size());
+        assertEquals(1, changeEventCount);
+        assertEquals(model.getTaskMan(), latestSavedTaskMan);
+    }
+
+    @Test
+    public void execute_run_nothingChanged_notSaved() throws Exception {
+        File script = new File(saveFolder.getRoot(), "lists.txt");
+        Files.write(script.toPath(), Arrays.asList("list", "list all/"), StandardCharsets.UTF_8);
+
+        CommandResult result = logic.execute("run " + script.getPath());
+
+        assertTrue(result.isSuccessful);
+        assertEquals(0, changeEventCount);
+    }
+
+    @Test
+    public void execute_chain_allChangesKeptAndSavedOnce() throws Exception {
+        CommandResult result = logic.execute("do Water plants ; do Take out trash;list ; do Vacuum");
+
+        assertTrue(result.isSuccessful);
+        String[] lines = result.feedbackToUser.split("\n");
+        assertEquals(String.format(ChainCommand.MESSAGE_SUCCESS, 4), lines[0]);
+        assertEquals(5, lines.length);
+        assertEquals(3, model.getTaskMan().getActivityList().size());
+        assertEquals(1, changeEventCount);
+        assertEquals(model.getTaskMan(), latestSavedTaskMan);
+    }
+
+    @Test
+    public void execute_chain_failingCommand_noChangesKept() throws Exception {
+        logic.execute("do Water plants");
+        TaskMan before = new TaskMan(model.getTaskMan());
+        Activity watering = model.getTaskMan().getActivityList().get(0);
+        changeEventCount = 0;
+        latestSavedTaskMan = null;
+
+        CommandResult result = logic.execute("do Take out trash ; delete 1 ; delete 99 ; do Vacuum");
+
+        assertEquals(false, result.isSuccessful);
+        assertEquals(String.format(ChainCommand.MESSAGE_FAILED, 3, 4, MESSAGE_INVALID_EVENT_DISPLAYED_INDEX),
+                result.feedbackToUser);
+        assertEquals(before, model.getTaskMan());
+        // the original activities are put back and nothing is saved
+        assertSame(watering, model.getTaskMan().getActivityList().get(0));
+        assertEquals(0, changeEventCount);
+        assertNull(latestSavedTaskMan);
+    }
+
+    @Test
+    public void execute_chain_invalidCommand_nothingRun() throws Exception {
+        assertCommandBehavior("do Water plants ; exit", String.format(ChainCommand.MESSAGE_FAILED, 2, 2,
+                String.format(ChainCommand.MESSAGE_NOT_IN_CHAIN, "exit")));
+        assertCommandBehavior("do Water plants ; do ; list", String.format(ChainCommand.MESSAGE_FAILED, 2, 3,
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, DoCommand.MESSAGE_USAGE)));
+        assertEquals(0, changeEventCount);
+    }
+
+    @Test
+    public void execute_separatorNotBetweenCommands_singleCommand() throws Exception {
+        // parts that do not start with a command word are part of the single command
+        assertCommandBehavior("do Water plants ; unknown", Title.MESSAGE_TITLE_CONSTRAINTS);
+        assertCommandBehavior("do Water plants ;  ; list", Title.MESSAGE_TITLE_CONSTRAINTS);
+        assertEquals(0, changeEventCount);
+    }
 
     //@Test
     public void execute_add_invalidArgsFormat() throws Exception {
@@ -317,6 +441,96 @@ public class LogicManagerTest {
                 expectedAB,
                 expectedAB.getActivityList());
     }
+
+    @Test
+    public void execute_deleteInvalidIndexRanges_errorMessageShown() throws Exception {
+        String expectedMessage = String.format(MESSAGE_INVALID_COMMAND_FORMAT, DeleteCommand.MESSAGE_USAGE);
+        assertCommandBehavior("delete 3-1", expectedMessage);
+        assertCommandBehavior("delete 1,,2", expectedMessage);
+        assertCommandBehavior("delete 1-", expectedMessage);
+        assertCommandBehavior("delete 0-2", expectedMessage);
+        assertCommandBehavior("delete 1, 2", expectedMessage);
+    }
+
+    @Test
+    public void execute_delete_indexRangesAndLists_deletedInOneChange() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        List<Task> sixTasks = helper.generateTaskList(6);
+        helper.addToModel(model, sixTasks);
+        changeEventCount = 0;
+
+        TaskMan expectedAB = helper.generateTaskMan(sixTasks);
+        for (int i : new int[] {1, 2, 4, 5}) {
+            expectedAB.removeActivity(new Activity(sixTasks.get(i)));
+        }
+        assertCommandBehavior("delete 2-3,5-6,3",
+                String.format(DeleteCommand.MESSAGE_DELETE_EVENTS_SUCCESS, 4),
+                expectedAB,
+                expectedAB.getActivityList());
+        assertEquals(1, changeEventCount);
+
+        // a range beyond the list deletes nothing
+        assertCommandBehavior("delete 1-3", MESSAGE_INVALID_EVENT_DISPLAYED_INDEX, expectedAB,
+                expectedAB.getActivityList());
+        assertEquals(1, changeEventCount);
+    }
+
+    @Test
+    public void execute_delete_filter_deletesMatchingActivitiesWhetherShownOrNot() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        List<Task> fourTasks = helper.generateTaskList(4);
+        helper.addToModel(model, fourTasks);
+        logic.execute("list all/ t/tag4");
+
+        TaskMan expectedAB = helper.generateTaskMan(fourTasks);
+        expectedAB.removeActivity(new Activity(fourTasks.get(1)));
+        expectedAB.removeActivity(new Activity(fourTasks.get(2)));
+        assertCommandBehavior("delete all/ t/tag3",
+                String.format(DeleteCommand.MESSAGE_DELETE_EVENTS_SUCCESS, 2),
+                expectedAB,
+                Collections.singletonList(expectedAB.getActivityList().get(1)));
+
+        assertCommandBehavior("delete all/ t/tag3", MESSAGE_NO_MATCHING_EVENTS, expectedAB,
+                Collections.singletonList(expectedAB.getActivityList().get(1)));
+    }
+
+    @Test
+    public void execute_complete_indexRanges_completedInPlace() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        List<Task> threeTasks = helper.generateTaskList(3);
+        helper.addToModel(model, threeTasks);
+        changeEventCount = 0;
+
+        CommandResult result = logic.execute("complete 1,3");
+
+        assertEquals(String.format(CompleteCommand.MESSAGE_SUCCESS_MANY, 2), result.feedbackToUser);
+        List<Activity> activities = model.getTaskMan().getActivityList();
+        assertEquals(threeTasks.get(0).getTitle(), activities.get(0).getTitle());
+        assertTrue(activities.get(0).getStatus().get().completed);
+        assertEquals(false, activities.get(1).getStatus().get().completed);
+        assertTrue(activities.get(2).getStatus().get().completed);
+        assertEquals(1, changeEventCount);
+        assertEquals(model.getTaskMan(), latestSavedTaskMan);
+    }
+
+    @Test
+    public void execute_edit_indexRanges_allEdited() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        helper.addToModel(model, 3);
+        changeEventCount = 0;
+
+        assertEquals(EditCommand.MESSAGE_TITLE_FOR_ONE, logic.execute("edit 1-2 Same title").feedbackToUser);
+
+        CommandResult result = logic.execute("edit 1-2 t/urgent");
+
+        assertEquals(String.format(EditCommand.MESSAGE_EDIT_MANY_SUCCESS, 2), result.feedbackToUser);
+        Tag urgent = new Tag("urgent");
+        List<Activity> activities = model.getTaskMan().getActivityList();
+        assertEquals(new UniqueTagList(urgent), activities.get(0).getTags());
+        assertEquals(new UniqueTagList(urgent), activities.get(1).getTags());
+        assertEquals(false, activities.get(2).getTags().contains(urgent));
+        assertEquals(1, changeEventCount);
+    }
     
     @Test
     public void execute_completeInvalidArgsFormat_errorMessageShown() throws Exception {
@@ -0,0 +1,94 @@
+package seedu.taskman.logic.exporter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import seedu.taskman.commons.util.FileUtil;
+import seedu.taskman.logic.importer.ActivityImporter;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Deadline;
+import seedu.taskman.model.event.Event;
+import seedu.taskman.model.event.Frequency;
+import seedu.taskman.model.event.Schedule;
+import seedu.taskman.model.event.Status;
+import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.Title;
+import seedu.taskman.model.tag.Tag;
+import seedu.taskman.model.tag.UniqueTagList;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ActivityExporterTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private final ActivityExporter exporter = new ActivityExporter();
+
+    private List<Activity> createActivities() throws Exception {
+        Task task = new Task(new Title("pay bills"), new UniqueTagList(new Tag("bills"), new Tag("home")),
+                new Deadline(1467797400), null, null);
+        task.setStatus(new Status("complete"));
+        Event event = new Event(new Title("a weekly meeting with a title long enough to be folded in icalendar"),
+                new UniqueTagList(new Tag("work")), new Schedule(1467795600, 1467799200), new Frequency(604800));
+        return Arrays.asList(new Activity(task), new Activity(event));
+    }
+
+    @Test
+    public void write_csv() throws Exception {
+        StringWriter writer = new StringWriter();
+        exporter.write(createActivities(), ActivityExporter.Format.CSV, writer);
+
+        String[] lines = writer.toString().split("\r\n");
+        assertEquals(ActivityExporter.CSV_HEADER, lines[0]);
+        assertEquals("event,a weekly meeting with a title long enough to be folded in icalendar,,"
+                + "2016-07-06T09:00:00Z,2016-07-06T10:00:00Z,604800,,work", lines[2]);
+    }
+
+    @Test
+    public void write_ics_linesFolded() throws Exception {
+        StringWriter writer = new StringWriter();
+        exporter.write(createActivities(), ActivityExporter.Format.ICS, writer);
+
+        for (String line : writer.toString().split("\r\n")) {
+            assertTrue(line.length() <= 75);
+        }
+        assertTrue(writer.toString().contains("RRULE:FREQ=WEEKLY;INTERVAL=1\r\n"));
+    }
+
+    @Test
+    public void exportFile_csvAndIcs_importedBack() throws Exception {
+        List<Activity> activities = createActivities();
+        for (String name : new String[] {"export.csv", "export.ics"}) {
+            File file = new File(testFolder.getRoot(), name);
+            exporter.exportFile(activities, ActivityExporter.Format.of(name.substring(7)).get(), file);
+
+            List<Activity> imported = new ActivityImporter().importFile(file).getActivities();
+            assertEquals(activities.size(), imported.size());
+            for (int i = 0; i < activities.size(); i++) {
+                assertTrue(name, activities.get(i).isSameStateAs(imported.get(i)));
+                assertEquals(name, activities.get(i).getTags(), imported.get(i).getTags());
+            }
+        }
+    }
+
+    @Test
+    public void exportInBackground_gzipFile_writtenCompressed() throws Exception {
+        File file = new File(testFolder.getRoot(), "export.csv.gz");
+
+        int count = exporter.exportInBackground(createActivities(), ActivityExporter.Format.CSV, file)
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, count);
+        assertTrue(FileUtil.isGzipFile(file));
+        assertTrue(FileUtil.readFromFile(file).startsWith(ActivityExporter.CSV_HEADER));
+    }
+
+}
@@ -0,0 +1,134 @@
+package seedu.taskman.logic.importer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import seedu.taskman.commons.exceptions.IllegalValueException;
+import seedu.taskman.commons.util.FileUtil;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.tag.Tag;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ActivityImporterTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private final ActivityImporter importer = new ActivityImporter();
+
+    private File createFile(String name, String content) throws Exception {
+        File file = new File(testFolder.getRoot(), name);
+        FileUtil.writeToFile(file, content);
+        return file;
+    }
+
+    @Test
+    public void importFile_csv_validRowsRead() throws Exception {
+        File file = createFile("tasks.csv", "Title,Type,Deadline,Start,End,Frequency,Status,Tags,Notes\r\n"
+                + "pay bills,task,2016-07-06 09:30,,,,completed,bills;home,ignored\r\n"
+                + "\"meeting, weekly\",event,,20160706T090000Z,20160706T100000Z,604800,,work,\"a \"\"quoted\"\"\n"
+                + "note\"\r\n"
+                + ",task,,,,,,,\r\n"
+                + "bad date,task,not a date at all,,,,,,\r\n");
+
+        ImportResult result = importer.importFile(file);
+
+        assertEquals(4, result.getRecordCount());
+        assertEquals(2, result.getInvalidCount());
+        List<Activity> activities = result.getActivities();
+        assertEquals(2, activities.size());
+
+        Activity task = activities.get(0);
+        assertEquals("pay bills", task.getTitle().title);
+        assertEquals(Activity.ActivityType.TASK, task.getType());
+        assertEquals(LocalDateTime.of(2016, 7, 6, 9, 30).toEpochSecond(ZoneOffset.UTC),
+                task.getDeadline().get().epochSecond);
+        assertTrue(task.getStatus().get().completed);
+        assertTrue(task.getTags().contains(new Tag("bills")));
+        assertTrue(task.getTags().contains(new Tag("home")));
+
+        Activity event = activities.get(1);
+        assertEquals("meeting weekly", event.getTitle().title);
+        assertEquals(Activity.ActivityType.EVENT, event.getType());
+        assertEquals(3600, event.getSchedule().get().endEpochSecond - event.getSchedule().get().startEpochSecond);
+        assertEquals(604800L, (long) event.getFrequency().get().seconds);
+    }
+
+    @Test(expected = IllegalValueException.class)
+    public void importFile_csvWithoutTitleColumn_exceptionThrown() throws Exception {
+        importer.importFile(createFile("tasks.csv", "name,deadline\nsomething,2016-07-06\n"));
+    }
+
+    @Test
+    public void importFile_ics_eventsAndTodosRead() throws Exception {
+        File file = createFile("calendar.ics", "BEGIN:VCALENDAR\r\n"
+                + "VERSION:2.0\r\n"
+                + "BEGIN:VTIMEZONE\r\n"
+                + "TZID:Asia/Singapore\r\n"
+                + "END:VTIMEZONE\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "SUMMARY:Team lunch at the\r\n"
+                + "  canteen\r\n"
+                + "DTSTART;TZID=Asia/Singapore:20160706T120000\r\n"
+                + "DTEND;TZID=Asia/Singapore:20160706T130000\r\n"
+                + "RRULE:FREQ=WEEKLY;INTERVAL=2\r\n"
+                + "CATEGORIES:work,food\r\n"
+                + "END:VEVENT\r\n"
+                + "BEGIN:VTODO\r\n"
+                + "SUMMARY:Submit report\\, final\r\n"
+                + "DUE;VALUE=DATE:20160708\r\n"
+                + "STATUS:COMPLETED\r\n"
+                + "END:VTODO\r\n"
+                + "END:VCALENDAR\r\n");
+
+        ImportResult result = importer.importFile(file);
+
+        assertEquals(2, result.getRecordCount());
+        assertEquals(0, result.getInvalidCount());
+        Activity event = result.getActivities().get(0);
+        assertEquals("Team lunch at the canteen", event.getTitle().title);
+        assertEquals(Activity.ActivityType.EVENT, event.getType());
+        assertEquals(LocalDateTime.of(2016, 7, 6, 12, 0).atZone(ZoneId.of("Asia/Singapore")).toEpochSecond(),
+                event.getSchedule().get().startEpochSecond);
+        assertEquals(14 * 24 * 60 * 60L, (long) event.getFrequency().get().seconds);
+        assertTrue(event.getTags().contains(new Tag("food")));
+
+        Activity task = result.getActivities().get(1);
+        assertEquals("Submit report final", task.getTitle().title);
+        assertEquals(Activity.ActivityType.TASK, task.getType());
+        assertTrue(task.getDeadline().isPresent());
+        assertTrue(task.getStatus().get().completed);
+    }
+
+    @Test
+    public void importFile_manyRecords_allReadInOrder() throws Exception {
+        StringBuilder csv = new StringBuilder("title,deadline\n");
+        for (int i = 0; i < 10000; i++) {
+            csv.append("task ").append(i).append(",2016-07-06T09:").append(String.format("%02d", i % 60)).append("\n");
+        }
+
+        ImportResult result = importer.importFile(createFile("tasks.csv.gz", csv.toString()));
+
+        assertEquals(10000, result.getActivities().size());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals("task " + i, result.getActivities().get(i).getTitle().title);
+        }
+    }
+
+    @Test
+    public void isSupported() {
+        assertTrue(ActivityImporter.isSupported(new File("calendar.ICS")));
+        assertTrue(ActivityImporter.isSupported(new File("tasks.csv.gz")));
+        assertFalse(ActivityImporter.isSupported(new File("taskMan.xml")));
+    }
+
+}
@@ -0,0 +1,110 @@
+package seedu.taskman.logic.parser;
+
+import org.junit.Test;
+import seedu.taskman.commons.exceptions.IllegalValueException;
+import seedu.taskman.logic.parser.ArgumentTokenizer.Arguments;
+import seedu.taskman.logic.parser.ArgumentTokenizer.Prefix;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ArgumentTokenizerTest {
+
+    private static final Set<Prefix> ALL_PREFIXES = EnumSet.allOf(Prefix.class);
+
+    @Test
+    public void tokenize_prefixesInAnyOrder_valuesSplit() throws Exception {
+        Arguments arguments = ArgumentTokenizer.tokenize("  pay bills  t/bills s/tdy 1800, tdy 1830 d/07/05/16 2359 "
+                + "t/home f/1 month ", ALL_PREFIXES);
+
+        assertEquals("pay bills", arguments.getPreamble());
+        assertEquals("07/05/16 2359", arguments.getValueOrNull(Prefix.DEADLINE));
+        assertEquals("tdy 1800, tdy 1830", arguments.getValueOrNull(Prefix.SCHEDULE));
+        assertEquals("1 month", arguments.getValueOrNull(Prefix.FREQUENCY));
+        assertEquals(Arrays.asList("bills", "home"), arguments.getAllValues(Prefix.TAG));
+        assertFalse(arguments.isPresent(Prefix.STATUS));
+        assertEquals(null, arguments.getValueOrNull(Prefix.STATUS));
+    }
+
+    @Test
+    public void tokenize_noPrefixes_allPreamble() throws Exception {
+        Arguments arguments = ArgumentTokenizer.tokenize(" 1 new title ", ALL_PREFIXES);
+
+        assertEquals("1 new title", arguments.getPreamble());
+        assertTrue(arguments.getAllValues(Prefix.TAG).isEmpty());
+    }
+
+    @Test
+    public void tokenize_slashNotAfterLetters_partOfValue() throws Exception {
+        Arguments arguments = ArgumentTokenizer.tokenize("1/2 of it-d/s t/a", EnumSet.of(Prefix.TAG));
+
+        assertEquals("1/2 of it-d/s", arguments.getPreamble());
+    }
+
+    @Test
+    public void tokenize_invalid_exceptionThrown() {
+        String[] invalidArgs = {"title x/value", "title d/tmr d/tdy", "title d/", "title d/ t/tag", "title t/"};
+        for (String args : invalidArgs) {
+            try {
+                ArgumentTokenizer.tokenize(args, ALL_PREFIXES);
+                fail(args);
+            } catch (IllegalValueException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void tokenize_unexpectedPrefix_exceptionThrown() {
+        try {
+            ArgumentTokenizer.tokenize("title c/complete", EnumSet.of(Prefix.DEADLINE, Prefix.TAG));
+            fail();
+        } catch (IllegalValueException e) {
+            assertEquals(String.format(ArgumentTokenizer.MESSAGE_UNEXPECTED_PREFIX, "c/"), e.getMessage());
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void tokenize_longMalformedInputs_linearTime() {
+        // inputs that make backtracking regexes take exponential or polynomial time
+        String[] units = {"a ", "a/", " t/a", "t/ ", "/", "d/a ", "aaaa", " "};
+        for (String unit : units) {
+            StringBuilder args = new StringBuilder();
+            while (args.length() < 200000) {
+                args.append(unit);
+            }
+            args.append("x/");
+            tokenizeIgnoringErrors(args.toString());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void tokenize_randomInputs_noUnexpectedExceptions() {
+        String[] pieces = {"a", "1", " ", "  ", "\t", "/", "//", "d/", "s/", "f/", "c/", "t/", "x/", "all/", "D/", "é"};
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            StringBuilder args = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int j = 0; j < length; j++) {
+                args.append(pieces[random.nextInt(pieces.length)]);
+            }
+            tokenizeIgnoringErrors(args.toString());
+        }
+    }
+
+    private static void tokenizeIgnoringErrors(String args) {
+        try {
+            ArgumentTokenizer.tokenize(args, ALL_PREFIXES);
+        } catch (IllegalValueException e) {
+            // malformed input is expected to be rejected
+        }
+    }
+
+}
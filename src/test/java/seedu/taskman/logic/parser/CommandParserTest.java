@@ -0,0 +1,57 @@
+package seedu.taskman.logic.parser;
+
+import org.junit.Test;
+import seedu.taskman.logic.commands.ChainCommand;
+import seedu.taskman.logic.commands.Command;
+import seedu.taskman.logic.commands.ExportCommand;
+import seedu.taskman.logic.commands.ImportCommand;
+import seedu.taskman.logic.commands.RunCommand;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class CommandParserTest {
+
+    private final CommandParser parser = new CommandParser();
+
+    @Test(timeout = 5000)
+    public void parseCommand_longMalformedInputs_linearTime() {
+        StringBuilder title = new StringBuilder();
+        while (title.length() < 100000) {
+            title.append("a ");
+        }
+        String[] inputs = {"do " + title + "/", "mark " + title + "t/" + title + "/", "edit 1 " + title + "x/",
+            "list " + title + "t/a/", "do " + title.toString().replace(' ', '/')};
+        for (String input : inputs) {
+            assertNotNull(parser.parseCommand(input));
+        }
+    }
+
+    @Test
+    public void parseCommand_separatorInArguments_singleCommand() {
+        assertTrue(parser.parseCommand("export csv reports;2016.csv") instanceof ExportCommand);
+        assertTrue(parser.parseCommand("import backups;old.csv") instanceof ImportCommand);
+        assertTrue(parser.parseCommand("run scripts;weekly.txt") instanceof RunCommand);
+        assertTrue(parser.parseCommand("do Water plants ; list") instanceof ChainCommand);
+    }
+
+    @Test(timeout = 60000)
+    public void parseCommand_randomInputs_commandReturned() {
+        String[] commandWords = {"do", "mark", "edit", "list", "delete", "complete", "select", "import", "export"};
+        String[] pieces = {"a", "1", "99999999999", " ", "/", "d/", "s/", "f/", "c/", "t/", "x/", "all/", "tmr 2359",
+            "1 day", ", ", "complete"};
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder input = new StringBuilder(commandWords[random.nextInt(commandWords.length)]);
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                input.append(pieces[random.nextInt(pieces.length)]);
+            }
+            Command command = parser.parseCommand(input.toString());
+            assertNotNull(input.toString(), command);
+        }
+    }
+
+}
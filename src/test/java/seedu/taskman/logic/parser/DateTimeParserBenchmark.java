@@ -0,0 +1,83 @@
+package seedu.taskman.logic.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many natural language dates {@link DateTimeParser} parses per second on 1, 2, 4... threads,
+ * up to the number of cores. Not a test; run it on its own.
+ *
+ * Usage: {@code DateTimeParserBenchmark [parses per thread]}, by default 2000.
+ */
+public class DateTimeParserBenchmark {
+
+    private static final int DEFAULT_PARSES_PER_THREAD = 2000;
+    /** More different date times than the parse cache holds, so that parses are not answered from it */
+    private static final String[] DATE_TIMES = createDateTimes();
+
+    public static void main(String[] args) throws Exception {
+        int parsesPerThread = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PARSES_PER_THREAD;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        DateTimeParser.warmUp();
+        System.out.println("threads   parses/s   speedup");
+        double singleThreadRate = 0;
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(cores);
+        for (int threads : threadCounts) {
+            double rate = run(threads, parsesPerThread);
+            if (threads == 1) {
+                singleThreadRate = rate;
+            }
+            System.out.println(String.format("%7d %10.0f %9.2f", threads, rate, rate / singleThreadRate));
+        }
+    }
+
+    private static String[] createDateTimes() {
+        List<String> dateTimes = new ArrayList<>();
+        for (int day = 1; day <= 28; day++) {
+            for (int hour = 0; hour < 24; hour++) {
+                for (int minute = 0; minute < 60; minute += 15) {
+                    dateTimes.add(String.format("07/%02d/16 %02d%02d", day, hour, minute));
+                }
+            }
+        }
+        return dateTimes.toArray(new String[dateTimes.size()]);
+    }
+
+    /**
+     * Returns the number of dates parsed per second with each thread parsing the given number of dates.
+     */
+    private static double run(int threads, int parsesPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // the first parse on each thread creates its parser
+        for (int i = 0; i < threads; i++) {
+            executor.submit(DateTimeParser::warmUp);
+        }
+
+        long startTime = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                for (int j = 0; j < parsesPerThread; j++) {
+                    DateTimeParser.getUnixTime(DATE_TIMES[j % DATE_TIMES.length]);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        long nanos = System.nanoTime() - startTime;
+        executor.shutdown();
+        return (double) threads * parsesPerThread * TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+}
@@ -4,6 +4,11 @@ import org.junit.Test;
 import seedu.taskman.commons.exceptions.IllegalValueException;
 
 import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static java.time.temporal.TemporalAdjusters.next;
 import static org.hamcrest.core.Is.is;
@@ -90,4 +95,68 @@ public class DateTimeParserTest {
         assertTrue(Math.abs(expectedEndTime - parsedTimeComma) < timeDifferenceThreshold);
     }
 
+    @Test
+    public void parse_severalThreads_sameResults() throws Exception {
+        String testDateTimeFormal = "07/05/16 2359";
+        long testDateTimeUnix = 1467763140L;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(executor.submit(() -> DateTimeParser.getUnixTime(testDateTimeFormal)));
+        }
+        for (Future<Long> result : results) {
+            assertEquals(testDateTimeUnix, (long) result.get());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void parse_repeatedExplicitTime_cached() throws Exception {
+        long first = DateTimeParser.getUnixTime("2nd Wed from now 9pm");
+        long hits = DateTimeParser.getCacheStats().hitCount();
+
+        assertEquals(first, DateTimeParser.getUnixTime("2nd Wed from now 9pm"));
+        assertEquals(first, DateTimeParser.getUnixTime("  2ND wed   from NOW 9pm"));
+        assertEquals(hits + 2, DateTimeParser.getCacheStats().hitCount());
+    }
+
+    @Test
+    public void parse_repeatedRelativeTime_notCached() throws Exception {
+        DateTimeParser.getUnixTime("in 5 minutes");
+        long hits = DateTimeParser.getCacheStats().hitCount();
+
+        long unixDateTime = DateTimeParser.getUnixTime("in 5 minutes");
+
+        assertEquals(hits, DateTimeParser.getCacheStats().hitCount());
+        assertTrue(Math.abs(Instant.now().getEpochSecond() + 5 * 60 - unixDateTime) < timeDifferenceThreshold);
+    }
+
+    @Test
+    public void parse_durationCalendarUnits_addedFromStart() throws Exception {
+        ZonedDateTime start = ZonedDateTime.of(2016, 1, 31, 9, 0, 0, 0, ZoneId.systemDefault());
+
+        String duration = "1 month, 1 week 2 days 3 mins";
+
+        long parsedTime = DateTimeParser.durationToUnixTime(start.toEpochSecond(), duration);
+
+        assertEquals(start.plusMonths(1).plusWeeks(1).plusDays(2).plusMinutes(3).toEpochSecond(), parsedTime);
+        assertEquals(parsedTime, DateTimeParser.durationToUnixTime(start.toEpochSecond(), duration));
+    }
+
+    @Test
+    public void parse_durationInvalid_exception() {
+        String[] testCases = {"", "days", "0 days", "3 fortnights", "3days", "3 days and 2 hours",
+            "99999999999999999999 years", "9999999999 years"};
+
+        for (String testCase : testCases) {
+            try {
+                DateTimeParser.durationToUnixTime(0, testCase);
+                fail(testCase);
+            } catch (DateTimeParser.IllegalDateTimeException e) {
+                // expected
+            }
+        }
+    }
+
 }
@@ -0,0 +1,52 @@
+package seedu.taskman.logic.parser;
+
+import com.joestelmach.natty.Parser;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Compares the time the short format recognizer and natty take to parse short format date times.
+ * Not a test; run it on its own.
+ *
+ * Usage: {@code ShortDateTimeParserBenchmark [parses]}, by default 5000.
+ */
+public class ShortDateTimeParserBenchmark {
+
+    private static final int DEFAULT_PARSES = 5000;
+    private static final int ROUNDS = 5;
+    private static final String[] DATE_TIMES = {"tdy 2359", "tmr 0900", "fri 1800", "this tue 1600", "next thu 2200"};
+
+    /** Keeps the results, so that the parses are not optimized away */
+    private static long sink;
+
+    public static void main(String[] args) {
+        int parses = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PARSES;
+        Parser natty = new Parser();
+        LocalDate today = LocalDate.now();
+
+        long bestNatty = Long.MAX_VALUE;
+        long bestShort = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            for (int i = 0; i < parses; i++) {
+                sink += natty.parse(DATE_TIMES[i % DATE_TIMES.length] + " UTC").get(0).getDates().get(0).getTime();
+            }
+            bestNatty = Math.min(bestNatty, System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            // the recognizer is fast enough that it needs many more parses to be timed
+            for (int i = 0; i < parses * 100; i++) {
+                sink += ShortDateTimeParser.parse(DATE_TIMES[i % DATE_TIMES.length], today, DayOfWeek.SUNDAY);
+            }
+            bestShort = Math.min(bestShort, (System.nanoTime() - startTime) / 100);
+        }
+
+        double nattyNanos = (double) bestNatty / parses;
+        double shortNanos = (double) bestShort / parses;
+        System.out.println(String.format("natty        %12.0f ns/parse", nattyNanos));
+        System.out.println(String.format("short format %12.0f ns/parse", shortNanos));
+        System.out.println(String.format("speedup      %12.0fx", nattyNanos / shortNanos));
+    }
+
+}
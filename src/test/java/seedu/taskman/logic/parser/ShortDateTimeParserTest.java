@@ -0,0 +1,73 @@
+package seedu.taskman.logic.parser;
+
+import com.joestelmach.natty.CalendarSource;
+import com.joestelmach.natty.Parser;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+
+public class ShortDateTimeParserTest {
+
+    private static final DayOfWeek FIRST_DAY_OF_WEEK =
+            DayOfWeek.SUNDAY.plus(Calendar.getInstance().getFirstDayOfWeek() - Calendar.SUNDAY);
+    private static final String[] DATES = {
+        "tdy", "today", "tmr", "TOMORROW", "mon", "tuesday", "Wed", "thu", "friday", "sat", "sun",
+        "this mon", "this thursday", "this sun", "next tue", "next wed", "next sat", "next sunday", "next  fri"
+    };
+
+    private final Parser natty = new Parser();
+
+    @After
+    public void resetNattyBaseDate() {
+        CalendarSource.setBaseDate(null);
+    }
+
+    @Test
+    public void parse_shortFormat_sameAsNatty() {
+        ZonedDateTime start = ZonedDateTime.of(2016, 7, 3, 0, 30, 0, 0, ZoneId.systemDefault());
+        // every day of two weeks, early and late in the day
+        for (int hours = 0; hours < 14 * 24; hours += 11) {
+            ZonedDateTime now = start.plusHours(hours);
+            CalendarSource.setBaseDate(Date.from(now.toInstant()));
+            for (String date : DATES) {
+                for (String time : new String[] {"0000", "0930", "2359"}) {
+                    String dateTime = date + " " + time;
+                    long expected = natty.parse(dateTime + " UTC").get(0).getDates().get(0).getTime() / 1000;
+                    assertEquals(dateTime + " at " + now, expected,
+                            ShortDateTimeParser.parse(dateTime, now.toLocalDate(), FIRST_DAY_OF_WEEK));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parse_otherFormats_noMatch() {
+        LocalDate today = LocalDate.of(2016, 7, 6);
+        String[] inputs = {"", "2359", " 2359", "tmr", "tmr 2360", "tmr 2400", "tmr 235", "tmr 23590", "tmr 23a9",
+            "tmrw 2359", "next 2359", "next next fri 2359", "this next fri 2359", "wed 10am", "07/05/16 2359",
+            "2 weeks from now", "nextfri 1800", "fri1800"};
+        for (String input : inputs) {
+            assertEquals(input, ShortDateTimeParser.NO_MATCH,
+                    ShortDateTimeParser.parse(input, today, DayOfWeek.SUNDAY));
+        }
+    }
+
+    @Test
+    public void parse_nextWeekday_dependsOnFirstDayOfWeek() {
+        LocalDate sunday = LocalDate.of(2016, 7, 10);
+        long nextWedSundayStart = LocalDate.of(2016, 7, 20).toEpochDay() * 24 * 60 * 60;
+        long nextWedMondayStart = LocalDate.of(2016, 7, 13).toEpochDay() * 24 * 60 * 60;
+
+        assertEquals(nextWedSundayStart, ShortDateTimeParser.parse("next wed 0000", sunday, DayOfWeek.SUNDAY));
+        assertEquals(nextWedMondayStart, ShortDateTimeParser.parse("next wed 0000", sunday, DayOfWeek.MONDAY));
+    }
+
+}
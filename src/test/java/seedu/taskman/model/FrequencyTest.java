@@ -8,6 +8,7 @@ import seedu.taskman.model.event.Frequency;
 import seedu.taskman.model.event.Schedule;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
 
 public class FrequencyTest {
 
@@ -25,4 +26,14 @@ public class FrequencyTest {
         new Frequency(duration);
     }
 
+    @Test
+    public void create_duration_lengthInSeconds() throws IllegalValueException {
+        long oneWeek = 7 * 24 * 60 * 60;
+        long oneHour = 60 * 60;
+
+        // a week may be an hour longer or shorter across a daylight saving change
+        assertTrue(Math.abs(new Frequency("1 week").seconds - oneWeek) <= oneHour);
+        assertTrue(Math.abs(new Frequency("2 weeks, 3 hours").seconds - (2 * oneWeek + 3 * oneHour)) <= oneHour);
+    }
+
 }
@@ -0,0 +1,71 @@
+package seedu.taskman.model;
+
+import org.junit.Test;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.UniqueActivityList;
+import seedu.taskman.model.tag.Tag;
+import seedu.taskman.model.tag.UniqueTagList;
+import seedu.taskman.testutil.TypicalTestTasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class TaskManTest {
+
+    @Test
+    public void mergeData_changedData_onlyDifferencesApplied() throws Exception {
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskMan taskMan = td.getTypicalTaskMan();
+        Activity unchanged = taskMan.getActivityList().get(1);
+
+        TaskMan newData = new TaskMan(taskMan);
+        newData.removeActivity(new Activity(new Task(td.taskCS2101)));
+        newData.getActivityList().get(2).setTags(new UniqueTagList(new Tag("changed")));
+        newData.addEvent(new Task(td.taskCS2102));
+
+        assertEquals(3, taskMan.mergeData(newData));
+        assertEquals(newData.getActivityList(), taskMan.getActivityList());
+        assertSame(unchanged, taskMan.getActivityList().get(0));
+        // tags of replaced activities point to the objects in the master tag list
+        Tag changedTag = taskMan.getActivityList().get(2).getTags().getInternalList().get(0);
+        assertSame(taskMan.getTagList().get(taskMan.getTagList().indexOf(changedTag)), changedTag);
+
+        assertEquals(0, taskMan.mergeData(newData));
+    }
+
+    @Test
+    public void replaceActivities_titleTaken_nothingReplaced() throws Exception {
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskMan taskMan = td.getTypicalTaskMan();
+        TaskMan before = new TaskMan(taskMan);
+        List<Activity> targets = Arrays.asList(taskMan.getActivityList().get(0), taskMan.getActivityList().get(2));
+        List<Activity> replacements = Arrays.asList(new Activity(new Task(td.taskCS2102)),
+                new Activity(new Task(taskMan.getActivityList().get(1).getTask().get())));
+
+        try {
+            taskMan.replaceActivities(targets, replacements);
+            fail();
+        } catch (UniqueActivityList.DuplicateActivityException e) {
+            assertEquals(before.getActivityList(), taskMan.getActivityList());
+        }
+    }
+
+    @Test
+    public void removeActivities_someTargets_othersKeptInOrder() throws Exception {
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskMan taskMan = td.getTypicalTaskMan();
+        List<Activity> expected = new ArrayList<>(taskMan.getActivityList());
+        Activity first = expected.remove(0);
+        Activity last = expected.remove(expected.size() - 1);
+
+        assertEquals(2, taskMan.removeActivities(Arrays.asList(last, first, new Activity(new Task(td.taskCS2102)))));
+        assertEquals(expected, taskMan.getActivityList());
+    }
+
+}
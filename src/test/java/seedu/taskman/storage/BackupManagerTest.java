@@ -0,0 +1,78 @@
+package seedu.taskman.storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import seedu.taskman.commons.util.FileUtil;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BackupManagerTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private File createDataFile(String content) throws Exception {
+        File dataFile = new File(testFolder.getRoot(), "taskMan.xml");
+        FileUtil.writeToFile(dataFile, content);
+        return dataFile;
+    }
+
+    @Test
+    public void requestBackup_intervalElapsed_copyTaken() throws Exception {
+        File dataFile = createDataFile("first");
+        BackupManager backupManager = new BackupManager(dataFile.getPath(), 5, Duration.ZERO,
+                Duration.ofDays(30), Long.MAX_VALUE);
+
+        backupManager.requestBackup();
+        backupManager.stop();
+
+        List<File> backups = backupManager.getBackups();
+        assertEquals(1, backups.size());
+        assertEquals("first", FileUtil.readFromFile(backups.get(0)));
+    }
+
+    @Test
+    public void requestBackup_withinInterval_noCopyTaken() throws Exception {
+        File dataFile = createDataFile("first");
+        BackupManager backupManager = new BackupManager(dataFile.getPath(), 5, Duration.ofHours(1),
+                Duration.ofDays(30), Long.MAX_VALUE);
+        backupManager.backup(Instant.now());
+
+        backupManager.requestBackup();
+        backupManager.stop();
+
+        assertEquals(1, backupManager.getBackups().size());
+    }
+
+    @Test
+    public void prune_tooManyTooOldOrTooLarge_oldestRemoved() throws Exception {
+        File dataFile = createDataFile("0123456789");
+        Instant now = Instant.now();
+        BackupManager backupManager = new BackupManager(dataFile.getPath(), 3, Duration.ZERO,
+                Duration.ofDays(30), 25);
+        backupManager.backup(now.minus(Duration.ofDays(40)));
+        backupManager.backup(now.minus(Duration.ofDays(3)));
+        backupManager.backup(now.minus(Duration.ofDays(2)));
+        backupManager.backup(now.minus(Duration.ofDays(1)));
+        backupManager.backup(now);
+        assertEquals(5, backupManager.getBackups().size());
+
+        // too large beyond the first two, as each backup takes 10 bytes
+        backupManager.prune(now);
+        assertEquals(2, backupManager.getBackups().size());
+
+        // the newest is kept even if it is too large on its own
+        new BackupManager(dataFile.getPath(), 3, Duration.ZERO, Duration.ofDays(30), 5).prune(now);
+        List<File> backups = backupManager.getBackups();
+        assertEquals(1, backups.size());
+        assertTrue(backups.get(0).getName().endsWith("-taskMan.xml"));
+    }
+
+}
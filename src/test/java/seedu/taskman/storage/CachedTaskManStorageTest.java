@@ -0,0 +1,137 @@
+package seedu.taskman.storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import seedu.taskman.commons.util.FileUtil;
+import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.TaskMan;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.Title;
+import seedu.taskman.model.tag.UniqueTagList;
+import seedu.taskman.testutil.TypicalTestTasks;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CachedTaskManStorageTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private String getFilePath() {
+        return testFolder.getRoot().getPath() + "TempTaskMan.xml";
+    }
+
+    @Test
+    public void readTaskMan_cacheUpToDate_readFromCache() throws Exception {
+        TaskMan original = new TypicalTestTasks().getTypicalTaskMan();
+        CachedTaskManStorage storage = new CachedTaskManStorage(new XmlTaskManStorage(getFilePath()));
+        storage.saveTaskMan(original);
+        storage.awaitCacheWrites();
+        assertTrue(CachedTaskManStorage.getCacheFile(getFilePath()).exists());
+
+        ReadOnlyTaskMan readBack = new CachedTaskManStorage(new UnreadableStorageStub(getFilePath()))
+                .readTaskMan().get();
+        assertEquals(original, new TaskMan(readBack));
+    }
+
+    @Test
+    public void readTaskMan_cacheUpToDate_activitiesNotLoadedByChanges() throws Exception {
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskMan original = td.getTypicalTaskMan();
+        CachedTaskManStorage storage = new CachedTaskManStorage(new XmlTaskManStorage(getFilePath()));
+        storage.saveTaskMan(original);
+        storage.awaitCacheWrites();
+
+        TaskMan readBack = (TaskMan) new CachedTaskManStorage(new UnreadableStorageStub(getFilePath()))
+                .readTaskMan().get();
+        List<Activity> cached = new ArrayList<>(readBack.getActivityList());
+        readBack.addEvent(new Task(td.taskCS2102));
+        assertEquals(cached.size(), new HashSet<>(cached).size());
+        for (Activity activity : cached) {
+            assertFalse(activity.isLoaded());
+        }
+
+        original.addEvent(new Task(td.taskCS2102));
+        assertEquals(original, new TaskMan(readBack));
+    }
+
+    @Test
+    public void readTaskMan_dataFileChanged_readFromDataFileAndCacheRebuilt() throws Exception {
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskMan original = td.getTypicalTaskMan();
+        CachedTaskManStorage storage = new CachedTaskManStorage(new XmlTaskManStorage(getFilePath()));
+        storage.saveTaskMan(original);
+        storage.awaitCacheWrites();
+
+        // changed without going through the cache
+        original.addEvent(new Task(td.taskCS2102));
+        new XmlTaskManStorage(getFilePath()).saveTaskMan(original);
+
+        CachedTaskManStorage restarted = new CachedTaskManStorage(new XmlTaskManStorage(getFilePath()));
+        assertEquals(original, new TaskMan(restarted.readTaskMan().get()));
+        restarted.awaitCacheWrites();
+
+        ReadOnlyTaskMan readBack = new CachedTaskManStorage(new UnreadableStorageStub(getFilePath()))
+                .readTaskMan().get();
+        assertEquals(original, new TaskMan(readBack));
+    }
+
+    @Test
+    public void readTaskMan_cacheCorrupted_readFromDataFile() throws Exception {
+        TaskMan original = new TypicalTestTasks().getTypicalTaskMan();
+        CachedTaskManStorage storage = new CachedTaskManStorage(new XmlTaskManStorage(getFilePath()));
+        storage.saveTaskMan(original);
+        storage.awaitCacheWrites();
+        FileUtil.writeToFile(CachedTaskManStorage.getCacheFile(getFilePath()), "not a cache");
+
+        CachedTaskManStorage restarted = new CachedTaskManStorage(new XmlTaskManStorage(getFilePath()));
+        assertEquals(original, new TaskMan(restarted.readTaskMan().get()));
+    }
+
+    @Test
+    public void readTaskMan_negativeCountInCache_readFromDataFile() throws Exception {
+        TaskMan original = new TaskMan();
+        original.addEvent(new Task(new Title("Report"), new UniqueTagList(), null, null, null));
+        CachedTaskManStorage storage = new CachedTaskManStorage(new XmlTaskManStorage(getFilePath()));
+        storage.saveTaskMan(original);
+        storage.awaitCacheWrites();
+
+        // the activity count follows the magic number, the key of the data file and the two (zero) tag counts
+        File cacheFile = CachedTaskManStorage.getCacheFile(getFilePath());
+        byte[] image = Files.readAllBytes(cacheFile.toPath());
+        ByteBuffer.wrap(image).putInt(4 + 3 * 8 + 4 + 4, -1);
+        Files.write(cacheFile.toPath(), image);
+
+        CachedTaskManStorage restarted = new CachedTaskManStorage(new XmlTaskManStorage(getFilePath()));
+        assertEquals(original, new TaskMan(restarted.readTaskMan().get()));
+    }
+
+    /**
+     * A Stub class that fails if the data file itself is read
+     */
+    class UnreadableStorageStub extends XmlTaskManStorage {
+
+        public UnreadableStorageStub(String filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public Optional<ReadOnlyTaskMan> readTaskMan(String filePath) throws FileNotFoundException {
+            throw new FileNotFoundException("data file should not be read");
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+package seedu.taskman.storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import seedu.taskman.commons.exceptions.DataConversionException;
+import seedu.taskman.commons.util.FileUtil;
+import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.TaskMan;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Event;
+import seedu.taskman.model.event.Frequency;
+import seedu.taskman.model.event.Schedule;
+import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.Title;
+import seedu.taskman.model.tag.Tag;
+import seedu.taskman.model.tag.UniqueTagList;
+import seedu.taskman.testutil.TypicalTestTasks;
+
+import java.io.File;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class JsonTaskManStorageTest {
+    private static String TEST_DATA_FOLDER = FileUtil.getPath("./src/test/data/JsonTaskManStorageTest/");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Optional<ReadOnlyTaskMan> readTaskMan(String fileInTestDataFolder) throws Exception {
+        return new JsonTaskManStorage(TEST_DATA_FOLDER + fileInTestDataFolder).readTaskMan();
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        assertFalse(readTaskMan("NonExistentFile.json").isPresent());
+    }
+
+    @Test
+    public void read_notJsonFormat_exceptionThrown() throws Exception {
+        thrown.expect(DataConversionException.class);
+        readTaskMan("NotJsonFormatTaskMan.json");
+    }
+
+    @Test
+    public void read_duplicateAndInvalidRecords_skipped() throws Exception {
+        ReadOnlyTaskMan readBack = readTaskMan("DuplicateTitlesTaskMan.json").get();
+        assertEquals(2, readBack.getActivityList().size());
+        assertEquals(1, readBack.getTagList().size());
+
+        Tag masterTag = readBack.getTagList().get(0);
+        for (Activity activity : readBack.getActivityList()) {
+            assertSame(masterTag, activity.getTags().getInternalList().get(0));
+        }
+    }
+
+    @Test
+    public void readAndSaveTaskMan_tasksAndEvents_success() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "TempTaskMan.json";
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskMan original = td.getTypicalTaskMan();
+        original.addEvent(new Event(new Title("Weekly meeting"), new UniqueTagList(new Tag("work")),
+                new Schedule(1467763140, 1467766740), new Frequency(604800)));
+        JsonTaskManStorage jsonTaskManStorage = new JsonTaskManStorage(filePath);
+
+        jsonTaskManStorage.saveTaskMan(original);
+        assertEquals(original, new TaskMan(jsonTaskManStorage.readTaskMan().get()));
+
+        original.addEvent(new Task(td.taskCS2102));
+        original.removeActivity(new Activity(new Task(td.taskCS2101)));
+        jsonTaskManStorage.saveTaskMan(original);
+        assertEquals(original, new TaskMan(jsonTaskManStorage.readTaskMan().get()));
+    }
+
+    @Test
+    public void readTaskMan_olderFormatFrequencies_removed() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "OlderFormatTaskMan.json";
+        FileUtil.writeToFile(new File(filePath), "{\"tags\":[],\"activities\":[{\"type\":\"task\","
+                + "\"title\":\"Weekly\",\"status\":\"incomplete\",\"frequency\":1476604800,\"tags\":[]}]}");
+
+        ReadOnlyTaskMan readBack = new JsonTaskManStorage(filePath).readTaskMan().get();
+        assertEquals(1, readBack.getActivityList().size());
+        assertFalse(readBack.getActivityList().get(0).getFrequency().isPresent());
+        assertTrue(new File(filePath + DataFormat.OLDER_VERSION_COPY_SUFFIX).exists());
+    }
+
+    @Test
+    public void readAndSaveTaskMan_xmlFile_readAsXmlAndSavedAsJson() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "TempTaskMan.xml";
+        TaskMan original = new TypicalTestTasks().getTypicalTaskMan();
+        new XmlTaskManStorage(filePath).saveTaskMan(original);
+        JsonTaskManStorage jsonTaskManStorage = new JsonTaskManStorage(filePath);
+
+        ReadOnlyTaskMan readBack = jsonTaskManStorage.readTaskMan().get();
+        assertEquals(original, new TaskMan(readBack));
+
+        jsonTaskManStorage.saveTaskMan(readBack);
+        assertTrue(FileUtil.readFromFile(new File(filePath)).startsWith("{"));
+        assertEquals(original, new TaskMan(jsonTaskManStorage.readTaskMan().get()));
+    }
+
+    @Test
+    public void readAndSaveTaskMan_gzipFile_compressed() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "TempTaskMan.json.gz";
+        TaskMan original = new TypicalTestTasks().getTypicalTaskMan();
+        JsonTaskManStorage jsonTaskManStorage = new JsonTaskManStorage(filePath);
+
+        jsonTaskManStorage.saveTaskMan(original);
+        assertTrue(FileUtil.isGzipFile(new File(filePath)));
+        assertEquals(original, new TaskMan(jsonTaskManStorage.readTaskMan().get()));
+    }
+
+}
@@ -0,0 +1,182 @@
+package seedu.taskman.storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import seedu.taskman.commons.exceptions.DataConversionException;
+import seedu.taskman.commons.util.FileUtil;
+import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.TaskMan;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Deadline;
+import seedu.taskman.model.event.Event;
+import seedu.taskman.model.event.Schedule;
+import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.Title;
+import seedu.taskman.model.event.UniqueActivityList;
+import seedu.taskman.model.tag.Tag;
+import seedu.taskman.model.tag.UniqueTagList;
+import seedu.taskman.testutil.TypicalTestTasks;
+
+import java.io.File;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ShardedXmlTaskManStorageTest {
+
+    private static final String MARKER = "<!-- not rewritten -->";
+    // 15 Jan 2016 and 15 Mar 2016, in UTC
+    private static final long JANUARY_2016 = 1452816000L;
+    private static final long MARCH_2016 = 1458000000L;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private String getFilePath() {
+        return testFolder.getRoot().getPath() + File.separator + "taskMan.xml";
+    }
+
+    private File getShardFile(String shardName) {
+        return new File(ShardedXmlTaskManStorage.getShardDirectory(getFilePath()), shardName + ".xml");
+    }
+
+    private TaskMan getShardedTaskMan() throws Exception {
+        TaskMan taskMan = new TaskMan();
+        taskMan.addTag(new Tag("work"));
+        taskMan.addEvent(new Task(new Title("January task"), new UniqueTagList(new Tag("work")),
+                new Deadline(JANUARY_2016), null, null));
+        taskMan.addEvent(new Event(new Title("March event"), new UniqueTagList(),
+                new Schedule(MARCH_2016, MARCH_2016 + 3600), null));
+        taskMan.addEvent(new Task(new Title("Floating task"), new UniqueTagList(), null, null, null));
+        return taskMan;
+    }
+
+    private void assertSameActivities(ReadOnlyTaskMan expected, ReadOnlyTaskMan actual) {
+        assertEquals(new HashSet<>(expected.getActivityList()), new HashSet<>(actual.getActivityList()));
+        assertEquals(expected.getTagList(), actual.getTagList());
+    }
+
+    @Test
+    public void readAndSaveTaskMan_activitiesSplitByMonth_success() throws Exception {
+        TaskMan original = getShardedTaskMan();
+        ShardedXmlTaskManStorage storage = new ShardedXmlTaskManStorage(getFilePath());
+
+        storage.saveTaskMan(original);
+        assertTrue(getShardFile("2016-01").exists());
+        assertTrue(getShardFile("2016-03").exists());
+        assertTrue(getShardFile(ShardedXmlTaskManStorage.FLOATING_SHARD).exists());
+        assertSameActivities(original, new ShardedXmlTaskManStorage(getFilePath()).readTaskMan().get());
+
+        // emptied shards are removed
+        original.removeActivity(new Activity(new Event(new Title("March event"), new UniqueTagList(),
+                new Schedule(MARCH_2016, MARCH_2016 + 3600), null)));
+        storage.saveTaskMan(original);
+        assertFalse(getShardFile("2016-03").exists());
+        assertSameActivities(original, new ShardedXmlTaskManStorage(getFilePath()).readTaskMan().get());
+    }
+
+    @Test
+    public void saveTaskMan_oneShardChanged_otherShardsNotRewritten() throws Exception {
+        new ShardedXmlTaskManStorage(getFilePath()).saveTaskMan(getShardedTaskMan());
+        ShardedXmlTaskManStorage storage = new ShardedXmlTaskManStorage(getFilePath());
+        TaskMan taskMan = (TaskMan) storage.readTaskMan().get();
+        FileUtil.writeToFile(getShardFile("2016-01"), FileUtil.readFromFile(getShardFile("2016-01")) + MARKER);
+
+        // saving what was read writes nothing
+        storage.saveTaskMan(taskMan);
+        assertTrue(FileUtil.readFromFile(getShardFile("2016-01")).endsWith(MARKER));
+
+        taskMan.addEvent(new Task(new Title("Another floating task"), new UniqueTagList(), null, null, null));
+        storage.saveTaskMan(taskMan);
+        assertTrue(FileUtil.readFromFile(getShardFile("2016-01")).endsWith(MARKER));
+        assertSameActivities(taskMan, new ShardedXmlTaskManStorage(getFilePath()).readTaskMan().get());
+    }
+
+    @Test
+    public void readTaskMan_historyWindow_oldShardsSkippedAndKept() throws Exception {
+        TaskMan original = getShardedTaskMan();
+        long now = Instant.now().getEpochSecond();
+        original.addEvent(new Task(new Title("Current task"), new UniqueTagList(), new Deadline(now), null, null));
+        new ShardedXmlTaskManStorage(getFilePath()).saveTaskMan(original);
+
+        ShardedXmlTaskManStorage windowed = new ShardedXmlTaskManStorage(getFilePath(), 1);
+        TaskMan recent = (TaskMan) windowed.readTaskMan().get();
+        assertEquals(2, recent.getActivityList().size());
+
+        recent.addEvent(new Task(new Title("Next task"), new UniqueTagList(), new Deadline(now), null, null));
+        windowed.saveTaskMan(recent);
+        assertTrue(getShardFile("2016-01").exists());
+        assertTrue(getShardFile(YearMonth.from(Instant.ofEpochSecond(now).atOffset(ZoneOffset.UTC)).toString())
+                .exists());
+
+        ReadOnlyTaskMan all = new ShardedXmlTaskManStorage(getFilePath()).readTaskMan().get();
+        assertEquals(5, all.getActivityList().size());
+    }
+
+    @Test
+    public void readTaskMan_historyWindow_unloadedTitlesReserved() throws Exception {
+        TaskMan original = getShardedTaskMan();
+        long now = Instant.now().getEpochSecond();
+        original.addEvent(new Task(new Title("Current task"), new UniqueTagList(), new Deadline(now), null, null));
+        new ShardedXmlTaskManStorage(getFilePath()).saveTaskMan(original);
+        File januaryTitles = new File(ShardedXmlTaskManStorage.getShardDirectory(getFilePath()),
+                "2016-01.titles.xml");
+        assertTrue(FileUtil.readFromFile(januaryTitles).contains("<title>January task</title>"));
+
+        ShardedXmlTaskManStorage windowed = new ShardedXmlTaskManStorage(getFilePath(), 1);
+        TaskMan recent = new TaskMan(windowed.readTaskMan().get());
+        assertAddRefused(recent, new Task(new Title("January task"), new UniqueTagList(), new Deadline(now),
+                null, null));
+
+        // shards without a title index have their titles read from the shard, and are indexed
+        assertTrue(januaryTitles.delete());
+        recent = (TaskMan) new ShardedXmlTaskManStorage(getFilePath(), 1).readTaskMan().get();
+        assertAddRefused(recent, new Task(new Title("January task"), new UniqueTagList(), null, null, null));
+        assertTrue(januaryTitles.exists());
+    }
+
+    @Test
+    public void readTaskMan_listedShardMissing_exceptionThrown() throws Exception {
+        new ShardedXmlTaskManStorage(getFilePath()).saveTaskMan(getShardedTaskMan());
+        assertTrue(getShardFile("2016-03").delete());
+
+        thrown.expect(DataConversionException.class);
+        new ShardedXmlTaskManStorage(getFilePath()).readTaskMan();
+    }
+
+    private void assertAddRefused(TaskMan taskMan, Task task) {
+        try {
+            taskMan.addEvent(task);
+            fail("Titles of unloaded shards must be refused");
+        } catch (UniqueActivityList.DuplicateActivityException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void readTaskMan_singleFileOnly_readAndSharded() throws Exception {
+        TaskMan original = new TypicalTestTasks().getTypicalTaskMan();
+        new XmlTaskManStorage(getFilePath()).saveTaskMan(original);
+
+        ShardedXmlTaskManStorage storage = new ShardedXmlTaskManStorage(getFilePath());
+        ReadOnlyTaskMan readBack = storage.readTaskMan().get();
+        assertSameActivities(original, readBack);
+
+        storage.saveTaskMan(readBack);
+        assertTrue(new File(ShardedXmlTaskManStorage.getShardDirectory(getFilePath()),
+                ShardedXmlTaskManStorage.MANIFEST_FILE_NAME).exists());
+        assertSameActivities(original, new ShardedXmlTaskManStorage(getFilePath()).readTaskMan().get());
+    }
+
+}
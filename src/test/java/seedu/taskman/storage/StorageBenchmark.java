@@ -0,0 +1,115 @@
+package seedu.taskman.storage;
+
+import seedu.taskman.model.ReadOnlyTaskMan;
+import seedu.taskman.model.TaskMan;
+import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Deadline;
+import seedu.taskman.model.event.Event;
+import seedu.taskman.model.event.Schedule;
+import seedu.taskman.model.event.Status;
+import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.Title;
+import seedu.taskman.model.tag.Tag;
+import seedu.taskman.model.tag.UniqueTagList;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time the xml and json storages take to save and load data of different sizes.
+ * Not a test; run it on its own, e.g. with {@code -Xmx4g} for a million activities.
+ *
+ * Usage: {@code StorageBenchmark [activity counts...]}, by default 10000 100000 1000000.
+ */
+public class StorageBenchmark {
+
+    private static final int[] DEFAULT_SIZES = {10000, 100000, 1000000};
+    private static final long FIRST_DEADLINE = 1467763140;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        File folder = Files.createTempDirectory("storage-benchmark").toFile();
+        System.out.println("format  activities   save ms   load ms   load all ms   file bytes");
+        for (int size : sizes) {
+            TaskMan taskMan = createTaskMan(size);
+            run("xml", new XmlTaskManStorage(new File(folder, "taskMan.xml").getPath()), taskMan);
+            run("json", new JsonTaskManStorage(new File(folder, "taskMan.json").getPath()), taskMan);
+        }
+        for (File file : folder.listFiles()) {
+            file.delete();
+        }
+        folder.delete();
+    }
+
+    /**
+     * Saves and loads the taskMan a few times with a new storage each time, and prints the best times.
+     * "load all" also creates every loaded activity in full.
+     */
+    private static void run(String format, TaskManStorage storage, TaskMan taskMan) throws Exception {
+        long bestSave = Long.MAX_VALUE;
+        long bestLoad = Long.MAX_VALUE;
+        long bestLoadAll = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            TaskManStorage fresh = storage instanceof XmlTaskManStorage
+                    ? new XmlTaskManStorage(storage.getTaskManFilePath())
+                    : new JsonTaskManStorage(storage.getTaskManFilePath());
+
+            long startTime = System.nanoTime();
+            fresh.saveTaskMan(taskMan);
+            bestSave = Math.min(bestSave, System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            ReadOnlyTaskMan loaded = fresh.readTaskMan().get();
+            bestLoad = Math.min(bestLoad, System.nanoTime() - startTime);
+            for (Activity activity : loaded.getActivityList()) {
+                activity.getTags();
+            }
+            bestLoadAll = Math.min(bestLoadAll, System.nanoTime() - startTime);
+
+            if (loaded.getActivityList().size() != taskMan.getActivityList().size()) {
+                throw new AssertionError("Loaded " + loaded.getActivityList().size() + " activities");
+            }
+        }
+        System.out.println(String.format("%-6s %11d %9d %9d %13d %12d", format, taskMan.getActivityList().size(),
+                TimeUnit.NANOSECONDS.toMillis(bestSave), TimeUnit.NANOSECONDS.toMillis(bestLoad),
+                TimeUnit.NANOSECONDS.toMillis(bestLoadAll), new File(storage.getTaskManFilePath()).length()));
+    }
+
+    /**
+     * Returns a taskMan of mostly tasks with deadlines and a few tags, and some scheduled events.
+     */
+    private static TaskMan createTaskMan(int size) throws Exception {
+        Tag[] tags = {new Tag("school"), new Tag("work"), new Tag("home"), new Tag("urgent")};
+        List<Activity> activities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Title title = new Title("Activity number " + i);
+            UniqueTagList tagList = new UniqueTagList(tags[i % tags.length]);
+            if (i % 5 == 0) {
+                Schedule schedule = new Schedule(FIRST_DEADLINE + i * 60L, FIRST_DEADLINE + i * 60L + 3600);
+                activities.add(new Activity(new Event(title, tagList, schedule, null)));
+            } else {
+                Task task = new Task(title, tagList, new Deadline(FIRST_DEADLINE + i * 60L), null, null);
+                task.setStatus(new Status(i % 2 == 0 ? "complete" : "incomplete"));
+                activities.add(new Activity(task));
+            }
+        }
+        TaskMan taskMan = new TaskMan();
+        for (Tag tag : tags) {
+            taskMan.addTag(tag);
+        }
+        taskMan.addActivities(activities);
+        return taskMan;
+    }
+
+}
@@ -5,18 +5,32 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import com.google.common.eventbus.Subscribe;
+import seedu.taskman.commons.core.Config;
+import seedu.taskman.commons.core.EventsCenter;
 import seedu.taskman.commons.events.model.TaskManChangedEvent;
+import seedu.taskman.commons.events.storage.DataFileChangedEvent;
+import seedu.taskman.commons.events.storage.DataFileConflictEvent;
 import seedu.taskman.commons.events.storage.DataSavingExceptionEvent;
+import seedu.taskman.commons.util.FileUtil;
 import seedu.taskman.model.TaskMan;
 import seedu.taskman.model.ReadOnlyTaskMan;
 import seedu.taskman.model.UserPrefs;
+import seedu.taskman.model.event.Task;
+import seedu.taskman.testutil.TestTask;
 import seedu.taskman.testutil.TypicalTestTasks;
 import seedu.taskman.testutil.EventsCollector;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static junit.framework.TestCase.assertNotNull;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class StorageManagerTest {
@@ -76,6 +90,124 @@ public class StorageManagerTest {
         assertTrue(eventCollector.get(0) instanceof DataSavingExceptionEvent);
     }
 
+    @Test
+    public void handleTaskManChangedEvent_fsync_changesCommittedTogether() throws Exception {
+        StorageManager fsyncStorage = new StorageManager(new XmlTaskManStorage(getTempFilePath("fsync"), true),
+                new JsonUserPrefsStorage(getTempFilePath("prefs")), Config.Durability.FSYNC, 0, 1000);
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskMan taskMan = new TaskMan();
+        for (TestTask task : td.getTypicalTasks()) {
+            taskMan.addEvent(new Task(task));
+            fsyncStorage.handleTaskManChangedEvent(new TaskManChangedEvent(taskMan));
+        }
+        fsyncStorage.stop();
+
+        assertEquals(td.getTypicalTasks().length, fsyncStorage.getSaveStatistics().getChangeCount());
+        assertEquals(1, fsyncStorage.getSaveStatistics().getSaveCount());
+        assertEquals(taskMan, new TaskMan(fsyncStorage.readTaskMan().get()));
+    }
+
+    @Test
+    public void handleTaskManChangedEvent_inMemory_savedOnStop() throws Exception {
+        StorageManager inMemoryStorage = new StorageManager(new XmlTaskManStorage(getTempFilePath("inMemory")),
+                new JsonUserPrefsStorage(getTempFilePath("prefs")), Config.Durability.IN_MEMORY, 3600, 0);
+        TaskMan taskMan = new TypicalTestTasks().getTypicalTaskMan();
+        inMemoryStorage.handleTaskManChangedEvent(new TaskManChangedEvent(taskMan));
+        assertFalse(inMemoryStorage.readTaskMan().isPresent());
+
+        inMemoryStorage.stop();
+        assertEquals(1, inMemoryStorage.getSaveStatistics().getSaveCount());
+        assertEquals(taskMan, new TaskMan(inMemoryStorage.readTaskMan().get()));
+    }
+
+    @Test
+    public void handleTaskManChangedEvent_dataFileChangedBeforeSave_localVersionKept() throws Exception {
+        String filePath = getTempFilePath("conflict");
+        StorageManager inMemoryStorage = new StorageManager(new XmlTaskManStorage(filePath),
+                new JsonUserPrefsStorage(getTempFilePath("prefs")), Config.Durability.IN_MEMORY, 3600, 0);
+        EventsCollector eventCollector = new EventsCollector();
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskMan local = td.getTypicalTaskMan();
+        inMemoryStorage.handleTaskManChangedEvent(new TaskManChangedEvent(local));
+
+        TaskMan fromDataFile = new TaskMan();
+        fromDataFile.addEvent(new Task(td.taskCS2102));
+        inMemoryStorage.handleTaskManChangedEvent(new TaskManChangedEvent(fromDataFile, true));
+        inMemoryStorage.stop();
+
+        File localVersionFile = StorageManager.getLocalVersionFile(filePath);
+        assertTrue(eventCollector.get(0) instanceof DataFileConflictEvent);
+        assertEquals(localVersionFile, ((DataFileConflictEvent) eventCollector.get(0)).localVersionFile);
+        assertEquals(local, new TaskMan(new XmlTaskManStorage(localVersionFile.getPath()).readTaskMan().get()));
+        // the data file's version is not overwritten by the replaced changes
+        assertEquals(0, inMemoryStorage.getSaveStatistics().getSaveCount());
+    }
+
+    @Test
+    public void handleTaskManChangedEvent_saveFailed_changesKeptUntilSaved() throws Exception {
+        XmlTaskManStorageFailingOnceStub failingOnce = new XmlTaskManStorageFailingOnceStub(getTempFilePath("once"));
+        StorageManager fsyncStorage = new StorageManager(failingOnce, new JsonUserPrefsStorage(getTempFilePath("prefs")),
+                Config.Durability.FSYNC, 0, 0);
+        EventsCollector eventCollector = new EventsCollector();
+        TaskMan taskMan = new TypicalTestTasks().getTypicalTaskMan();
+        fsyncStorage.handleTaskManChangedEvent(new TaskManChangedEvent(taskMan));
+        fsyncStorage.stop();
+
+        assertTrue(eventCollector.get(0) instanceof DataSavingExceptionEvent);
+        assertEquals(1, fsyncStorage.getSaveStatistics().getSaveCount());
+        assertEquals(taskMan, new TaskMan(fsyncStorage.readTaskMan().get()));
+    }
+
+    @Test
+    public void handleTaskManChangedEvent_compressedWithoutGzipName_savedInBackground() throws Exception {
+        TaskMan taskMan = new TypicalTestTasks().getTypicalTaskMan();
+        File compressed = new File(getTempFilePath("compressed.xml.gz"));
+        new XmlTaskManStorage(compressed.getPath()).saveTaskMan(taskMan);
+        File renamed = new File(getTempFilePath("compressed.xml"));
+        assertTrue(compressed.renameTo(renamed));
+
+        XmlTaskManStorageThreadRecordingStub recording = new XmlTaskManStorageThreadRecordingStub(renamed.getPath());
+        StorageManager atomicStorage = new StorageManager(recording, new JsonUserPrefsStorage(getTempFilePath("prefs")));
+        atomicStorage.handleTaskManChangedEvent(new TaskManChangedEvent(taskMan));
+        atomicStorage.stop();
+
+        assertNotNull(recording.savingThread);
+        assertFalse(recording.savingThread == Thread.currentThread());
+        assertTrue(FileUtil.isGzipFile(renamed));
+    }
+
+    @Test
+    public void startWatchingDataFile_changedByOtherProgram_eventRaisedOnlyForThatChange() throws Exception {
+        Config config = new Config();
+        config.setTaskManFilePath(testFolder.getRoot().getPath() + "/watched/taskMan.xml");
+        config.setUserPrefsFilePath(getTempFilePath("prefs"));
+        config.setModelCacheEnabled(false);
+        config.setDataFileWatched(true);
+        StorageManager watchedStorage = new StorageManager(config);
+        BlockingQueue<DataFileChangedEvent> changes = new LinkedBlockingQueue<>();
+        EventsCenter.getInstance().registerHandler(new Object() {
+            @Subscribe
+            public void collect(DataFileChangedEvent event) {
+                changes.add(event);
+            }
+        });
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskMan taskMan = td.getTypicalTaskMan();
+        watchedStorage.readTaskMan();
+        watchedStorage.startWatchingDataFile();
+
+        // own saves are not reported
+        watchedStorage.saveTaskMan(taskMan);
+        assertNull(changes.poll(1, TimeUnit.SECONDS));
+
+        taskMan.addEvent(new Task(td.taskCS2102));
+        new XmlTaskManStorage(config.getTaskManFilePath()).saveTaskMan(taskMan);
+        DataFileChangedEvent change = changes.poll(10, TimeUnit.SECONDS);
+        watchedStorage.stop();
+
+        assertNotNull(change);
+        assertEquals(taskMan, new TaskMan(change.data));
+    }
 
     /**
      * A Stub class to throw an exception when the save method is called
@@ -92,5 +224,42 @@ public class StorageManagerTest {
         }
     }
 
+    /**
+     * A Stub class to record the thread the save method is called on
+     */
+    class XmlTaskManStorageThreadRecordingStub extends XmlTaskManStorage {
+        private volatile Thread savingThread;
+
+        public XmlTaskManStorageThreadRecordingStub(String filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public void saveTaskMan(ReadOnlyTaskMan taskMan, String filePath) throws IOException {
+            savingThread = Thread.currentThread();
+            super.saveTaskMan(taskMan, filePath);
+        }
+    }
+
+    /**
+     * A Stub class to throw an exception the first time the save method is called only
+     */
+    class XmlTaskManStorageFailingOnceStub extends XmlTaskManStorage {
+        private boolean hasFailed;
+
+        public XmlTaskManStorageFailingOnceStub(String filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public void saveTaskMan(ReadOnlyTaskMan taskMan, String filePath) throws IOException {
+            if (!hasFailed) {
+                hasFailed = true;
+                throw new IOException("dummy exception");
+            }
+            super.saveTaskMan(taskMan, filePath);
+        }
+    }
+
 
 }
@@ -10,13 +10,26 @@ import seedu.taskman.commons.util.FileUtil;
 import seedu.taskman.model.TaskMan;
 import seedu.taskman.model.ReadOnlyTaskMan;
 import seedu.taskman.model.event.Activity;
+import seedu.taskman.model.event.Deadline;
+import seedu.taskman.model.event.Event;
+import seedu.taskman.model.event.Frequency;
 import seedu.taskman.model.event.Task;
+import seedu.taskman.model.event.Title;
+import seedu.taskman.model.tag.Tag;
+import seedu.taskman.model.tag.UniqueTagList;
 import seedu.taskman.testutil.TypicalTestTasks;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class XmlTaskManStorageTest {
     private static String TEST_DATA_FOLDER = FileUtil.getPath("./src/test/data/XmlTaskManStorageTest/");
@@ -59,6 +72,42 @@ public class XmlTaskManStorageTest {
          */
     }
 
+    @Test
+    public void read_duplicateAndInvalidRecords_skipped() throws Exception {
+        ReadOnlyTaskMan readBack = readTaskMan("DuplicateTitlesTaskMan.xml").get();
+        assertEquals(2, readBack.getActivityList().size());
+        assertEquals(1, readBack.getTagList().size());
+
+        // tags of loaded activities point to the objects in the master tag list
+        Tag masterTag = readBack.getTagList().get(0);
+        for (Activity activity : readBack.getActivityList()) {
+            assertSame(masterTag, activity.getTags().getInternalList().get(0));
+        }
+    }
+
+    @Test
+    public void readTaskMan_olderFormatFrequencies_removedAndFileCopied() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "OlderFormatTaskMan.xml";
+        String olderFormat = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<taskMan>"
+                + "<tasks><title>Weekly</title><status>incomplete</status><frequency>1476604800</frequency></tasks>"
+                + "<tasks><title>Once</title><status>incomplete</status></tasks>"
+                + "</taskMan>";
+        Files.write(Paths.get(filePath), olderFormat.getBytes("UTF-8"));
+        XmlTaskManStorage xmlTaskManStorage = new XmlTaskManStorage(filePath);
+
+        ReadOnlyTaskMan readBack = xmlTaskManStorage.readTaskMan().get();
+        assertEquals(2, readBack.getActivityList().size());
+        assertFalse(readBack.getActivityList().get(0).getFrequency().isPresent());
+        assertEquals(olderFormat, FileUtil.readFromFile(new File(filePath + DataFormat.OLDER_VERSION_COPY_SUFFIX)));
+
+        // saved in the current format, whose frequencies are kept
+        TaskMan withFrequency = new TaskMan(readBack);
+        withFrequency.addEvent(new Task(new Title("Daily"), new UniqueTagList(), null, null, new Frequency(86400)));
+        xmlTaskManStorage.saveTaskMan(withFrequency);
+        assertEquals(withFrequency, new TaskMan(xmlTaskManStorage.readTaskMan().get()));
+    }
+
     @Test
     public void readAndSaveTaskMan_allInOrder_success() throws Exception {
         String filePath = testFolder.getRoot().getPath() + "TempTaskMan.xml";
@@ -86,6 +135,120 @@ public class XmlTaskManStorageTest {
 
     }
 
+    @Test
+    public void warmUp_nothingWritten_savesUnchanged() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "WarmUpTaskMan.xml";
+        TaskMan original = new TypicalTestTasks().getTypicalTaskMan();
+        XmlTaskManStorage xmlTaskManStorage = new XmlTaskManStorage(filePath);
+
+        xmlTaskManStorage.warmUp();
+        assertFalse(new File(filePath).exists());
+
+        xmlTaskManStorage.saveTaskMan(original);
+        assertEquals(original, new TaskMan(xmlTaskManStorage.readTaskMan().get()));
+    }
+
+    @Test
+    public void readAndSaveTaskMan_gzipFile_compressed() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "TempTaskMan.xml.gz";
+        TaskMan original = new TypicalTestTasks().getTypicalTaskMan();
+        XmlTaskManStorage xmlTaskManStorage = new XmlTaskManStorage(filePath);
+
+        xmlTaskManStorage.saveTaskMan(original);
+        assertTrue(FileUtil.isGzipFile(new File(filePath)));
+        assertEquals(original, new TaskMan(xmlTaskManStorage.readTaskMan().get()));
+    }
+
+    @Test
+    public void readTaskMan_manyRecords_fileOrderPreserved() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "ManyTaskMan.xml";
+        TaskMan original = new TaskMan();
+        for (int i = 1; i <= 2500; i++) {
+            original.addEvent(new Task(new Title("Task " + i), new UniqueTagList(), new Deadline(i), null, null));
+        }
+        XmlTaskManStorage xmlTaskManStorage = new XmlTaskManStorage(filePath);
+
+        xmlTaskManStorage.saveTaskMan(original);
+        ReadOnlyTaskMan readBack = xmlTaskManStorage.readTaskMan().get();
+        assertEquals(original.getActivityList(), readBack.getActivityList());
+    }
+
+    @Test
+    public void readTaskMan_listedFieldsRead_activitiesNotLoaded() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "LazyTaskMan.xml";
+        TaskMan original = new TypicalTestTasks().getTypicalTaskMan();
+        XmlTaskManStorage xmlTaskManStorage = new XmlTaskManStorage(filePath);
+        xmlTaskManStorage.saveTaskMan(original);
+
+        ReadOnlyTaskMan readBack = xmlTaskManStorage.readTaskMan().get();
+        for (int i = 0; i < readBack.getActivityList().size(); i++) {
+            Activity activity = readBack.getActivityList().get(i);
+            Activity expected = original.getActivityList().get(i);
+            assertEquals(expected.getTitle(), activity.getTitle());
+            assertEquals(expected.getDeadline(), activity.getDeadline());
+            assertEquals(expected.getSchedule(), activity.getSchedule());
+            assertFalse(activity.isLoaded());
+
+            // other fields load the activity on demand
+            assertEquals(expected.getTags(), activity.getTags());
+            assertTrue(activity.isLoaded());
+        }
+        assertEquals(original, new TaskMan(readBack));
+    }
+
+    @Test
+    public void saveTaskMan_repeatedSaves_sameAsFullMarshal() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "IncrementalTaskMan.xml";
+        String fullFilePath = testFolder.getRoot().getPath() + "FullTaskMan.xml";
+        TypicalTestTasks td = new TypicalTestTasks();
+        TaskMan original = new TaskMan();
+        XmlTaskManStorage xmlTaskManStorage = new XmlTaskManStorage(filePath);
+
+        xmlTaskManStorage.saveTaskMan(original);
+        assertSameAsFullMarshal(original, filePath, fullFilePath);
+
+        original = td.getTypicalTaskMan();
+        original.addEvent(new Event(new Title("Some event"), new UniqueTagList(new Tag("work")), null, null));
+        xmlTaskManStorage.saveTaskMan(original);
+        assertSameAsFullMarshal(original, filePath, fullFilePath);
+
+        // unchanged activities are reused, changed ones are written again
+        original.addEvent(new Task(td.taskCS2102));
+        original.removeActivity(new Activity(new Task(td.taskCS2101)));
+        Activity changed = new Activity(original.getActivityList().get(0));
+        changed.setTags(new UniqueTagList(new Tag("changed")));
+        original.replaceActivities(Collections.singletonList(original.getActivityList().get(0)),
+                Collections.singletonList(changed));
+        xmlTaskManStorage.saveTaskMan(original);
+        assertSameAsFullMarshal(original, filePath, fullFilePath);
+        assertEquals(original.getActivityList().size() - 2, xmlTaskManStorage.getReusedFragmentCount());
+    }
+
+    @Test
+    public void saveTaskMan_afterRead_fragmentsReusedFromFile() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "PrimedTaskMan.xml";
+        String fullFilePath = testFolder.getRoot().getPath() + "FullPrimedTaskMan.xml";
+        TypicalTestTasks td = new TypicalTestTasks();
+        new XmlTaskManStorage(filePath).saveTaskMan(td.getTypicalTaskMan());
+
+        XmlTaskManStorage xmlTaskManStorage = new XmlTaskManStorage(filePath);
+        TaskMan readBack = new TaskMan();
+        readBack.setActivities(xmlTaskManStorage.readTaskMan().get().getActivityList());
+        readBack.setTags(td.getTypicalTaskMan().getTagList());
+        readBack.addEvent(new Event(new Title("Some event"), new UniqueTagList(), null, null));
+        xmlTaskManStorage.saveTaskMan(readBack);
+
+        assertEquals(readBack.getActivityList().size() - 1, xmlTaskManStorage.getReusedFragmentCount());
+        assertSameAsFullMarshal(readBack, filePath, fullFilePath);
+    }
+
+    private void assertSameAsFullMarshal(TaskMan taskMan, String filePath, String fullFilePath) throws Exception {
+        File fullFile = new File(fullFilePath);
+        FileUtil.createIfMissing(fullFile);
+        XmlFileStorage.saveDataToFile(fullFile, new XmlSerializableTaskMan(taskMan));
+        assertArrayEquals(Files.readAllBytes(fullFile.toPath()), Files.readAllBytes(Paths.get(filePath)));
+    }
+
     @Test
     public void saveTaskMan_nullTaskMan_assertionFailure() throws IOException {
         thrown.expect(AssertionError.class);